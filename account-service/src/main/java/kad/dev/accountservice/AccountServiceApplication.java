@@ -3,51 +3,60 @@ package kad.dev.accountservice;
 import kad.dev.accountservice.api.CustomerServiceClient;
 import kad.dev.accountservice.entity.BankAccount;
 import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.model.CustomerPage;
 import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.LedgerEntryRepository;
+import kad.dev.accountservice.service.LedgerPostings;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.Bean;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 @SpringBootApplication
 @EnableFeignClients
 public class AccountServiceApplication {
+    private static final int SEED_PAGE_SIZE = 500;
 
     public static void main(String[] args) {
         SpringApplication.run(AccountServiceApplication.class, args);
     }
 
     @Bean
-    CommandLineRunner commandLineRunner(BankAccountRepository repository, CustomerServiceClient customerServiceClient) {
+    CommandLineRunner commandLineRunner(BankAccountRepository repository, LedgerEntryRepository ledgerRepository,
+                                        CustomerServiceClient customerServiceClient) {
         return args -> {
-            customerServiceClient.getAllCustomers().forEach(c -> {
-                List<BankAccount> accounts = List.of(
-                        BankAccount.builder()
-                                .accountId(UUID.randomUUID().toString())
-                                .balance(50000)
-                                .currency("MAD")
-                                .type(AccountType.CURRENT_ACCOUNT)
-                                .customerId(c.getId())
-                                .customer(c)
-                                .createdAt(LocalDate.now())
-                                .build(),
-                        BankAccount.builder()
-                                .accountId(UUID.randomUUID().toString())
-                                .balance(34000)
-                                .currency("MAD")
-                                .type(AccountType.SAVING_ACCOUNT)
-                                .customerId(c.getId())
-                                .customer(c)
-                                .createdAt(LocalDate.now())
-                                .build()
-                );
+            Long after = 0L;
+            while (after != null) {
+                CustomerPage page = customerServiceClient.getCustomersPage(after, SEED_PAGE_SIZE);
+                List<BankAccount> accounts = new ArrayList<>(page.getContent().size() * 2);
+                page.getContent().forEach(c -> {
+                    accounts.add(BankAccount.builder()
+                            .balance(new BigDecimal("50000.00"))
+                            .currency("MAD")
+                            .type(AccountType.CURRENT_ACCOUNT)
+                            .customerId(c.getId())
+                            .customer(c)
+                            .createdAt(LocalDate.now())
+                            .build());
+                    accounts.add(BankAccount.builder()
+                            .balance(new BigDecimal("34000.00"))
+                            .currency("MAD")
+                            .type(AccountType.SAVING_ACCOUNT)
+                            .customerId(c.getId())
+                            .customer(c)
+                            .createdAt(LocalDate.now())
+                            .build());
+                });
                 repository.saveAll(accounts);
-            });
+                ledgerRepository.saveAll(accounts.stream().flatMap(a -> LedgerPostings.opening(a).stream()).toList());
+                after = page.getNextAfter();
+            }
         };
     }
 }
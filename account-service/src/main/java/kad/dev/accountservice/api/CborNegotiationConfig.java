@@ -0,0 +1,26 @@
+package kad.dev.accountservice.api;
+
+import feign.RequestInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Opt-in CBOR for {@link CustomerServiceClient} responses (customer.client.binary=true). The Accept header
+ * keeps JSON as a lower-quality alternative, so instances without the CBOR converter still answer; Feign's
+ * SpringDecoder reads either through the application's message converters. Request bodies stay JSON.
+ * <p>
+ * Deliberately not a {@code @Configuration}: it is only wired into the customer client's Feign context, so the
+ * other clients of customer-service, such as {@link CustomerChangesClient}, keep their own Accept header.
+ */
+public class CborNegotiationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "customer.client.binary", havingValue = "true")
+    RequestInterceptor cborAcceptInterceptor() {
+        return template -> {
+            template.removeHeader(HttpHeaders.ACCEPT);
+            template.header(HttpHeaders.ACCEPT, "application/cbor, application/json;q=0.9");
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package kad.dev.accountservice.api;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import kad.dev.accountservice.exceptions.CustomerUnavailableException;
+import kad.dev.accountservice.model.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bounded near-cache in front of {@link CustomerServiceClient}, loading through {@link CustomerLookupCoalescer}.
+ * Entries expire after the configured TTL and are reloaded in the background once they are older
+ * than the refresh interval. Circuit-breaker fallback customers are returned to callers but never stored.
+ * Background refreshes run on the application task executor, which is virtual-thread backed when
+ * spring.threads.virtual.enabled is set.
+ */
+@Component
+public class CustomerCache {
+    private final CustomerLookupCoalescer lookups;
+    private final int batchSize;
+    private final LoadingCache<Long, Customer> cache;
+
+    public CustomerCache(CustomerServiceClient client, CustomerCacheProperties properties, MeterRegistry registry) {
+        this(new CustomerLookupCoalescer(client, registry, Duration.ZERO, properties.getBatchSize()), properties, registry,
+                ForkJoinPool.commonPool());
+    }
+
+    @Autowired
+    public CustomerCache(CustomerLookupCoalescer lookups, CustomerCacheProperties properties, MeterRegistry registry,
+                         @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        this.lookups = lookups;
+        this.batchSize = properties.getBatchSize();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTimeToLive())
+                .refreshAfterWrite(properties.getRefreshAfter())
+                .recordStats()
+                .executor(executor)
+                .build(new CustomerLoader());
+        CaffeineCacheMetrics.monitor(registry, cache, "customers");
+    }
+
+    public Customer get(Long id) {
+        try {
+            return cache.get(id);
+        } catch (RuntimeException e) {
+            return CustomerServiceClient.notAvailable(id);
+        }
+    }
+
+    /**
+     * Returns a customer for every given id; ids missing from the cache are fetched with bulk calls.
+     */
+    public Map<Long, Customer> getAll(Collection<Long> ids) {
+        Map<Long, Customer> found;
+        try {
+            found = cache.getAll(ids);
+        } catch (RuntimeException e) {
+            found = cache.getAllPresent(ids);
+        }
+        if (found.size() == ids.size()) return found;
+        Map<Long, Customer> customers = new HashMap<>(found);
+        ids.forEach(id -> customers.computeIfAbsent(id, CustomerServiceClient::notAvailable));
+        return customers;
+    }
+
+    /**
+     * Cached customers for the given ids, without loading the missing ones.
+     */
+    public Map<Long, Customer> getAllPresent(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    /**
+     * Stores customers fetched outside the loader (e.g. by the reactive client); fallbacks are skipped.
+     */
+    public void putAll(Collection<Customer> customers) {
+        customers.stream()
+                .filter(c -> !CustomerServiceClient.isDefaultCustomer(c))
+                .forEach(c -> cache.put(c.getId(), c));
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private class CustomerLoader implements CacheLoader<Long, Customer> {
+        @Override
+        public Customer load(Long id) {
+            Customer customer = lookups.get(id);
+            if (CustomerServiceClient.isDefaultCustomer(customer)) throw new CustomerUnavailableException(id);
+            return customer;
+        }
+
+        @Override
+        public Map<Long, Customer> loadAll(Set<? extends Long> ids) {
+            List<Long> idList = new ArrayList<>(ids);
+            Map<Long, Customer> customers = new HashMap<>(idList.size() * 2);
+            for (int from = 0; from < idList.size(); from += batchSize) {
+                List<Long> chunk = idList.subList(from, Math.min(from + batchSize, idList.size()));
+                lookups.getAll(chunk).values().stream()
+                        .filter(c -> !CustomerServiceClient.isDefaultCustomer(c))
+                        .forEach(c -> customers.put(c.getId(), c));
+            }
+            return customers;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package kad.dev.accountservice.api;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "customer.cache")
+@Getter @Setter
+public class CustomerCacheProperties {
+    private long maximumSize = 10_000;
+    private Duration timeToLive = Duration.ofMinutes(10);
+    private Duration refreshAfter = Duration.ofMinutes(2);
+    private int batchSize = 500;
+}
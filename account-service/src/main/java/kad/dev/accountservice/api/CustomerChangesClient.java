@@ -0,0 +1,25 @@
+package kad.dev.accountservice.api;
+
+import kad.dev.accountservice.dto.CustomerChangeFeedDTO;
+import kad.dev.accountservice.model.CustomerPage;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ * customer-service calls made by the projection sync. Unlike {@link CustomerServiceClient} there is no
+ * circuit-breaker fallback: an empty fallback page would read as "no customers", so failures are thrown and the
+ * sync tries again on its next run.
+ */
+@FeignClient(name = "CUSTOMER-SERVICE", contextId = "customerChanges", configuration = CustomerChangesClientConfig.class)
+public interface CustomerChangesClient {
+
+    @GetMapping("/customers/changes")
+    CustomerChangeFeedDTO getChanges(@RequestParam("since") long since, @RequestParam("size") int size);
+
+    @GetMapping("/customers/changes/head")
+    long getHead();
+
+    @GetMapping("/customers/page")
+    CustomerPage getCustomersPage(@RequestParam("after") Long after, @RequestParam("size") int size);
+}
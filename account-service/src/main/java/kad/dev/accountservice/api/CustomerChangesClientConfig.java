@@ -0,0 +1,19 @@
+package kad.dev.accountservice.api;
+
+import feign.RequestInterceptor;
+import kad.dev.outbox.HttpOutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Presents the secret customer-service requires on its change feed (OUTBOX_TOKEN, the same one its outbox relay
+ * sends to /events). Not a {@code @Configuration}: it is wired only into {@link CustomerChangesClient}'s Feign
+ * context, so the secret never travels with the public customer calls.
+ */
+public class CustomerChangesClientConfig {
+
+    @Bean
+    RequestInterceptor changesTokenInterceptor(@Value("${customer.events.token:}") String token) {
+        return template -> template.header(HttpOutboxSink.TOKEN_HEADER, token);
+    }
+}
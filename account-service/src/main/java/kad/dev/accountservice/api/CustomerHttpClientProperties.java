@@ -0,0 +1,24 @@
+package kad.dev.accountservice.api;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "customer.http")
+@Getter @Setter
+public class CustomerHttpClientProperties {
+    private int maxConnections = 200;
+    /* the load balancer resolves each call to one Eureka instance, so a route is an instance */
+    private int maxConnectionsPerInstance = 50;
+    private Duration connectTimeout = Duration.ofMillis(500);
+    private Duration responseTimeout = Duration.ofSeconds(2);
+    /* how long a caller waits for a pooled connection before the call fails into its fallback */
+    private Duration leaseTimeout = Duration.ofMillis(250);
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
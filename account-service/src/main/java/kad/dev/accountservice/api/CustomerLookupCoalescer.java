@@ -0,0 +1,190 @@
+package kad.dev.accountservice.api;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import kad.dev.accountservice.model.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Single-flight layer in front of {@link CustomerServiceClient}: concurrent lookups for the same customer id
+ * share one in-flight future instead of each making its own call. With a non-zero batch window, single
+ * lookups arriving within that window are also merged into one call to the batch endpoint. The window timer
+ * only collects batches; their calls run on the fetch executor, so a slow call does not hold back later windows.
+ */
+@Component
+public class CustomerLookupCoalescer {
+    private final CustomerServiceClient client;
+    private final ConcurrentHashMap<Long, CompletableFuture<Customer>> inFlight = new ConcurrentHashMap<>();
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService dispatcher;
+    private final Executor fetchers;
+    /* the fetch executor when this instance created it, to be shut down with it */
+    private final ExecutorService ownedFetchers;
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean();
+    private final Counter coalesced;
+    private final Counter batched;
+    private final Counter singleCalls;
+    private final Counter batchCalls;
+
+    @Autowired
+    public CustomerLookupCoalescer(CustomerServiceClient client, CustomerCacheProperties properties, MeterRegistry registry,
+                                   @Value("${customer.coalescing.batch-window:0ms}") Duration batchWindow,
+                                   @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+        this(client, registry, batchWindow, properties.getBatchSize(), executor);
+    }
+
+    public CustomerLookupCoalescer(CustomerServiceClient client, MeterRegistry registry, Duration batchWindow, int maxBatchSize) {
+        this(client, registry, batchWindow, maxBatchSize, null);
+    }
+
+    private CustomerLookupCoalescer(CustomerServiceClient client, MeterRegistry registry, Duration batchWindow, int maxBatchSize,
+                                    Executor executor) {
+        this.client = client;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.dispatcher = batchWindowNanos > 0 ? Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "customer-lookup-batcher");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.ownedFetchers = dispatcher != null && executor == null ? Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "customer-lookup-fetcher");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.fetchers = executor != null ? executor : ownedFetchers;
+        this.coalesced = Counter.builder("customer.lookups.coalesced")
+                .description("Customer lookups that joined a call already in flight for the same id")
+                .register(registry);
+        this.batched = Counter.builder("customer.lookups.batched")
+                .description("Single customer lookups merged into a batch call")
+                .register(registry);
+        this.singleCalls = Counter.builder("customer.lookups.calls").tag("type", "single").register(registry);
+        this.batchCalls = Counter.builder("customer.lookups.calls").tag("type", "batch").register(registry);
+    }
+
+    public Customer get(Long id) {
+        return await(lookup(id));
+    }
+
+    /**
+     * Looks up every id with at most one batch call, joining lookups already in flight.
+     * Ids the batch response does not cover resolve to the "Not Available" customer.
+     */
+    public Map<Long, Customer> getAll(Collection<Long> ids) {
+        if (ids.size() == 1) {
+            Long id = ids.iterator().next();
+            return Map.of(id, get(id));
+        }
+        Map<Long, CompletableFuture<Customer>> futures = new HashMap<>(ids.size() * 2);
+        Map<Long, CompletableFuture<Customer>> owned = new HashMap<>();
+        for (Long id : ids) {
+            CompletableFuture<Customer> created = new CompletableFuture<>();
+            CompletableFuture<Customer> existing = inFlight.putIfAbsent(id, created);
+            if (existing != null) {
+                coalesced.increment();
+                futures.put(id, existing);
+            } else {
+                created.whenComplete((c, e) -> inFlight.remove(id, created));
+                owned.put(id, created);
+                futures.put(id, created);
+            }
+        }
+        if (!owned.isEmpty()) fetch(owned);
+        Map<Long, Customer> customers = new HashMap<>(futures.size() * 2);
+        futures.forEach((id, future) -> customers.put(id, await(future)));
+        return customers;
+    }
+
+    private CompletableFuture<Customer> lookup(Long id) {
+        CompletableFuture<Customer> created = new CompletableFuture<>();
+        CompletableFuture<Customer> existing = inFlight.putIfAbsent(id, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        created.whenComplete((c, e) -> inFlight.remove(id, created));
+        if (dispatcher == null) {
+            fetch(Map.of(id, created));
+        } else {
+            pending.add(new Pending(id, created));
+            if (dispatchScheduled.compareAndSet(false, true)) {
+                dispatcher.schedule(this::dispatch, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        return created;
+    }
+
+    private void dispatch() {
+        dispatchScheduled.set(false);
+        Map<Long, CompletableFuture<Customer>> batch = new HashMap<>();
+        Pending next;
+        while ((next = pending.poll()) != null) {
+            batch.put(next.id(), next.future());
+            if (batch.size() == maxBatchSize) {
+                flushBatched(batch);
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty()) flushBatched(batch);
+    }
+
+    private void flushBatched(Map<Long, CompletableFuture<Customer>> batch) {
+        if (batch.size() > 1) batched.increment(batch.size());
+        try {
+            fetchers.execute(() -> fetch(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void fetch(Map<Long, CompletableFuture<Customer>> owned) {
+        try {
+            if (owned.size() == 1) {
+                Map.Entry<Long, CompletableFuture<Customer>> only = owned.entrySet().iterator().next();
+                singleCalls.increment();
+                only.getValue().complete(client.getCustomerById(only.getKey()));
+                return;
+            }
+            batchCalls.increment();
+            List<Customer> customers = client.getCustomersByIds(new ArrayList<>(owned.keySet()));
+            customers.forEach(c -> {
+                CompletableFuture<Customer> future = owned.get(c.getId());
+                if (future != null) future.complete(c);
+            });
+            owned.forEach((id, future) -> future.complete(CustomerServiceClient.notAvailable(id)));
+        } catch (RuntimeException e) {
+            owned.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (dispatcher != null) dispatcher.shutdownNow();
+        if (ownedFetchers != null) ownedFetchers.shutdownNow();
+    }
+
+    private static Customer await(CompletableFuture<Customer> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    private record Pending(Long id, CompletableFuture<Customer> future) {
+    }
+}
@@ -2,14 +2,20 @@ package kad.dev.accountservice.api;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.model.CustomerPage;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
 
-@FeignClient(name = "CUSTOMER-SERVICE")
+@FeignClient(name = "CUSTOMER-SERVICE", configuration = CborNegotiationConfig.class)
 public interface CustomerServiceClient {
+    String NOT_AVAILABLE = "Not Available";
+
     @GetMapping("/customer/{id}")
     @CircuitBreaker(name = "CustomerService", fallbackMethod = "getDefaultCustomer")
     Customer getCustomerById(@PathVariable Long id);
@@ -17,19 +23,39 @@ public interface CustomerServiceClient {
     @GetMapping("/customers")
     @CircuitBreaker(name = "CustomerService", fallbackMethod = "getDefaultCustomers")
     List<Customer> getAllCustomers();
+
+    @GetMapping("/customers/page")
+    @CircuitBreaker(name = "CustomerService", fallbackMethod = "getDefaultCustomersPage")
+    CustomerPage getCustomersPage(@RequestParam("after") Long after, @RequestParam("size") int size);
+
+    @PostMapping("/customers/batch")
+    @CircuitBreaker(name = "CustomerServiceBatch", fallbackMethod = "getDefaultCustomersByIds")
+    List<Customer> getCustomersByIds(@RequestBody List<Long> ids);
     /*
      * Default Circuit Breakers Methods Definitions
      */
     default Customer getDefaultCustomer(Long id, Exception e) {
+        return notAvailable(id);
+    }
+    default List<Customer> getDefaultCustomers(Exception e) {
+        return List.of();
+    }
+    default CustomerPage getDefaultCustomersPage(Long after, int size, Exception e) {
+        return CustomerPage.builder().content(List.of()).size(0).build();
+    }
+    default List<Customer> getDefaultCustomersByIds(List<Long> ids, Exception e) {
+        return ids.stream().map(id -> getDefaultCustomer(id, e)).toList();
+    }
+    static Customer notAvailable(Long id) {
         return Customer.builder()
                 .id(id)
-                .firstName("Not Available")
-                .lastName("Not Available")
-                .email("Not Available")
+                .firstName(NOT_AVAILABLE)
+                .lastName(NOT_AVAILABLE)
+                .email(NOT_AVAILABLE)
                 .build();
     }
-    default List<Customer> getDefaultCustomers(Exception e) {
-        return List.of();
+    static boolean isDefaultCustomer(Customer customer) {
+        return customer == null || NOT_AVAILABLE.equals(customer.getEmail());
     }
 }
 
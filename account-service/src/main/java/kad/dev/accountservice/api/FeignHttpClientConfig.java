@@ -0,0 +1,97 @@
+package kad.dev.accountservice.api;
+
+import feign.Request;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.EndpointDetails;
+import org.apache.hc.core5.http.HttpResponseInterceptor;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pooled Apache HttpClient 5 behind {@link CustomerServiceClient} (picked up by Spring Cloud OpenFeign in place of
+ * its own client when feign-hc5 is on the classpath). Connections are kept alive and reused per customer-service
+ * instance, idle ones are evicted, and the timeouts come from customer.http.*, which also sets the slow-call
+ * threshold of the CustomerService circuit breakers, so a call the breaker counts as slow is the call the socket
+ * gives up on. Pool usage is exported under httpcomponents.httpclient.pool.* and connection reuse under
+ * customer.http.connections.
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    PoolingHttpClientConnectionManager customerConnectionManager(CustomerHttpClientProperties properties, MeterRegistry registry) {
+        PoolingHttpClientConnectionManager manager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConnections())
+                .setMaxConnPerRoute(properties.getMaxConnectionsPerInstance())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(timeout(properties.getConnectTimeout()))
+                        .setSocketTimeout(timeout(properties.getResponseTimeout()))
+                        .setValidateAfterInactivity(timeValue(properties.getValidateAfterInactivity()))
+                        .setTimeToLive(timeValue(properties.getTimeToLive()))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(manager, "customer-service").bindTo(registry);
+        return manager;
+    }
+
+    @Bean(destroyMethod = "close")
+    CloseableHttpClient customerHttpClient(PoolingHttpClientConnectionManager customerConnectionManager,
+                                           CustomerHttpClientProperties properties, MeterRegistry registry) {
+        return HttpClients.custom()
+                .setConnectionManager(customerConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(timeout(properties.getLeaseTimeout()))
+                        .setResponseTimeout(timeout(properties.getResponseTimeout()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(timeValue(properties.getIdleEviction()))
+                .addResponseInterceptorLast(connectionReuse(registry))
+                .disableCookieManagement()
+                .build();
+    }
+
+    /**
+     * Feign passes its Request.Options to the client on every call, overriding the RequestConfig above,
+     * so they carry the same timeouts instead of Feign's 10s/60s defaults.
+     */
+    @Bean
+    Request.Options customerRequestOptions(CustomerHttpClientProperties properties) {
+        return new Request.Options(properties.getConnectTimeout(), properties.getResponseTimeout(), true);
+    }
+
+    private static HttpResponseInterceptor connectionReuse(MeterRegistry registry) {
+        Counter reused = Counter.builder("customer.http.connections").tag("connection", "reused")
+                .description("Calls to customer-service served on a kept-alive connection")
+                .register(registry);
+        Counter opened = Counter.builder("customer.http.connections").tag("connection", "new")
+                .description("Calls to customer-service that had to open a connection")
+                .register(registry);
+        return (response, entity, context) -> {
+            EndpointDetails endpoint = HttpClientContext.adapt(context).getEndpointDetails();
+            if (endpoint == null) return;
+            (endpoint.getRequestCount() > 1 ? reused : opened).increment();
+        };
+    }
+
+    private static Timeout timeout(Duration duration) {
+        return Timeout.of(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static TimeValue timeValue(Duration duration) {
+        return TimeValue.of(duration.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,35 @@
+package kad.dev.accountservice.config;
+
+import kad.dev.outbox.HttpOutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Endpoints meant for other services and operators rather than clients; the gateway routes neither.
+ * /events/** takes the customer-service outbox and requires customer.events.token (OUTBOX_TOKEN, shared with
+ * customer-service). /customers-projection/** requires customer.projection.admin-token (ADMIN_TOKEN) in
+ * {@link #ADMIN_TOKEN_HEADER}.
+ */
+@Configuration
+public class InternalEndpointsConfig implements WebMvcConfigurer {
+    public static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final String eventsToken;
+    private final String adminToken;
+
+    public InternalEndpointsConfig(@Value("${customer.events.token:}") String eventsToken,
+                                   @Value("${customer.projection.admin-token:}") String adminToken) {
+        this.eventsToken = eventsToken;
+        this.adminToken = adminToken;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SharedSecretInterceptor(HttpOutboxSink.TOKEN_HEADER, eventsToken))
+                .addPathPatterns("/events/**");
+        registry.addInterceptor(new SharedSecretInterceptor(ADMIN_TOKEN_HEADER, adminToken))
+                .addPathPatterns("/customers-projection/**");
+    }
+}
@@ -0,0 +1,34 @@
+package kad.dev.accountservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Lets a request through only when the given header carries the configured secret, answering 401 otherwise.
+ * While no secret is configured every request is refused, so an unconfigured instance is closed rather than open.
+ */
+public class SharedSecretInterceptor implements HandlerInterceptor {
+    private final String header;
+    private final byte[] secret;
+
+    public SharedSecretInterceptor(String header, String secret) {
+        this.header = header;
+        this.secret = secret == null ? new byte[0] : secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String presented = request.getHeader(header);
+        if( secret.length == 0 || presented == null
+                || !MessageDigest.isEqual(secret, presented.getBytes(StandardCharsets.UTF_8)) ) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,26 @@
+package kad.dev.accountservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.cloud.client.circuitbreaker.Customizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual-thread mode, enabled with spring.threads.virtual.enabled=true (VIRTUAL_THREADS_ENABLED).
+ * Spring Boot then serves Tomcat requests and the application task executor from virtual threads, so Feign
+ * calls made on the request thread no longer hold a platform worker while customer-service answers.
+ * Feign calls wrapped by a Spring Cloud circuit breaker run on its time-limiter executor, which is switched here.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    @Bean
+    Customizer<Resilience4JCircuitBreakerFactory> virtualThreadCircuitBreakers() {
+        return factory -> factory.configureExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
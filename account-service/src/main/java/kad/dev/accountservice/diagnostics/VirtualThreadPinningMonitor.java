@@ -0,0 +1,94 @@
+package kad.dev.accountservice.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams JFR jdk.VirtualThreadPinned events while virtual threads are enabled. Every pin longer than the
+ * threshold is recorded in the jvm.threads.virtual.pinned timer, and the most recent ones, with the top of
+ * their stack, are served by the /actuator/virtualthreads endpoint.
+ */
+@Component
+@Endpoint(id = "virtualthreads")
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    private static final int STACK_DEPTH = 12;
+
+    private final Timer pinned;
+    private final Duration threshold;
+    private final int retained;
+    private final ConcurrentLinkedDeque<PinnedEvent> recent = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger recentCount = new AtomicInteger();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       @Value("${diagnostics.virtual-threads.pinned-threshold:20ms}") Duration threshold,
+                                       @Value("${diagnostics.virtual-threads.retained-events:100}") int retained) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads pinned to their carrier for longer than the threshold")
+                .register(registry);
+        this.threshold = threshold;
+        this.retained = retained;
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::record);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stream.close();
+    }
+
+    @ReadOperation
+    public Map<String, Object> pinnedEvents() {
+        return Map.of(
+                "count", pinned.count(),
+                "totalMillis", pinned.totalTime(TimeUnit.MILLISECONDS),
+                "recent", List.copyOf(recent));
+    }
+
+    private void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        recent.addFirst(new PinnedEvent(event.getStartTime(), event.getDuration().toMillis(),
+                event.getThread() == null ? null : event.getThread().getJavaName(), frames(event)));
+        if (recentCount.incrementAndGet() > retained && recent.pollLast() != null) recentCount.decrementAndGet();
+    }
+
+    private static List<String> frames(RecordedEvent event) {
+        if (event.getStackTrace() == null) return List.of();
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        List<String> top = new ArrayList<>(Math.min(frames.size(), STACK_DEPTH));
+        for (RecordedFrame frame : frames.subList(0, Math.min(frames.size(), STACK_DEPTH))) {
+            top.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber());
+        }
+        return top;
+    }
+
+    public record PinnedEvent(Instant start, long durationMillis, String thread, List<String> stack) {
+    }
+}
@@ -0,0 +1,12 @@
+package kad.dev.accountservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor @Builder
+public class AccountPageDTO {
+    private List<BankAccountDTO> content;
+    private int size;
+    private String nextCursor;
+}
@@ -6,13 +6,14 @@ import kad.dev.accountservice.enums.AccountType;
 import kad.dev.accountservice.model.Customer;
 import lombok.*;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 
 @Getter @Setter @AllArgsConstructor @NoArgsConstructor @Builder
 public class BankAccountDTO {
     private String accountId;
-    private double balance;
+    private BigDecimal balance;
     @NotNull
     private String currency;
     @NotNull
@@ -20,4 +21,7 @@ public class BankAccountDTO {
     @NotNull
     private Long customerId;
     private LocalDate createdAt;
+    private Customer customer;
+    /* true when customer is a "Not Available" placeholder (customer-service down or too slow) */
+    private boolean customerUnavailable;
 }
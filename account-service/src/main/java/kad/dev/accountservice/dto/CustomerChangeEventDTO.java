@@ -0,0 +1,17 @@
+package kad.dev.accountservice.dto;
+
+import kad.dev.accountservice.model.Customer;
+import kad.dev.outbox.ChangeType;
+import lombok.*;
+
+import java.time.Instant;
+
+@Builder @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class CustomerChangeEventDTO {
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    private ChangeType type;
+    private Instant occurredAt;
+    private Customer payload;
+}
@@ -0,0 +1,12 @@
+package kad.dev.accountservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class CustomerChangeFeedDTO {
+    private List<CustomerChangeEventDTO> events;
+    private Long nextSince;
+    private boolean resyncRequired;
+}
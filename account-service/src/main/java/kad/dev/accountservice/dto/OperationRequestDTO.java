@@ -0,0 +1,15 @@
+package kad.dev.accountservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor @Builder
+public class OperationRequestDTO {
+    @NotNull
+    private String accountId;
+    @NotNull
+    private BigDecimal amount;
+    private String description;
+}
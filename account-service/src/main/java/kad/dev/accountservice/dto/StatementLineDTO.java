@@ -0,0 +1,26 @@
+package kad.dev.accountservice.dto;
+
+import kad.dev.accountservice.enums.EntryDirection;
+import kad.dev.accountservice.enums.MovementType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One movement of an account statement. {@code amount} is signed (credits positive), {@code balance} is the
+ * account balance right after the movement, and {@code continuation} resumes a statement after this line.
+ */
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor @Builder
+public class StatementLineDTO {
+    private Long entryId;
+    private Instant createdAt;
+    private String transferId;
+    private MovementType type;
+    private EntryDirection direction;
+    private String counterpartyAccountId;
+    private String description;
+    private BigDecimal amount;
+    private BigDecimal balance;
+    private String continuation;
+}
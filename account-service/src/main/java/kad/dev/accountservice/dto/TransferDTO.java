@@ -0,0 +1,15 @@
+package kad.dev.accountservice.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor @Builder
+public class TransferDTO {
+    private String transferId;
+    private String fromAccountId;
+    private String toAccountId;
+    private BigDecimal amount;
+    private Instant createdAt;
+}
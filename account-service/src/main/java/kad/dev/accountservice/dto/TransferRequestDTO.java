@@ -0,0 +1,17 @@
+package kad.dev.accountservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter @Setter @AllArgsConstructor @NoArgsConstructor @Builder
+public class TransferRequestDTO {
+    @NotNull
+    private String fromAccountId;
+    @NotNull
+    private String toAccountId;
+    @NotNull
+    private BigDecimal amount;
+    private String description;
+}
@@ -1,17 +1,29 @@
 package kad.dev.accountservice.entity;
 
 import jakarta.persistence.*;
+import kad.dev.accountservice.entity.id.TimeOrderedId;
 import kad.dev.accountservice.enums.AccountType;
 import kad.dev.accountservice.model.Customer;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_bank_account_created_at_id", columnList = "createdAt, accountId"),
+        @Index(name = "idx_bank_account_type", columnList = "type"),
+        @Index(name = "idx_bank_account_customer_id", columnList = "customerId")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor @Builder
 public class BankAccount {
-    @Id
+    @Id @TimeOrderedId
     private String accountId;
-    private double balance;
+    @Column(precision = 19, scale = 2)
+    private BigDecimal balance;
     private String currency;
     @Enumerated(EnumType.STRING)
     private AccountType type;
@@ -19,4 +31,6 @@ public class BankAccount {
     private Customer customer;
     private Long customerId;
     private LocalDate createdAt;
+    @Version
+    private Long version;
 }
@@ -0,0 +1,25 @@
+package kad.dev.accountservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Local copy of a customer, maintained from customer-service change events. {@code version} is the id of the
+ * last event applied, so redelivered and out-of-order events can be recognised and dropped; deleted customers
+ * stay as tombstones so an older event cannot bring them back.
+ */
+@Entity
+@Table(name = "customer_projection")
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor @Builder
+public class CustomerProjection {
+    @Id
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long version;
+    private boolean deleted;
+    private Instant updatedAt;
+}
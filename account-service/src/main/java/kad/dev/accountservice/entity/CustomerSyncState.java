@@ -0,0 +1,22 @@
+package kad.dev.accountservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Single-row checkpoint of the customer projection: every customer change up to {@code lastEventId} has been applied.
+ */
+@Entity
+@Table(name = "customer_projection_sync")
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor @Builder
+public class CustomerSyncState {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+    private Long lastEventId;
+    private Instant syncedAt;
+    private Instant fullSyncAt;
+}
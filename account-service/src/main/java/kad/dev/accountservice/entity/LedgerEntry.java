@@ -0,0 +1,44 @@
+package kad.dev.accountservice.entity;
+
+import jakarta.persistence.*;
+import kad.dev.accountservice.enums.EntryDirection;
+import kad.dev.accountservice.enums.MovementType;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One side of a double-entry posting. Every movement writes a DEBIT and a CREDIT entry of the same amount
+ * sharing a transferId; money entering or leaving the bank is booked against {@link #EXTERNAL_ACCOUNT}.
+ * Entries are never updated or deleted.
+ */
+@Entity
+@Immutable
+@Table(indexes = {
+        @Index(name = "idx_ledger_entry_account_created", columnList = "accountId, createdAt, id"),
+        @Index(name = "idx_ledger_entry_transfer", columnList = "transferId")
+})
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor @Builder
+public class LedgerEntry {
+    public static final String EXTERNAL_ACCOUNT = "EXTERNAL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_seq")
+    @SequenceGenerator(name = "ledger_entry_seq", allocationSize = 50)
+    private Long id;
+    private String transferId;
+    private String accountId;
+    private String counterpartyAccountId;
+    @Enumerated(EnumType.STRING)
+    private EntryDirection direction;
+    @Enumerated(EnumType.STRING)
+    private MovementType type;
+    @Column(precision = 19, scale = 2)
+    private BigDecimal amount;
+    @Column(precision = 19, scale = 2)
+    private BigDecimal balanceAfter;
+    private String description;
+    private Instant createdAt;
+}
@@ -0,0 +1,39 @@
+package kad.dev.accountservice.entity.id;
+
+import com.netflix.appinfo.EurekaInstanceConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Derives the id generator node from the Eureka instance id, unless accounts.id.node-id is set explicitly.
+ * Instances that hash onto the same node can be told apart by setting the property.
+ */
+@Component
+@Slf4j
+public class NodeIdConfigurer {
+    private final ObjectProvider<EurekaInstanceConfig> eurekaInstance;
+    private final Long configuredNodeId;
+
+    public NodeIdConfigurer(ObjectProvider<EurekaInstanceConfig> eurekaInstance,
+                            @Value("${accounts.id.node-id:#{null}}") Long configuredNodeId) {
+        this.eurekaInstance = eurekaInstance;
+        this.configuredNodeId = configuredNodeId;
+    }
+
+    @PostConstruct
+    public void configure() {
+        if (configuredNodeId != null) {
+            TimeOrderedIds.configureNode(configuredNodeId);
+        } else {
+            EurekaInstanceConfig instance = eurekaInstance.getIfAvailable();
+            if (instance != null && instance.getInstanceId() != null) {
+                int hash = instance.getInstanceId().hashCode();
+                TimeOrderedIds.configureNode((hash ^ (hash >>> 16)) & TimeOrderedIds.MAX_NODE);
+            }
+        }
+        log.info("Account ids generated with node id {}", TimeOrderedIds.shared().node());
+    }
+}
@@ -0,0 +1,78 @@
+package kad.dev.accountservice.entity.id;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style 64-bit identifiers: 41 bits of milliseconds since 2024-01-01, 10 bits of node id and a
+ * 12-bit per-millisecond sequence. They are rendered as 13 fixed-width Crockford base32 characters, so the
+ * string order of two ids is their creation order and new rows append to the right edge of the primary key
+ * index instead of landing on random pages like UUIDv4 keys.
+ */
+public final class TimeOrderedIds {
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    static final int ENCODED_LENGTH = 13;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private static volatile TimeOrderedIds shared = new TimeOrderedIds(new SecureRandom().nextInt((int) MAX_NODE + 1));
+
+    private final long node;
+    /* (millis since EPOCH << SEQUENCE_BITS) | sequence of the last id handed out */
+    private final AtomicLong state = new AtomicLong();
+
+    public TimeOrderedIds(long node) {
+        if (node < 0 || node > MAX_NODE) throw new IllegalArgumentException("node must be between 0 and " + MAX_NODE);
+        this.node = node;
+    }
+
+    public static TimeOrderedIds shared() {
+        return shared;
+    }
+
+    public static void configureNode(long node) {
+        shared = new TimeOrderedIds(node);
+    }
+
+    public long node() {
+        return node;
+    }
+
+    public String next() {
+        return encode(nextLong());
+    }
+
+    public long nextLong() {
+        while (true) {
+            long now = System.currentTimeMillis() - EPOCH;
+            long current = state.get();
+            long last = current >>> SEQUENCE_BITS;
+            long next;
+            if (now > last) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & MAX_SEQUENCE) < MAX_SEQUENCE) {
+                // same millisecond, or the clock went backwards: keep counting on the last timestamp
+                next = current + 1;
+            } else {
+                // sequence exhausted: borrow the next millisecond
+                next = (last + 1) << SEQUENCE_BITS;
+            }
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (next & MAX_SEQUENCE);
+            }
+        }
+    }
+
+    static String encode(long value) {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,5 @@
+package kad.dev.accountservice.enums;
+
+public enum EntryDirection {
+    DEBIT, CREDIT
+}
@@ -0,0 +1,5 @@
+package kad.dev.accountservice.enums;
+
+public enum MovementType {
+    OPENING, DEPOSIT, WITHDRAWAL, TRANSFER, INTEREST
+}
@@ -0,0 +1,11 @@
+package kad.dev.accountservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class AccountNotFoundException extends RuntimeException {
+    public AccountNotFoundException(String accountId) {
+        super("Account " + accountId + " not found");
+    }
+}
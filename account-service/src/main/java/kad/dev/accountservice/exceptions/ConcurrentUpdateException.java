@@ -0,0 +1,11 @@
+package kad.dev.accountservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConcurrentUpdateException extends RuntimeException {
+    public ConcurrentUpdateException(String accountId, Throwable cause) {
+        super("Account " + accountId + " was modified concurrently", cause);
+    }
+}
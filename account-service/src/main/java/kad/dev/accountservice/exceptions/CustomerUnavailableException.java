@@ -0,0 +1,7 @@
+package kad.dev.accountservice.exceptions;
+
+public class CustomerUnavailableException extends RuntimeException {
+    public CustomerUnavailableException(Long id) {
+        super("Customer " + id + " is not available");
+    }
+}
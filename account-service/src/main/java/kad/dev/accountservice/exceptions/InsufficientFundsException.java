@@ -0,0 +1,11 @@
+package kad.dev.accountservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class InsufficientFundsException extends RuntimeException {
+    public InsufficientFundsException(String accountId) {
+        super("Insufficient funds on account " + accountId);
+    }
+}
@@ -0,0 +1,369 @@
+package kad.dev.accountservice.interest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.enums.MovementType;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.LedgerEntryRepository;
+import kad.dev.accountservice.service.LedgerPostings;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Nightly interest accrual on saving accounts. A run splits the saving accounts into id ranges of
+ * interest.accrual.partition-size and accrues the partitions in parallel on interest.accrual.parallelism workers,
+ * chunk by chunk. Each chunk is one transaction that updates the balances, writes an INTEREST posting per account
+ * and moves the partition checkpoint, so a run interrupted by a crash resumes on the next start without accruing
+ * any account twice. The partition row is locked for the chunk, so nodes resuming the same run share the work.
+ * A chunk that loses a race with a transfer is accrued again one account per transaction, so only the accounts
+ * that actually conflict are read again.
+ * Days whose firing passed while no node was running are accrued on the next start.
+ * <p>
+ * Interest for a day is the end-of-day balance * annual rate / days in the year, rounded half-even to the cent.
+ * The end-of-day balance is the balanceAfter of the account's last ledger entry before midnight UTC; accounts
+ * opened after the day earn nothing for it, and accounts without any entry by then earn on their current balance.
+ * Interest accrued late (a resumed or missed day) is posted when it is accrued, so it only adds to the balance of
+ * the days after that.
+ */
+@Component
+@Slf4j
+public class InterestAccrualJob {
+    private static final int MAX_ATTEMPTS = 3;
+    /* sorts before every account id */
+    private static final String FIRST_ID = "";
+
+    private final BankAccountRepository accounts;
+    private final LedgerEntryRepository ledger;
+    private final InterestAccrualRunRepository runs;
+    private final InterestAccrualPartitionRepository partitions;
+    private final TransactionTemplate transactionTemplate;
+    private final BigDecimal annualRate;
+    private final int partitionSize;
+    private final int chunkSize;
+    private final int parallelism;
+    private final CronExpression schedule;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "interest-accrual");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong lastThroughput = new AtomicLong();
+    private final Counter accrued;
+    private final Timer runTime;
+
+    public InterestAccrualJob(BankAccountRepository accounts, LedgerEntryRepository ledger, InterestAccrualRunRepository runs,
+                              InterestAccrualPartitionRepository partitions, PlatformTransactionManager transactionManager,
+                              MeterRegistry registry,
+                              @Value("${interest.saving.annual-rate:0.02}") BigDecimal annualRate,
+                              @Value("${interest.accrual.partition-size:50000}") int partitionSize,
+                              @Value("${interest.accrual.chunk-size:500}") int chunkSize,
+                              @Value("${interest.accrual.parallelism:4}") int parallelism,
+                              @Value("${interest.accrual.cron:0 30 1 * * *}") String cron) {
+        this.accounts = accounts;
+        this.ledger = ledger;
+        this.runs = runs;
+        this.partitions = partitions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.annualRate = annualRate;
+        this.partitionSize = partitionSize;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.schedule = CronExpression.parse(cron);
+        this.accrued = Counter.builder("interest.accrual.accounts")
+                .description("Saving accounts processed by interest accrual")
+                .register(registry);
+        this.runTime = Timer.builder("interest.accrual.run")
+                .description("Duration of interest accrual runs, resumed ones included")
+                .register(registry);
+        Gauge.builder("interest.accrual.throughput", lastThroughput, AtomicLong::get)
+                .description("Accounts per second of the last interest accrual run")
+                .register(registry);
+    }
+
+    /**
+     * Catches up on unfinished and missed runs, then accrues the day that just ended at every interest.accrual.cron (UTC).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.execute(this::catchUp);
+        scheduleNext();
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /*
+     * Resumes the runs a crash left unfinished, then accrues the days missed since the newest run, oldest first
+     */
+    private void catchUp() {
+        runs.findByFinishedAtIsNullOrderByAccrualDay().forEach(run -> accrueSafely(run.getAccrualDay()));
+        missedDays(LocalDateTime.now(ZoneOffset.UTC)).forEach(this::accrueSafely);
+    }
+
+    /**
+     * The days after the newest run whose firing is already past at the given time (UTC). Nothing before the first
+     * run ever made is accrued retroactively.
+     */
+    List<LocalDate> missedDays(LocalDateTime now) {
+        LocalDate newest = runs.findFirstByOrderByAccrualDayDesc().map(InterestAccrualRun::getAccrualDay).orElse(null);
+        if( newest == null ) return List.of();
+        List<LocalDate> missed = new ArrayList<>();
+        for (LocalDate day = newest.plusDays(1); day.isBefore(now.toLocalDate()); day = day.plusDays(1)) {
+            LocalDate firingDay = day.plusDays(1);
+            LocalDateTime firing = schedule.next(firingDay.atStartOfDay().minusNanos(1));
+            if( firing != null && firing.toLocalDate().equals(firingDay) && !firing.isAfter(now) ) missed.add(day);
+        }
+        return missed;
+    }
+
+    private void scheduleNext() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime next = schedule.next(now);
+        if( next == null ) return;
+        scheduler.schedule(() -> {
+            accrueSafely(next.toLocalDate().minusDays(1));
+            scheduleNext();
+        }, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void accrueSafely(LocalDate day) {
+        try {
+            accrue(day);
+        } catch (RuntimeException e) {
+            log.error("Interest accrual for {} failed, it resumes on the next start or run: {}", day, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Accrues one day's interest on every saving account, or finishes that day's run if it was interrupted.
+     * A day that is already accrued is left as it is.
+     */
+    public synchronized InterestAccrualRun accrue(LocalDate day) {
+        InterestAccrualRun run = startOrResume(day);
+        if( run.getFinishedAt() != null ) return run;
+        long started = System.nanoTime();
+        List<InterestAccrualPartition> pending = partitions.findByAccrualDayOrderByPartitionNo(day).stream()
+                .filter(p -> !p.isDone())
+                .toList();
+        long processed = 0;
+        RuntimeException failure = null;
+        ExecutorService workers = workers();
+        try {
+            List<Future<Long>> results = pending.stream()
+                    .map(p -> workers.submit(() -> accruePartition(p.getId(), run.getAnnualRate(), day)))
+                    .toList();
+            for (Future<Long> result : results) {
+                try {
+                    processed += result.get();
+                } catch (ExecutionException e) {
+                    if( failure == null ) failure = new IllegalStateException("Interest accrual partition failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interest accrual interrupted", e);
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - started;
+        runTime.record(elapsed, TimeUnit.NANOSECONDS);
+        long perSecond = elapsed == 0 ? processed : processed * 1_000_000_000L / elapsed;
+        lastThroughput.set(perSecond);
+        if( failure != null ) throw failure;
+        InterestAccrualRun finished = transactionTemplate.execute(status -> finish(day));
+        log.info("Interest accrued for {} in {} ms: {} accounts ({} in this run, {}/s), {} in total",
+                day, TimeUnit.NANOSECONDS.toMillis(elapsed), finished.getAccounts(), processed, perSecond, finished.getInterest());
+        return finished;
+    }
+
+    static BigDecimal dailyInterest(BigDecimal balance, BigDecimal annualRate, LocalDate day) {
+        return balance.multiply(annualRate).divide(BigDecimal.valueOf(day.lengthOfYear()), 2, RoundingMode.HALF_EVEN);
+    }
+
+    InterestAccrualRun startOrResume(LocalDate day) {
+        InterestAccrualRun existing = runs.findById(day).orElse(null);
+        if( existing != null ) return existing;
+        try {
+            return transactionTemplate.execute(status -> plan(day));
+        } catch (DataIntegrityViolationException e) {
+            // another node planned the same day first
+            return runs.findById(day).orElseThrow(() -> e);
+        }
+    }
+
+    /*
+     * Every partitionSize-th saving account id closes a partition; the last one is open-ended, so accounts opened
+     * while the run is going are accrued too
+     */
+    private InterestAccrualRun plan(LocalDate day) {
+        List<String> boundaries = new ArrayList<>();
+        try (Stream<String> ids = accounts.streamIdsByType(AccountType.SAVING_ACCOUNT)) {
+            AtomicLong seen = new AtomicLong();
+            ids.forEach(id -> {
+                if( seen.incrementAndGet() % partitionSize == 0 ) boundaries.add(id);
+            });
+        }
+        boundaries.add(null);
+        Instant now = Instant.now();
+        List<InterestAccrualPartition> planned = new ArrayList<>(boundaries.size());
+        String from = null;
+        for (String to : boundaries) {
+            planned.add(InterestAccrualPartition.builder()
+                    .accrualDay(day)
+                    .partitionNo(planned.size())
+                    .fromAccountId(from)
+                    .toAccountId(to)
+                    .interest(BigDecimal.ZERO.setScale(2))
+                    .updatedAt(now)
+                    .build());
+            from = to;
+        }
+        InterestAccrualRun run = runs.save(InterestAccrualRun.builder()
+                .accrualDay(day)
+                .annualRate(annualRate)
+                .partitions(planned.size())
+                .interest(BigDecimal.ZERO.setScale(2))
+                .startedAt(now)
+                .build());
+        partitions.saveAll(planned);
+        partitions.flush();
+        return run;
+    }
+
+    private long accruePartition(Long partitionId, BigDecimal rate, LocalDate day) {
+        long processed = 0;
+        while (true) {
+            Integer count;
+            try {
+                count = transactionTemplate.execute(status -> accrueChunk(partitionId, rate, day, chunkSize));
+            } catch (OptimisticLockingFailureException e) {
+                count = accrueOneByOne(partitionId, rate, day);
+            }
+            if( count == null || count < 0 ) return processed;
+            accrued.increment(count);
+            processed += count;
+        }
+    }
+
+    /*
+     * The next chunkSize accounts of the partition, one transaction each; -1 if the partition was already done
+     */
+    private int accrueOneByOne(Long partitionId, BigDecimal rate, LocalDate day) {
+        int processed = 0;
+        for (int i = 0; i < chunkSize; i++) {
+            Integer count = withRetry(() -> transactionTemplate.execute(status -> accrueChunk(partitionId, rate, day, 1)));
+            if( count == null || count < 0 ) return processed == 0 ? -1 : processed;
+            processed += count;
+        }
+        return processed;
+    }
+
+    /**
+     * Accrues the next {@code size} accounts of the partition and returns how many were read; -1 once the
+     * partition is done. The partition only counts the accounts that were credited.
+     */
+    int accrueChunk(Long partitionId, BigDecimal rate, LocalDate day, int size) {
+        InterestAccrualPartition partition = partitions.lockById(partitionId);
+        if( partition.isDone() ) return -1;
+        String after = partition.getLastAccountId() != null ? partition.getLastAccountId()
+                : partition.getFromAccountId() != null ? partition.getFromAccountId() : FIRST_ID;
+        List<BankAccount> chunk = accounts.findChunk(AccountType.SAVING_ACCOUNT, after, partition.getToAccountId(), PageRequest.ofSize(size));
+        Map<String, BigDecimal> endOfDay = endOfDayBalances(chunk, day);
+        Instant now = Instant.now();
+        String description = "Interest " + day;
+        List<LedgerEntry> entries = new ArrayList<>(chunk.size() * 2);
+        BigDecimal total = BigDecimal.ZERO;
+        int credited = 0;
+        for (BankAccount account : chunk) {
+            if( account.getCreatedAt() != null && account.getCreatedAt().isAfter(day) ) continue;
+            BigDecimal interest = dailyInterest(endOfDay.getOrDefault(account.getAccountId(), account.getBalance()), rate, day);
+            if( interest.signum() <= 0 ) continue;
+            account.setBalance(account.getBalance().add(interest));
+            entries.addAll(LedgerPostings.post(LedgerEntry.EXTERNAL_ACCOUNT, null, account.getAccountId(), account.getBalance(),
+                    interest, MovementType.INTEREST, description, now));
+            total = total.add(interest);
+            credited++;
+        }
+        ledger.saveAll(entries);
+        if( !chunk.isEmpty() ) partition.setLastAccountId(chunk.get(chunk.size() - 1).getAccountId());
+        partition.setAccounts(partition.getAccounts() + credited);
+        partition.setInterest(partition.getInterest().add(total));
+        partition.setDone(chunk.size() < size);
+        partition.setUpdatedAt(now);
+        accounts.flush();
+        return chunk.size();
+    }
+
+    private Map<String, BigDecimal> endOfDayBalances(List<BankAccount> chunk, LocalDate day) {
+        if( chunk.isEmpty() ) return Map.of();
+        Instant endOfDay = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        Map<String, BigDecimal> balances = new HashMap<>(chunk.size() * 2);
+        for (LedgerEntry entry : ledger.findLastBefore(chunk.stream().map(BankAccount::getAccountId).toList(), endOfDay)) {
+            if( entry.getBalanceAfter() != null ) balances.put(entry.getAccountId(), entry.getBalanceAfter());
+        }
+        return balances;
+    }
+
+    private InterestAccrualRun finish(LocalDate day) {
+        InterestAccrualRun run = runs.findById(day).orElseThrow();
+        List<InterestAccrualPartition> all = partitions.findByAccrualDayOrderByPartitionNo(day);
+        if( all.stream().allMatch(InterestAccrualPartition::isDone) && run.getFinishedAt() == null ) {
+            run.setAccounts(all.stream().mapToLong(InterestAccrualPartition::getAccounts).sum());
+            run.setInterest(all.stream().map(InterestAccrualPartition::getInterest).reduce(BigDecimal.ZERO, BigDecimal::add));
+            run.setFinishedAt(Instant.now());
+        }
+        return run;
+    }
+
+    /*
+     * A transfer committed on the account in the meantime: the account is read again
+     */
+    private <T> T withRetry(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if( attempt == MAX_ATTEMPTS ) throw e;
+            }
+        }
+    }
+
+    private ExecutorService workers() {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, "interest-accrual-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package kad.dev.accountservice.interest;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The saving accounts of a run with ids in (fromAccountId, toAccountId]; a null bound is open. {@code lastAccountId}
+ * is the checkpoint: accounts up to it have been accrued, in the same transactions that moved it.
+ */
+@Entity
+@Table(name = "interest_accrual_partition",
+        uniqueConstraints = @UniqueConstraint(name = "uk_interest_accrual_partition", columnNames = {"accrualDay", "partitionNo"}))
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor @Builder
+public class InterestAccrualPartition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interest_accrual_partition_seq")
+    @SequenceGenerator(name = "interest_accrual_partition_seq", allocationSize = 50)
+    private Long id;
+    private LocalDate accrualDay;
+    private int partitionNo;
+    private String fromAccountId;
+    private String toAccountId;
+    private String lastAccountId;
+    private long accounts;
+    @Column(precision = 19, scale = 2)
+    private BigDecimal interest;
+    private boolean done;
+    private Instant updatedAt;
+}
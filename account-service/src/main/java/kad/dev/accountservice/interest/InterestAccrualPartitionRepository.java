@@ -0,0 +1,23 @@
+package kad.dev.accountservice.interest;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InterestAccrualPartitionRepository extends JpaRepository<InterestAccrualPartition, Long> {
+    List<InterestAccrualPartition> findByAccrualDayOrderByPartitionNo(LocalDate accrualDay);
+
+    /*
+     * Held for the whole chunk transaction, so two nodes resuming the same run never accrue the same chunk
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from InterestAccrualPartition p where p.id = :id")
+    InterestAccrualPartition lockById(@Param("id") Long id);
+}
@@ -0,0 +1,28 @@
+package kad.dev.accountservice.interest;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * One day's accrual. The row is created together with the run's partitions and finished once all of them are done;
+ * an unfinished run is resumed from the partition checkpoints.
+ */
+@Entity
+@Table(name = "interest_accrual_run")
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor @Builder
+public class InterestAccrualRun {
+    @Id
+    private LocalDate accrualDay;
+    @Column(precision = 9, scale = 6)
+    private BigDecimal annualRate;
+    private int partitions;
+    private long accounts;
+    @Column(precision = 19, scale = 2)
+    private BigDecimal interest;
+    private Instant startedAt;
+    private Instant finishedAt;
+}
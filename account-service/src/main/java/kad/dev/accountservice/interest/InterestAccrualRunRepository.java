@@ -0,0 +1,14 @@
+package kad.dev.accountservice.interest;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InterestAccrualRunRepository extends JpaRepository<InterestAccrualRun, LocalDate> {
+    List<InterestAccrualRun> findByFinishedAtIsNullOrderByAccrualDay();
+    Optional<InterestAccrualRun> findFirstByOrderByAccrualDayDesc();
+}
@@ -1,7 +1,11 @@
 package kad.dev.accountservice.mapper;
 
+import kad.dev.accountservice.api.CustomerServiceClient;
 import kad.dev.accountservice.dto.BankAccountDTO;
 import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.CustomerProjection;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.reactive.BankAccountRow;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -21,6 +25,8 @@ public class BankAccountMapper {
                 .type(account.getType())
                 .customerId(account.getCustomerId())
                 .createdAt(account.getCreatedAt())
+                .customer(account.getCustomer())
+                .customerUnavailable(account.getCustomer() != null && CustomerServiceClient.isDefaultCustomer(account.getCustomer()))
                 .build();
     }
 
@@ -39,6 +45,33 @@ public class BankAccountMapper {
                 .build();
     }
 
+    public BankAccount fromBankAccountRow(BankAccountRow row) {
+        if (row == null) {
+            return null;
+        }
+        return BankAccount.builder()
+                .accountId(row.getAccountId())
+                .balance(row.getBalance())
+                .currency(row.getCurrency())
+                .type(row.getType())
+                .customerId(row.getCustomerId())
+                .createdAt(row.getCreatedAt())
+                .version(row.getVersion())
+                .build();
+    }
+
+    public Customer fromCustomerProjection(CustomerProjection projection) {
+        if (projection == null) {
+            return null;
+        }
+        return Customer.builder()
+                .id(projection.getId())
+                .firstName(projection.getFirstName())
+                .lastName(projection.getLastName())
+                .email(projection.getEmail())
+                .build();
+    }
+
     public List<BankAccountDTO> fromListBankAccounts(List<BankAccount> accounts) {
         if (accounts == null || accounts.isEmpty()) {
             return List.of();
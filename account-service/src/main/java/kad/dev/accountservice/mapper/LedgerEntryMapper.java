@@ -0,0 +1,29 @@
+package kad.dev.accountservice.mapper;
+
+import kad.dev.accountservice.dto.StatementLineDTO;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.enums.EntryDirection;
+import kad.dev.accountservice.service.StatementCursor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LedgerEntryMapper {
+
+    public StatementLineDTO toStatementLine(LedgerEntry entry) {
+        if (entry == null) {
+            return null;
+        }
+        return StatementLineDTO.builder()
+                .entryId(entry.getId())
+                .createdAt(entry.getCreatedAt())
+                .transferId(entry.getTransferId())
+                .type(entry.getType())
+                .direction(entry.getDirection())
+                .counterpartyAccountId(entry.getCounterpartyAccountId())
+                .description(entry.getDescription())
+                .amount(entry.getDirection() == EntryDirection.DEBIT ? entry.getAmount().negate() : entry.getAmount())
+                .balance(entry.getBalanceAfter())
+                .continuation(StatementCursor.after(entry).encode())
+                .build();
+    }
+}
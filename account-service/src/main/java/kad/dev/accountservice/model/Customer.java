@@ -1,11 +1,8 @@
 package kad.dev.accountservice.model;
 
-import lombok.Builder;
-import lombok.Getter;
-import lombok.Setter;
-import lombok.ToString;
+import lombok.*;
 
-@Getter @Setter @ToString @Builder
+@Getter @Setter @ToString @Builder @NoArgsConstructor @AllArgsConstructor
 public class Customer {
     private Long id;
     private String firstName;
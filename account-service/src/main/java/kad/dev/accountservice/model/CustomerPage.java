@@ -0,0 +1,12 @@
+package kad.dev.accountservice.model;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @ToString @Builder @NoArgsConstructor @AllArgsConstructor
+public class CustomerPage {
+    private List<Customer> content;
+    private int size;
+    private Long nextAfter;
+}
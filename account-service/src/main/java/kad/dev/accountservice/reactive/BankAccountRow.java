@@ -0,0 +1,27 @@
+package kad.dev.accountservice.reactive;
+
+import kad.dev.accountservice.enums.AccountType;
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * R2DBC view of the bank_account table written by the JPA {@link kad.dev.accountservice.entity.BankAccount} entity.
+ */
+@Table("bank_account")
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor @Builder
+public class BankAccountRow {
+    @Id
+    private String accountId;
+    private BigDecimal balance;
+    private String currency;
+    private AccountType type;
+    private Long customerId;
+    private LocalDate createdAt;
+    @Version
+    private Long version;
+}
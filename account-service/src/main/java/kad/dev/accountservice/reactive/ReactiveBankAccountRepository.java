@@ -0,0 +1,10 @@
+package kad.dev.accountservice.reactive;
+
+import kad.dev.accountservice.enums.AccountType;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveBankAccountRepository extends R2dbcRepository<BankAccountRow, String> {
+    Flux<BankAccountRow> findByType(AccountType type);
+    Flux<BankAccountRow> findByCustomerId(Long customerId);
+}
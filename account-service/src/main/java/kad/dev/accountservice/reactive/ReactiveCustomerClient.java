@@ -0,0 +1,54 @@
+package kad.dev.accountservice.reactive;
+
+import kad.dev.accountservice.api.CustomerServiceClient;
+import kad.dev.accountservice.model.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link CustomerServiceClient} for the reactive read path.
+ * Errors and timeouts resolve to the same "Not Available" customers as the Feign fallbacks.
+ */
+@Component
+@Slf4j
+public class ReactiveCustomerClient {
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public ReactiveCustomerClient(WebClient.Builder builder, ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                                  @Value("${customer.reactive.timeout:2s}") Duration timeout) {
+        this.webClient = builder.baseUrl("http://CUSTOMER-SERVICE").filter(loadBalancer).build();
+        this.timeout = timeout;
+    }
+
+    public Mono<Customer> getCustomerById(Long id) {
+        return webClient.get().uri("/customer/{id}", id)
+                .retrieve()
+                .bodyToMono(Customer.class)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.debug("Customer {} not available: {}", id, e.toString());
+                    return Mono.just(CustomerServiceClient.notAvailable(id));
+                });
+    }
+
+    public Flux<Customer> getCustomersByIds(List<Long> ids) {
+        return webClient.post().uri("/customers/batch")
+                .bodyValue(ids)
+                .retrieve()
+                .bodyToFlux(Customer.class)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.debug("Batch of {} customers not available: {}", ids.size(), e.toString());
+                    return Flux.fromIterable(ids).map(CustomerServiceClient::notAvailable);
+                });
+    }
+}
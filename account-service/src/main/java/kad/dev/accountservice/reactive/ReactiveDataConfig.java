@@ -0,0 +1,62 @@
+package kad.dev.accountservice.reactive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * R2DBC for the reactive read path, next to the JPA DataSource.
+ * The connection pool is deliberately not exposed as a ConnectionFactory bean: Spring Boot would then back off
+ * the JDBC DataSource and the JPA transaction manager, so the R2DBC auto-configurations are excluded and only
+ * the entity template is published. spring.r2dbc.url must point at the same database as spring.datasource.url.
+ */
+@Configuration
+@EnableR2dbcRepositories(basePackageClasses = ReactiveBankAccountRepository.class, entityOperationsRef = "reactiveEntityTemplate")
+public class ReactiveDataConfig implements DisposableBean {
+    private ConnectionPool pool;
+
+    @Bean
+    R2dbcEntityTemplate reactiveEntityTemplate(ObjectProvider<R2dbcConnectionDetails> connectionDetails,
+                                               @Value("${spring.r2dbc.url:}") String url,
+                                               @Value("${spring.r2dbc.pool.max-size:20}") int maxSize,
+                                               MeterRegistry registry) {
+        R2dbcConnectionDetails details = connectionDetails.getIfAvailable();
+        if (details == null && url.isBlank()) {
+            throw new IllegalStateException("spring.r2dbc.url is not set: point it at the spring.datasource.url database, "
+                    + "or run with the h2 profile");
+        }
+        ConnectionFactoryOptions options = details != null ? details.getConnectionFactoryOptions() : ConnectionFactoryOptions.parse(url);
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .build());
+        pool.getMetrics().ifPresent(metrics -> {
+            gauge(registry, "r2dbc.pool.acquired", metrics, PoolMetrics::acquiredSize);
+            gauge(registry, "r2dbc.pool.idle", metrics, PoolMetrics::idleSize);
+            gauge(registry, "r2dbc.pool.pending", metrics, PoolMetrics::pendingAcquireSize);
+        });
+        return new R2dbcEntityTemplate(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) pool.dispose();
+    }
+
+    private static void gauge(MeterRegistry registry, String name, PoolMetrics metrics, ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder(name, metrics, value).tag("pool", "accounts").register(registry);
+    }
+}
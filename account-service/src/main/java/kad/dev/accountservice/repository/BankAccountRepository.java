@@ -1,14 +1,112 @@
 package kad.dev.accountservice.repository;
 
+import jakarta.persistence.QueryHint;
 import kad.dev.accountservice.entity.BankAccount;
 import kad.dev.accountservice.enums.AccountType;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BankAccountRepository extends JpaRepository<BankAccount, String> {
     List<BankAccount> findByType(AccountType type);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<BankAccount> findByCustomerId(Long id);
+
+    /*
+     * Keyset pagination on (createdAt, accountId)
+     */
+    List<BankAccount> findAllByOrderByCreatedAtAscAccountIdAsc(Pageable page);
+
+    @Query("select a from BankAccount a where a.createdAt > :createdAt or (a.createdAt = :createdAt and a.accountId > :accountId) " +
+            "order by a.createdAt, a.accountId")
+    List<BankAccount> findPageAfter(@Param("createdAt") LocalDate createdAt, @Param("accountId") String accountId, Pageable page);
+
+    List<BankAccount> findByTypeOrderByCreatedAtAscAccountIdAsc(AccountType type, Pageable page);
+
+    @Query("select a from BankAccount a where a.type = :type and (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.accountId > :accountId)) " +
+            "order by a.createdAt, a.accountId")
+    List<BankAccount> findPageByTypeAfter(@Param("type") AccountType type, @Param("createdAt") LocalDate createdAt,
+                                          @Param("accountId") String accountId, Pageable page);
+
+    List<BankAccount> findByCustomerIdOrderByCreatedAtAscAccountIdAsc(Long id, Pageable page);
+
+    @Query("select a from BankAccount a where a.customerId = :id and (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.accountId > :accountId)) " +
+            "order by a.createdAt, a.accountId")
+    List<BankAccount> findPageByCustomerIdAfter(@Param("id") Long id, @Param("createdAt") LocalDate createdAt,
+                                                @Param("accountId") String accountId, Pageable page);
+
+    /*
+     * Cursor-backed streams, to be consumed inside a read-only transaction
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select a from BankAccount a order by a.createdAt, a.accountId")
+    Stream<BankAccount> streamAll();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select a from BankAccount a where a.type = :type order by a.createdAt, a.accountId")
+    Stream<BankAccount> streamByType(@Param("type") AccountType type);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select a from BankAccount a where a.customerId = :id order by a.createdAt, a.accountId")
+    Stream<BankAccount> streamByCustomerId(@Param("id") Long id);
+
+    long countByCustomerId(Long customerId);
+
+    /*
+     * Interest accrual: partition boundaries, then keyset chunks of one partition in id order
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select a.accountId from BankAccount a where a.type = :type order by a.accountId")
+    Stream<String> streamIdsByType(@Param("type") AccountType type);
+
+    @Query("select a from BankAccount a where a.type = :type and a.accountId > :after and (:to is null or a.accountId <= :to) " +
+            "order by a.accountId")
+    List<BankAccount> findChunk(@Param("type") AccountType type, @Param("after") String after, @Param("to") String to, Pageable page);
+
+    /*
+     * The same reads joined with the local customer projection: each row is {BankAccount, CustomerProjection},
+     * the projection being null for customers that are not projected (yet) or deleted
+     */
+    String WITH_CUSTOMER = "select a, p from BankAccount a left join CustomerProjection p on p.id = a.customerId and p.deleted = false ";
+
+    @Query(WITH_CUSTOMER)
+    List<Object[]> findAllWithCustomers();
+
+    @Query(WITH_CUSTOMER + "where a.type = :type")
+    List<Object[]> findByTypeWithCustomers(@Param("type") AccountType type);
+
+    @Query(WITH_CUSTOMER + "where a.accountId = :id")
+    List<Object[]> findByIdWithCustomer(@Param("id") String id);
+
+    @Query(WITH_CUSTOMER + "order by a.createdAt, a.accountId")
+    List<Object[]> findPageWithCustomers(Pageable page);
+
+    @Query(WITH_CUSTOMER + "where a.createdAt > :createdAt or (a.createdAt = :createdAt and a.accountId > :accountId) " +
+            "order by a.createdAt, a.accountId")
+    List<Object[]> findPageAfterWithCustomers(@Param("createdAt") LocalDate createdAt, @Param("accountId") String accountId, Pageable page);
+
+    @Query(WITH_CUSTOMER + "where a.type = :type order by a.createdAt, a.accountId")
+    List<Object[]> findPageByTypeWithCustomers(@Param("type") AccountType type, Pageable page);
+
+    @Query(WITH_CUSTOMER + "where a.type = :type and (a.createdAt > :createdAt or (a.createdAt = :createdAt and a.accountId > :accountId)) " +
+            "order by a.createdAt, a.accountId")
+    List<Object[]> findPageByTypeAfterWithCustomers(@Param("type") AccountType type, @Param("createdAt") LocalDate createdAt,
+                                                    @Param("accountId") String accountId, Pageable page);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(WITH_CUSTOMER + "order by a.createdAt, a.accountId")
+    Stream<Object[]> streamAllWithCustomers();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query(WITH_CUSTOMER + "where a.type = :type order by a.createdAt, a.accountId")
+    Stream<Object[]> streamByTypeWithCustomers(@Param("type") AccountType type);
 }
@@ -0,0 +1,33 @@
+package kad.dev.accountservice.repository;
+
+import jakarta.persistence.LockModeType;
+import kad.dev.accountservice.entity.CustomerProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CustomerProjectionRepository extends JpaRepository<CustomerProjection, Long> {
+
+    /*
+     * Locked in id order, so concurrent deliveries touching the same customers cannot deadlock
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from CustomerProjection p where p.id in :ids order by p.id")
+    List<CustomerProjection> lockAllById(@Param("ids") Collection<Long> ids);
+
+    /*
+     * Tombstones the customers a full resync did not see, unless a newer event has touched them meanwhile
+     */
+    @Modifying
+    @Query("update CustomerProjection p set p.deleted = true, p.updatedAt = :now " +
+            "where p.deleted = false and p.updatedAt < :syncStart and (p.version is null or p.version <= :head)")
+    int markDeletedNotSyncedSince(@Param("syncStart") Instant syncStart, @Param("head") long head, @Param("now") Instant now);
+}
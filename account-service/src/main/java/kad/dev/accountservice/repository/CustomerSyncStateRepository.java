@@ -0,0 +1,9 @@
+package kad.dev.accountservice.repository;
+
+import kad.dev.accountservice.entity.CustomerSyncState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerSyncStateRepository extends JpaRepository<CustomerSyncState, Integer> {
+}
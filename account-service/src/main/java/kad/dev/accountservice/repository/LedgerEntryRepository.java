@@ -0,0 +1,44 @@
+package kad.dev.accountservice.repository;
+
+import jakarta.persistence.QueryHint;
+import kad.dev.accountservice.entity.LedgerEntry;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+    List<LedgerEntry> findByTransferId(String transferId);
+    List<LedgerEntry> findByAccountIdOrderByCreatedAtAscIdAsc(String accountId);
+
+    /*
+     * Statement cursors over idx_ledger_entry_account_created, to be consumed inside a read-only transaction
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select e from LedgerEntry e where e.accountId = :accountId and e.createdAt >= :from and e.createdAt < :to " +
+            "order by e.createdAt, e.id")
+    Stream<LedgerEntry> streamStatement(@Param("accountId") String accountId, @Param("from") Instant from, @Param("to") Instant to);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select e from LedgerEntry e where e.accountId = :accountId and e.createdAt >= :from and e.createdAt < :to " +
+            "and (e.createdAt > :afterCreatedAt or (e.createdAt = :afterCreatedAt and e.id > :afterId)) " +
+            "order by e.createdAt, e.id")
+    Stream<LedgerEntry> streamStatementAfter(@Param("accountId") String accountId, @Param("from") Instant from, @Param("to") Instant to,
+                                             @Param("afterCreatedAt") Instant afterCreatedAt, @Param("afterId") long afterId);
+
+    /*
+     * Each account's last entry created before :before, by (createdAt, id) as statements order them
+     */
+    @Query("select e from LedgerEntry e where e.accountId in :accountIds and e.createdAt < :before " +
+            "and not exists (select l.id from LedgerEntry l where l.accountId = e.accountId and l.createdAt < :before " +
+            "and (l.createdAt > e.createdAt or (l.createdAt = e.createdAt and l.id > e.id)))")
+    List<LedgerEntry> findLastBefore(@Param("accountIds") Collection<String> accountIds, @Param("before") Instant before);
+}
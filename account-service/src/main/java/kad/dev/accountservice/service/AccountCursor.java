@@ -0,0 +1,35 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position: the (createdAt, accountId) of the last account of a page.
+ */
+record AccountCursor(LocalDate createdAt, String accountId) {
+
+    static AccountCursor after(BankAccount account) {
+        return new AccountCursor(account.getCreatedAt(), account.getAccountId());
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + accountId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static AccountCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) throw new InvalidCursorException(cursor);
+            return new AccountCursor(LocalDate.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
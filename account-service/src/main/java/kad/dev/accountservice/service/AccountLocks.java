@@ -0,0 +1,61 @@
+package kad.dev.accountservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks keyed by accountId. Movements on unrelated accounts usually land on different
+ * stripes and run in parallel. When two stripes are needed they are always taken in ascending stripe order,
+ * so two transfers crossing the same pair of accounts (or of colliding stripes) can never deadlock.
+ */
+@Component
+public class AccountLocks {
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public AccountLocks(@Value("${accounts.lock-stripes:1024}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public <T> T withLock(String accountId, Supplier<T> action) {
+        ReentrantLock lock = stripes[stripeOf(accountId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T withLocks(String firstAccountId, String secondAccountId, Supplier<T> action) {
+        int first = stripeOf(firstAccountId);
+        int second = stripeOf(secondAccountId);
+        if (first == second) return withLock(firstAccountId, action);
+        ReentrantLock lower = stripes[Math.min(first, second)];
+        ReentrantLock upper = stripes[Math.max(first, second)];
+        lower.lock();
+        try {
+            upper.lock();
+            try {
+                return action.get();
+            } finally {
+                upper.unlock();
+            }
+        } finally {
+            lower.unlock();
+        }
+    }
+
+    int stripeOf(String accountId) {
+        int h = accountId.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
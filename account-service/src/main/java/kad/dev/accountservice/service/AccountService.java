@@ -1,21 +1,31 @@
 package kad.dev.accountservice.service;
 
+import kad.dev.accountservice.dto.AccountPageDTO;
 import kad.dev.accountservice.dto.BankAccountDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AccountService {
     /**
      * Create
      */
     BankAccountDTO createNewAccount(BankAccountDTO dto);
+    List<BankAccountDTO> createNewAccounts(List<BankAccountDTO> dtos);
     /**
      * Read
      */
     List<BankAccountDTO> getAllAccounts();
+    List<BankAccountDTO> getAllAccounts(boolean withCustomers);
     List<BankAccountDTO> getAccountsByType(String type);
     List<BankAccountDTO> getAccountsByCustomerId(Long id);
     BankAccountDTO getAccountById(String id);
+    AccountPageDTO getAccountsPage(String cursor, int size);
+    AccountPageDTO getAccountsPageByType(String type, String cursor, int size);
+    AccountPageDTO getAccountsPageByCustomerId(Long id, String cursor, int size);
+    void streamAccounts(Consumer<BankAccountDTO> sink);
+    void streamAccountsByType(String type, Consumer<BankAccountDTO> sink);
+    void streamAccountsByCustomerId(Long id, Consumer<BankAccountDTO> sink);
     /**
      * Update
      */
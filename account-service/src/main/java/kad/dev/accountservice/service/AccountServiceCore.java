@@ -1,57 +1,94 @@
 package kad.dev.accountservice.service;
 
-import kad.dev.accountservice.api.CustomerServiceClient;
+import jakarta.persistence.EntityManager;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.dto.AccountPageDTO;
 import kad.dev.accountservice.dto.BankAccountDTO;
 import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.CustomerProjection;
 import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.exceptions.AccountNotFoundException;
+import kad.dev.accountservice.exceptions.InvalidOperationException;
 import kad.dev.accountservice.mapper.BankAccountMapper;
 import kad.dev.accountservice.model.Customer;
 import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.outbox.ChangeType;
+import kad.dev.outbox.OutboxWriter;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class AccountServiceCore implements AccountService {
     private final BankAccountRepository repository;
-    private final CustomerServiceClient customerServiceClient;
+    private final AccountWriteBatcher writeBatcher;
+    private final CustomerCache customerCache;
+    private final CustomerEnricher customerEnricher;
+    private final CustomerProjectionStatus projectionStatus;
     private final BankAccountMapper mapper;
-    private final double MIN_BALANCE = 100;
+    private final OutboxWriter outbox;
+    private final EntityManager entityManager;
+    private final BigDecimal MIN_BALANCE = BigDecimal.valueOf(100);
+    static final String AGGREGATE = "account";
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 500;
 
     @Override
     public BankAccountDTO createNewAccount(BankAccountDTO dto) {
-        Customer customer = customerServiceClient.getCustomerById(dto.getCustomerId());
+        Customer customer = customerCache.get(dto.getCustomerId());
         if( customer == null ) throw new RuntimeException("Customer Not Found");
-        if( dto.getType() == AccountType.SAVING_ACCOUNT ) {
-            if( dto.getBalance() < MIN_BALANCE ) throw new RuntimeException("The balance for a SAVING_ACCOUNT must be at least 100");
-        }
-        BankAccount accountToSave = mapper.fromBankAccountDTO(dto);
-        accountToSave.setAccountId(UUID.randomUUID().toString());
-        accountToSave.setCreatedAt(LocalDate.now());
-        BankAccount saved = repository.save(accountToSave);
+        BankAccount saved = writeBatcher.insert(newAccount(dto));
         return mapper.fromBankAccount(saved);
     }
 
+    @Override
+    public List<BankAccountDTO> createNewAccounts(List<BankAccountDTO> dtos) {
+        Set<Long> customerIds = dtos.stream().map(BankAccountDTO::getCustomerId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Customer> customers = customerCache.getAll(customerIds);
+        List<BankAccount> accounts = new ArrayList<>(dtos.size());
+        for (BankAccountDTO dto : dtos) {
+            if( customers.get(dto.getCustomerId()) == null ) throw new RuntimeException("Customer Not Found");
+            accounts.add(newAccount(dto));
+        }
+        return mapper.fromListBankAccounts(writeBatcher.insertAll(accounts));
+    }
+
     @Override
     public List<BankAccountDTO> getAllAccounts() {
-        List<BankAccount> accounts = repository.findAll().stream().peek(ba -> {
-            Customer customer = customerServiceClient.getCustomerById(ba.getCustomerId());
-            ba.setCustomer(customer);
-        }).collect(Collectors.toList());
+        return getAllAccounts(true);
+    }
+
+    @Override
+    public List<BankAccountDTO> getAllAccounts(boolean withCustomers) {
+        List<BankAccount> accounts;
+        if( withCustomers && projectionStatus.isReady() ) {
+            accounts = joined(repository.findAllWithCustomers());
+        } else {
+            accounts = repository.findAll();
+            if( withCustomers ) customerEnricher.enrich(accounts);
+        }
         return mapper.fromListBankAccounts(accounts);
     }
 
     @Override
     public List<BankAccountDTO> getAccountsByType(String type) {
-        List<BankAccount> accounts = repository.findByType(AccountType.valueOf(type)).stream().peek(ba -> {
-            Customer customer = customerServiceClient.getCustomerById(ba.getCustomerId());
-            ba.setCustomer(customer);
-        }).collect(Collectors.toList());
+        List<BankAccount> accounts;
+        if( projectionStatus.isReady() ) {
+            accounts = joined(repository.findByTypeWithCustomers(AccountType.valueOf(type)));
+        } else {
+            accounts = repository.findByType(AccountType.valueOf(type));
+            customerEnricher.enrich(accounts);
+        }
         return mapper.fromListBankAccounts(accounts);
     }
 
@@ -63,26 +100,198 @@ public class AccountServiceCore implements AccountService {
 
     @Override
     public BankAccountDTO getAccountById(String id) {
-        BankAccount account = repository.findById(id).get();
-        Customer customer = customerServiceClient.getCustomerById(account.getCustomerId());
-        account.setCustomer(customer);
+        if( projectionStatus.isReady() ) {
+            return mapper.fromBankAccount(joined(repository.findByIdWithCustomer(id)).stream().findFirst()
+                    .orElseThrow(() -> new AccountNotFoundException(id)));
+        }
+        BankAccount account = repository.findById(id).orElseThrow(() -> new AccountNotFoundException(id));
+        account.setCustomer(customerEnricher.customer(account.getCustomerId()));
         return mapper.fromBankAccount(account);
     }
 
     @Override
+    public AccountPageDTO getAccountsPage(String cursor, int size) {
+        Pageable page = PageRequest.ofSize(pageSize(size));
+        List<BankAccount> accounts;
+        if( projectionStatus.isReady() ) {
+            AccountCursor after = cursor == null ? null : AccountCursor.decode(cursor);
+            accounts = joined(after == null
+                    ? repository.findPageWithCustomers(page)
+                    : repository.findPageAfterWithCustomers(after.createdAt(), after.accountId(), page));
+            return toPage(accounts, page.getPageSize());
+        }
+        if( cursor == null ) {
+            accounts = repository.findAllByOrderByCreatedAtAscAccountIdAsc(page);
+        } else {
+            AccountCursor after = AccountCursor.decode(cursor);
+            accounts = repository.findPageAfter(after.createdAt(), after.accountId(), page);
+        }
+        customerEnricher.enrich(accounts);
+        return toPage(accounts, page.getPageSize());
+    }
+
+    @Override
+    public AccountPageDTO getAccountsPageByType(String type, String cursor, int size) {
+        Pageable page = PageRequest.ofSize(pageSize(size));
+        AccountType accountType = AccountType.valueOf(type);
+        List<BankAccount> accounts;
+        if( projectionStatus.isReady() ) {
+            AccountCursor after = cursor == null ? null : AccountCursor.decode(cursor);
+            accounts = joined(after == null
+                    ? repository.findPageByTypeWithCustomers(accountType, page)
+                    : repository.findPageByTypeAfterWithCustomers(accountType, after.createdAt(), after.accountId(), page));
+            return toPage(accounts, page.getPageSize());
+        }
+        if( cursor == null ) {
+            accounts = repository.findByTypeOrderByCreatedAtAscAccountIdAsc(accountType, page);
+        } else {
+            AccountCursor after = AccountCursor.decode(cursor);
+            accounts = repository.findPageByTypeAfter(accountType, after.createdAt(), after.accountId(), page);
+        }
+        customerEnricher.enrich(accounts);
+        return toPage(accounts, page.getPageSize());
+    }
+
+    @Override
+    public AccountPageDTO getAccountsPageByCustomerId(Long id, String cursor, int size) {
+        Pageable page = PageRequest.ofSize(pageSize(size));
+        List<BankAccount> accounts;
+        if( cursor == null ) {
+            accounts = repository.findByCustomerIdOrderByCreatedAtAscAccountIdAsc(id, page);
+        } else {
+            AccountCursor after = AccountCursor.decode(cursor);
+            accounts = repository.findPageByCustomerIdAfter(id, after.createdAt(), after.accountId(), page);
+        }
+        return toPage(accounts, page.getPageSize());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAccounts(Consumer<BankAccountDTO> sink) {
+        if( projectionStatus.isReady() ) {
+            try (Stream<Object[]> rows = repository.streamAllWithCustomers()) {
+                writeInChunks(rows.map(this::withProjectedCustomer), true, sink);
+            }
+            return;
+        }
+        try (Stream<BankAccount> accounts = repository.streamAll()) {
+            writeInChunks(accounts, true, sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAccountsByType(String type, Consumer<BankAccountDTO> sink) {
+        if( projectionStatus.isReady() ) {
+            try (Stream<Object[]> rows = repository.streamByTypeWithCustomers(AccountType.valueOf(type))) {
+                writeInChunks(rows.map(this::withProjectedCustomer), true, sink);
+            }
+            return;
+        }
+        try (Stream<BankAccount> accounts = repository.streamByType(AccountType.valueOf(type))) {
+            writeInChunks(accounts, true, sink);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAccountsByCustomerId(Long id, Consumer<BankAccountDTO> sink) {
+        try (Stream<BankAccount> accounts = repository.streamByCustomerId(id)) {
+            writeInChunks(accounts, false, sink);
+        }
+    }
+
+    /**
+     * Updates the account attributes. The balance only moves through the ledger (see TransferService),
+     * so a balance sent here is ignored.
+     */
+    @Override
+    @Transactional
     public BankAccountDTO updateAccount(String id, BankAccountDTO dto) {
-        Customer customer = customerServiceClient.getCustomerById(dto.getCustomerId());
+        Customer customer = customerCache.get(dto.getCustomerId());
         if( customer == null ) throw new RuntimeException("Customer Not Found");
+        BankAccount accountToUpdate = repository.findById(id).orElseThrow(() -> new AccountNotFoundException(id));
         if( dto.getType() == AccountType.SAVING_ACCOUNT ) {
-            if( dto.getBalance() < MIN_BALANCE ) throw new RuntimeException("The balance for a SAVING_ACCOUNT must be at least 100");
+            if( accountToUpdate.getBalance().compareTo(MIN_BALANCE) < 0 ) throw new RuntimeException("The balance for a SAVING_ACCOUNT must be at least 100");
         }
-        BankAccount accountToUpdate = mapper.fromBankAccountDTO(dto);
+        accountToUpdate.setCurrency(dto.getCurrency());
+        accountToUpdate.setType(dto.getType());
+        accountToUpdate.setCustomerId(dto.getCustomerId());
         BankAccount updated = repository.save(accountToUpdate);
+        outbox.append(AGGREGATE, id, ChangeType.UPDATED, mapper.fromBankAccount(updated));
         return mapper.fromBankAccount(updated);
     }
 
     @Override
+    @Transactional
     public void deleteAccount(String id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(account -> {
+            repository.delete(account);
+            outbox.append(AGGREGATE, id, ChangeType.DELETED, Map.of("accountId", id));
+        });
+    }
+
+    private BankAccount newAccount(BankAccountDTO dto) {
+        BigDecimal balance = dto.getBalance() == null ? BigDecimal.ZERO : dto.getBalance();
+        if( balance.signum() < 0 || balance.stripTrailingZeros().scale() > 2 ) throw new InvalidOperationException("The balance must be a positive amount with at most 2 decimals");
+        if( dto.getType() == AccountType.SAVING_ACCOUNT ) {
+            if( balance.compareTo(MIN_BALANCE) < 0 ) throw new RuntimeException("The balance for a SAVING_ACCOUNT must be at least 100");
+        }
+        BankAccount account = mapper.fromBankAccountDTO(dto);
+        account.setBalance(balance.setScale(2));
+        account.setCreatedAt(LocalDate.now());
+        return account;
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private AccountPageDTO toPage(List<BankAccount> accounts, int size) {
+        String nextCursor = accounts.size() < size ? null : AccountCursor.after(accounts.get(accounts.size() - 1)).encode();
+        return AccountPageDTO.builder()
+                .content(mapper.fromListBankAccounts(accounts))
+                .size(accounts.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Accounts from a join with the customer projection; customers that are not projected yet are fetched
+     * through the enricher.
+     */
+    private List<BankAccount> joined(List<Object[]> rows) {
+        List<BankAccount> accounts = rows.stream().map(this::withProjectedCustomer).toList();
+        enrichUnprojected(accounts);
+        return accounts;
+    }
+
+    private BankAccount withProjectedCustomer(Object[] row) {
+        BankAccount account = (BankAccount) row[0];
+        account.setCustomer(mapper.fromCustomerProjection((CustomerProjection) row[1]));
+        return account;
+    }
+
+    private void enrichUnprojected(List<BankAccount> accounts) {
+        List<BankAccount> unprojected = accounts.stream().filter(a -> a.getCustomer() == null).toList();
+        if( !unprojected.isEmpty() ) customerEnricher.enrich(unprojected);
+    }
+
+    /**
+     * Maps and hands out streamed accounts chunk by chunk, clearing the persistence context
+     * after each chunk so memory use does not grow with the number of rows.
+     */
+    private void writeInChunks(Stream<BankAccount> accounts, boolean enrich, Consumer<BankAccountDTO> sink) {
+        List<BankAccount> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        Iterator<BankAccount> iterator = accounts.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == STREAM_CHUNK_SIZE || !iterator.hasNext()) {
+                if (enrich) enrichUnprojected(chunk);
+                chunk.forEach(ba -> sink.accept(mapper.fromBankAccount(ba)));
+                chunk.clear();
+                entityManager.clear();
+            }
+        }
     }
 }
@@ -0,0 +1,59 @@
+package kad.dev.accountservice.service;
+
+import jakarta.annotation.PreDestroy;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.LedgerEntryRepository;
+import kad.dev.outbox.ChangeType;
+import kad.dev.outbox.OutboxWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Group commit for new accounts: inserts from concurrent requests are written together with their opening
+ * ledger entries and CREATED outbox events in one transaction and one JDBC batch per flush.
+ */
+@Component
+public class AccountWriteBatcher {
+    private final GroupCommitWriter<BankAccount> writer;
+
+    public AccountWriteBatcher(BankAccountRepository accountRepository, LedgerEntryRepository ledgerRepository,
+                               OutboxWriter outbox, BankAccountMapper mapper, PlatformTransactionManager transactionManager,
+                               @Value("${accounts.write-batch.queue-capacity:10000}") int queueCapacity,
+                               @Value("${accounts.write-batch.max-size:100}") int maxBatchSize,
+                               @Value("${accounts.write-batch.flush-window:2ms}") Duration flushWindow) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        this.writer = new GroupCommitWriter<>("account-write-batcher", accounts -> transactionTemplate.executeWithoutResult(status -> {
+            // a batch may be retried after a rollback left versions assigned; these rows are always new
+            accounts.forEach(a -> a.setVersion(null));
+            accountRepository.saveAll(accounts);
+            List<LedgerEntry> openings = new ArrayList<>(accounts.size() * 2);
+            accounts.stream().filter(a -> a.getBalance().signum() > 0).forEach(a -> openings.addAll(LedgerPostings.opening(a)));
+            ledgerRepository.saveAll(openings);
+            outbox.appendAll(AccountServiceCore.AGGREGATE, ChangeType.CREATED, accounts, BankAccount::getAccountId, mapper::fromBankAccount);
+        }), queueCapacity, maxBatchSize, flushWindow, Duration.ofSeconds(5));
+    }
+
+    public BankAccount insert(BankAccount account) {
+        return writer.write(account);
+    }
+
+    public List<BankAccount> insertAll(List<BankAccount> accounts) {
+        List<CompletableFuture<BankAccount>> futures = accounts.stream().map(writer::submit).toList();
+        return futures.stream().map(GroupCommitWriter::await).toList();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        writer.close();
+    }
+}
@@ -0,0 +1,125 @@
+package kad.dev.accountservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.api.CustomerCacheProperties;
+import kad.dev.accountservice.api.CustomerServiceClient;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.model.Customer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Joins accounts with their customers within one deadline per request. Customers missing from the
+ * {@link CustomerCache} are loaded in batch-sized chunks, fanned out on a bounded pool; chunks that have not
+ * arrived when the deadline passes are replaced by "Not Available" placeholders. Late chunks still complete
+ * in the background and warm the cache for the next request.
+ */
+@Component
+public class CustomerEnricher {
+    private final CustomerCache cache;
+    private final int batchSize;
+    private final Duration deadline;
+    private final ThreadPoolExecutor executor;
+    private final Timer latency;
+    private final Counter timeouts;
+    private final DistributionSummary parallelism;
+
+    public CustomerEnricher(CustomerCache cache, CustomerCacheProperties cacheProperties, MeterRegistry registry,
+                            @Value("${customer.enrichment.deadline:1s}") Duration deadline,
+                            @Value("${customer.enrichment.parallelism:8}") int maxParallelism,
+                            @Value("${customer.enrichment.queue-capacity:256}") int queueCapacity) {
+        this.cache = cache;
+        this.batchSize = cacheProperties.getBatchSize();
+        this.deadline = deadline;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxParallelism, maxParallelism, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "customer-enricher-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.latency = Timer.builder("customer.enrichment.latency")
+                .description("Time spent joining a request's accounts with their customers")
+                .register(registry);
+        this.timeouts = Counter.builder("customer.enrichment.timeouts")
+                .description("Customers replaced by a placeholder because the enrichment deadline passed")
+                .register(registry);
+        this.parallelism = DistributionSummary.builder("customer.enrichment.parallelism")
+                .description("Customer chunks fetched concurrently per request")
+                .register(registry);
+        Gauge.builder("customer.enrichment.active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    public void enrich(List<BankAccount> accounts) {
+        Set<Long> ids = accounts.stream().map(BankAccount::getCustomerId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Customer> customers = customers(ids);
+        accounts.forEach(ba -> ba.setCustomer(customers.get(ba.getCustomerId())));
+    }
+
+    public Customer customer(Long id) {
+        if (id == null) return null;
+        return customers(List.of(id)).get(id);
+    }
+
+    /**
+     * Returns a customer for every id, real or placeholder, once all chunks arrived or the deadline passed.
+     */
+    public Map<Long, Customer> customers(Collection<Long> ids) {
+        long start = System.nanoTime();
+        Map<Long, Customer> customers = new HashMap<>(cache.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !customers.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            List<List<Long>> chunks = new ArrayList<>();
+            for (int from = 0; from < missing.size(); from += batchSize) {
+                chunks.add(missing.subList(from, Math.min(from + batchSize, missing.size())));
+            }
+            parallelism.record(chunks.size());
+            List<CompletableFuture<Map<Long, Customer>>> pending = new ArrayList<>(chunks.size());
+            for (List<Long> chunk : chunks) {
+                try {
+                    pending.add(CompletableFuture.supplyAsync(() -> cache.getAll(chunk), executor));
+                } catch (RejectedExecutionException e) {
+                    pending.add(CompletableFuture.failedFuture(e));
+                }
+            }
+            long deadlineNanos = start + deadline.toNanos();
+            for (int i = 0; i < chunks.size(); i++) {
+                try {
+                    customers.putAll(pending.get(i).get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException e) {
+                    timeouts.increment(chunks.get(i).size());
+                    placeholders(chunks.get(i), customers);
+                } catch (ExecutionException e) {
+                    placeholders(chunks.get(i), customers);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    placeholders(chunks.get(i), customers);
+                }
+            }
+        }
+        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return customers;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static void placeholders(List<Long> ids, Map<Long, Customer> customers) {
+        ids.forEach(id -> customers.put(id, CustomerServiceClient.notAvailable(id)));
+    }
+}
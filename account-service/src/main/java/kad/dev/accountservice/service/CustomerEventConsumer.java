@@ -0,0 +1,127 @@
+package kad.dev.accountservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.dto.CustomerChangeEventDTO;
+import kad.dev.accountservice.entity.CustomerProjection;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.CustomerProjectionRepository;
+import kad.dev.outbox.ChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies customer-service change events to the customer projection and the customer near-cache.
+ * Delivery is at-least-once and batches from several customer-service instances may interleave, so an event
+ * is applied only when its id is newer than the version of the projection row, which is locked while the
+ * batch is applied. The cache is updated once the projection is committed.
+ */
+@Service
+@Slf4j
+public class CustomerEventConsumer {
+    static final String AGGREGATE = "customer";
+
+    private final CustomerProjectionRepository projections;
+    private final BankAccountRepository accounts;
+    private final CustomerCache customerCache;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter applied;
+    private final Counter stale;
+    private final Counter orphanedAccounts;
+    private final Timer lag;
+
+    public CustomerEventConsumer(CustomerProjectionRepository projections, BankAccountRepository accounts,
+                                 CustomerCache customerCache, PlatformTransactionManager transactionManager,
+                                 MeterRegistry registry) {
+        this.projections = projections;
+        this.accounts = accounts;
+        this.customerCache = customerCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applied = Counter.builder("customer.events.applied")
+                .description("Customer change events applied to the projection")
+                .register(registry);
+        this.stale = Counter.builder("customer.events.stale")
+                .description("Redelivered or out-of-order customer change events that were dropped")
+                .register(registry);
+        this.orphanedAccounts = Counter.builder("customer.events.orphaned.accounts")
+                .description("Accounts still open when their customer was deleted")
+                .register(registry);
+        this.lag = Timer.builder("customer.events.lag")
+                .description("Time from a customer change being committed to it being applied here")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+    }
+
+    public void apply(List<CustomerChangeEventDTO> events) {
+        List<CustomerChangeEventDTO> customerEvents = events.stream()
+                .filter(event -> AGGREGATE.equals(event.getAggregateType()))
+                .sorted(Comparator.comparing(CustomerChangeEventDTO::getId))
+                .toList();
+        if( customerEvents.isEmpty() ) return;
+        List<CustomerChangeEventDTO> fresh = transactionTemplate.execute(status -> project(customerEvents));
+        Instant now = Instant.now();
+        for (CustomerChangeEventDTO event : fresh) {
+            Long customerId = Long.valueOf(event.getAggregateId());
+            if( event.getType() == ChangeType.DELETED ) {
+                customerCache.invalidate(customerId);
+                long open = accounts.countByCustomerId(customerId);
+                if( open > 0 ) {
+                    orphanedAccounts.increment(open);
+                    log.warn("Customer {} was deleted with {} account(s) still open", customerId, open);
+                }
+            } else {
+                customerCache.putAll(List.of(customer(customerId, event.getPayload())));
+            }
+            if( event.getOccurredAt() != null ) lag.record(Duration.between(event.getOccurredAt(), now));
+        }
+        applied.increment(fresh.size());
+        stale.increment(customerEvents.size() - fresh.size());
+    }
+
+    private List<CustomerChangeEventDTO> project(List<CustomerChangeEventDTO> events) {
+        Set<Long> ids = events.stream().map(event -> Long.valueOf(event.getAggregateId())).collect(Collectors.toSet());
+        Map<Long, CustomerProjection> rows = projections.lockAllById(ids).stream()
+                .collect(Collectors.toMap(CustomerProjection::getId, Function.identity()));
+        List<CustomerChangeEventDTO> fresh = new ArrayList<>(events.size());
+        Instant now = Instant.now();
+        for (CustomerChangeEventDTO event : events) {
+            Long customerId = Long.valueOf(event.getAggregateId());
+            CustomerProjection row = rows.computeIfAbsent(customerId, id -> CustomerProjection.builder().id(id).build());
+            if( row.getVersion() != null && row.getVersion() >= event.getId() ) continue;
+            if( event.getType() == ChangeType.DELETED ) {
+                row.setDeleted(true);
+            } else {
+                Customer customer = event.getPayload();
+                row.setFirstName(customer.getFirstName());
+                row.setLastName(customer.getLastName());
+                row.setEmail(customer.getEmail());
+                row.setDeleted(false);
+            }
+            row.setVersion(event.getId());
+            row.setUpdatedAt(now);
+            fresh.add(event);
+        }
+        projections.saveAll(rows.values());
+        return fresh;
+    }
+
+    private static Customer customer(Long id, Customer payload) {
+        return Customer.builder()
+                .id(id)
+                .firstName(payload.getFirstName())
+                .lastName(payload.getLastName())
+                .email(payload.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package kad.dev.accountservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Whether account reads can join the local customer projection, and how far behind customer-service it may be.
+ * The projection is ready once a full sync has completed, here or in an earlier run against the same database.
+ */
+@Component
+public class CustomerProjectionStatus {
+    private volatile Instant syncedAt;
+
+    public CustomerProjectionStatus(MeterRegistry registry) {
+        Gauge.builder("customer.projection.staleness", this, CustomerProjectionStatus::stalenessSeconds)
+                .description("Time since the customer projection last caught up with customer-service")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public boolean isReady() {
+        return syncedAt != null;
+    }
+
+    public Instant getSyncedAt() {
+        return syncedAt;
+    }
+
+    public void synced(Instant at) {
+        this.syncedAt = at;
+    }
+
+    private double stalenessSeconds() {
+        Instant at = syncedAt;
+        return at == null ? Double.NaN : Duration.between(at, Instant.now()).toMillis() / 1000.0;
+    }
+}
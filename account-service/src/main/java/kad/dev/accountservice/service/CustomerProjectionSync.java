@@ -0,0 +1,180 @@
+package kad.dev.accountservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.api.CustomerChangesClient;
+import kad.dev.accountservice.dto.CustomerChangeFeedDTO;
+import kad.dev.accountservice.entity.CustomerProjection;
+import kad.dev.accountservice.entity.CustomerSyncState;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.model.CustomerPage;
+import kad.dev.accountservice.repository.CustomerProjectionRepository;
+import kad.dev.accountservice.repository.CustomerSyncStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the customer projection complete. Pushed events ({@link CustomerEventConsumer}) keep it current; every
+ * customer.projection.poll-interval this pulls the customer-service change feed from the last checkpoint, to pick
+ * up events whose delivery failed. Without a checkpoint, or when the checkpoint is older than the change feed
+ * reaches back, the projection is rebuilt from a paged snapshot taken after reading the feed head, then caught up
+ * from that head. Everything runs on one thread, so a sync and a forced resync never overlap.
+ */
+@Component
+@Slf4j
+public class CustomerProjectionSync {
+    private final CustomerChangesClient client;
+    private final CustomerProjectionRepository projections;
+    private final CustomerSyncStateRepository syncState;
+    private final CustomerEventConsumer consumer;
+    private final CustomerCache customerCache;
+    private final CustomerProjectionStatus status;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "customer-projection-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter resyncs;
+
+    public CustomerProjectionSync(CustomerChangesClient client, CustomerProjectionRepository projections,
+                                  CustomerSyncStateRepository syncState, CustomerEventConsumer consumer,
+                                  CustomerCache customerCache, CustomerProjectionStatus status,
+                                  PlatformTransactionManager transactionManager, MeterRegistry registry,
+                                  @Value("${customer.projection.page-size:500}") int pageSize,
+                                  @Value("${customer.projection.poll-interval:30s}") Duration pollInterval) {
+        this.client = client;
+        this.projections = projections;
+        this.syncState = syncState;
+        this.consumer = consumer;
+        this.customerCache = customerCache;
+        this.status = status;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pageSize = pageSize;
+        this.pollInterval = pollInterval;
+        this.resyncs = Counter.builder("customer.projection.resyncs")
+                .description("Full rebuilds of the customer projection from a customer-service snapshot")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        syncState.findById(CustomerSyncState.ID).ifPresent(state -> status.synced(state.getSyncedAt()));
+        scheduler.scheduleWithFixedDelay(() -> run(this::sync), 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Rebuilds the projection from a snapshot, after whatever sync is running now.
+     */
+    public void requestResync() {
+        scheduler.execute(() -> run(this::resync));
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            log.warn("Customer projection sync failed, retrying in {} s: {}", pollInterval.toSeconds(), e.getMessage());
+        }
+    }
+
+    void sync() {
+        Optional<CustomerSyncState> state = syncState.findById(CustomerSyncState.ID);
+        if( state.isEmpty() || !catchUp(state.get().getLastEventId()) ) resync();
+    }
+
+    /**
+     * Applies the change feed from the given position; false when the feed no longer reaches back that far.
+     */
+    private boolean catchUp(long since) {
+        while (true) {
+            CustomerChangeFeedDTO page = client.getChanges(since, pageSize);
+            if( page.isResyncRequired() ) {
+                log.info("Customer change feed no longer holds event {}, resyncing", since);
+                return false;
+            }
+            consumer.apply(page.getEvents());
+            since = page.getNextSince();
+            checkpoint(since, false);
+            if( page.getEvents().size() < pageSize ) return true;
+        }
+    }
+
+    void resync() {
+        Instant start = Instant.now();
+        long head = client.getHead();
+        int customers = 0;
+        Long after = null;
+        do {
+            CustomerPage page = client.getCustomersPage(after, pageSize);
+            transactionTemplate.executeWithoutResult(tx -> upsert(page.getContent(), head));
+            customers += page.getContent().size();
+            after = page.getNextAfter();
+        } while (after != null);
+        Integer removed = transactionTemplate.execute(tx -> projections.markDeletedNotSyncedSince(start, head, Instant.now()));
+        checkpoint(head, true);
+        customerCache.invalidateAll();
+        resyncs.increment();
+        log.info("Customer projection rebuilt at event {}: {} customers, {} removed", head, customers, removed);
+        catchUp(head);
+    }
+
+    /*
+     * Snapshot rows are at least as recent as head; a row a newer pushed event already updated is left alone
+     */
+    private void upsert(List<Customer> customers, long head) {
+        if( customers.isEmpty() ) return;
+        Map<Long, CustomerProjection> rows = projections.lockAllById(customers.stream().map(Customer::getId).toList()).stream()
+                .collect(Collectors.toMap(CustomerProjection::getId, Function.identity()));
+        Instant now = Instant.now();
+        for (Customer customer : customers) {
+            CustomerProjection row = rows.computeIfAbsent(customer.getId(), id -> CustomerProjection.builder().id(id).build());
+            if( row.getVersion() != null && row.getVersion() > head ) continue;
+            row.setFirstName(customer.getFirstName());
+            row.setLastName(customer.getLastName());
+            row.setEmail(customer.getEmail());
+            row.setDeleted(false);
+            row.setVersion(head);
+            row.setUpdatedAt(now);
+        }
+        projections.saveAll(rows.values());
+    }
+
+    private void checkpoint(long lastEventId, boolean fullSync) {
+        Instant now = Instant.now();
+        transactionTemplate.executeWithoutResult(tx -> {
+            CustomerSyncState state = syncState.findById(CustomerSyncState.ID)
+                    .orElseGet(() -> CustomerSyncState.builder().id(CustomerSyncState.ID).build());
+            state.setLastEventId(lastEventId);
+            state.setSyncedAt(now);
+            if( fullSync ) state.setFullSyncAt(now);
+            syncState.save(state);
+        });
+        status.synced(now);
+    }
+}
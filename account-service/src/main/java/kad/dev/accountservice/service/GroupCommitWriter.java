@@ -0,0 +1,136 @@
+package kad.dev.accountservice.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces writes submitted by concurrent callers into batches. A single flusher thread takes everything
+ * queued within the flush window (up to the batch size), hands it to the batch writer in one call, and
+ * completes each caller's future once that call returns, i.e. once the batch is committed.
+ * If a batch fails, its items are retried one by one so a single bad row only fails its own caller.
+ * Closing (or interrupting the flusher) writes what is already queued; later submissions are rejected.
+ */
+public class GroupCommitWriter<T> implements AutoCloseable {
+    private final BlockingQueue<Pending<T>> queue;
+    private final Consumer<List<T>> batchWriter;
+    private final int maxBatchSize;
+    private final long flushWindowNanos;
+    private final Duration offerTimeout;
+    private final Thread flusher;
+    private volatile boolean running = true;
+    /* set by the flusher before its last drain of the queue */
+    private volatile boolean stopped;
+
+    public GroupCommitWriter(String name, Consumer<List<T>> batchWriter, int queueCapacity, int maxBatchSize,
+                             Duration flushWindow, Duration offerTimeout) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchWriter = batchWriter;
+        this.maxBatchSize = maxBatchSize;
+        this.flushWindowNanos = flushWindow.toNanos();
+        this.offerTimeout = offerTimeout;
+        this.flusher = new Thread(this::run, name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    public CompletableFuture<T> submit(T item) {
+        Pending<T> pending = new Pending<>(item, new CompletableFuture<>());
+        try {
+            if (!running) {
+                pending.future().completeExceptionally(new RejectedExecutionException("Writer is closed"));
+            } else if (!queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                pending.future().completeExceptionally(new RejectedExecutionException("Write queue is full"));
+            } else if (stopped && queue.remove(pending)) {
+                // queued after the flusher's last drain: nobody would ever write it
+                pending.future().completeExceptionally(new RejectedExecutionException("Writer is closed"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.future().completeExceptionally(e);
+        }
+        return pending.future();
+    }
+
+    /**
+     * Submits an item and waits for its batch to be committed.
+     */
+    public T write(T item) {
+        return await(submit(item));
+    }
+
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void run() {
+        List<Pending<T>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending<T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + flushWindowNanos;
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                while (batch.size() < maxBatchSize) {
+                    Pending<T> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+        stopped = true;
+        for (Pending<T> late; (late = queue.poll()) != null; ) {
+            late.future().completeExceptionally(new RejectedExecutionException("Writer is closed"));
+        }
+    }
+
+    private void flush(List<Pending<T>> batch) {
+        List<T> items = new ArrayList<>(batch.size());
+        batch.forEach(p -> items.add(p.item()));
+        try {
+            batchWriter.accept(items);
+            batch.forEach(p -> p.future().complete(p.item()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).future().completeExceptionally(e);
+                return;
+            }
+            for (Pending<T> pending : batch) {
+                try {
+                    batchWriter.accept(List.of(pending.item()));
+                    pending.future().complete(pending.item());
+                } catch (RuntimeException single) {
+                    pending.future().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    private record Pending<T>(T item, CompletableFuture<T> future) {
+    }
+}
@@ -0,0 +1,54 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.entity.id.TimeOrderedIds;
+import kad.dev.accountservice.enums.EntryDirection;
+import kad.dev.accountservice.enums.MovementType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Builds the balanced DEBIT/CREDIT entry pairs written for each movement.
+ */
+public final class LedgerPostings {
+
+    private LedgerPostings() {
+    }
+
+    public static List<LedgerEntry> opening(BankAccount account) {
+        return post(LedgerEntry.EXTERNAL_ACCOUNT, null, account.getAccountId(), account.getBalance(),
+                account.getBalance(), MovementType.OPENING, "Opening balance", Instant.now());
+    }
+
+    public static List<LedgerEntry> post(String debitAccountId, BigDecimal debitBalanceAfter,
+                                  String creditAccountId, BigDecimal creditBalanceAfter,
+                                  BigDecimal amount, MovementType type, String description, Instant at) {
+        String transferId = TimeOrderedIds.shared().next();
+        LedgerEntry debit = LedgerEntry.builder()
+                .transferId(transferId)
+                .accountId(debitAccountId)
+                .counterpartyAccountId(creditAccountId)
+                .direction(EntryDirection.DEBIT)
+                .type(type)
+                .amount(amount)
+                .balanceAfter(debitBalanceAfter)
+                .description(description)
+                .createdAt(at)
+                .build();
+        LedgerEntry credit = LedgerEntry.builder()
+                .transferId(transferId)
+                .accountId(creditAccountId)
+                .counterpartyAccountId(debitAccountId)
+                .direction(EntryDirection.CREDIT)
+                .type(type)
+                .amount(amount)
+                .balanceAfter(creditBalanceAfter)
+                .description(description)
+                .createdAt(at)
+                .build();
+        return List.of(debit, credit);
+    }
+}
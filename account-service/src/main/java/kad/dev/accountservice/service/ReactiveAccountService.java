@@ -0,0 +1,12 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.dto.BankAccountDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveAccountService {
+    Flux<BankAccountDTO> getAllAccounts();
+    Flux<BankAccountDTO> getAccountsByType(String type);
+    Flux<BankAccountDTO> getAccountsByCustomerId(Long id);
+    Mono<BankAccountDTO> getAccountById(String id);
+}
@@ -0,0 +1,113 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.api.CustomerCacheProperties;
+import kad.dev.accountservice.api.CustomerServiceClient;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.exceptions.AccountNotFoundException;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.reactive.BankAccountRow;
+import kad.dev.accountservice.reactive.ReactiveBankAccountRepository;
+import kad.dev.accountservice.reactive.ReactiveCustomerClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive read path: rows come from R2DBC and customers from the shared {@link CustomerCache}, with misses
+ * fetched through the batch endpoint. Chunks of accounts are enriched with at most {@code concurrency}
+ * batch calls in flight, and results keep the repository order.
+ */
+@Service
+public class ReactiveAccountServiceCore implements ReactiveAccountService {
+    private final ReactiveBankAccountRepository repository;
+    private final ReactiveCustomerClient customerClient;
+    private final CustomerCache customerCache;
+    private final BankAccountMapper mapper;
+    private final int batchSize;
+    private final int concurrency;
+
+    public ReactiveAccountServiceCore(ReactiveBankAccountRepository repository, ReactiveCustomerClient customerClient,
+                                      CustomerCache customerCache, BankAccountMapper mapper,
+                                      CustomerCacheProperties cacheProperties,
+                                      @Value("${customer.reactive.concurrency:8}") int concurrency) {
+        this.repository = repository;
+        this.customerClient = customerClient;
+        this.customerCache = customerCache;
+        this.mapper = mapper;
+        this.batchSize = cacheProperties.getBatchSize();
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public Flux<BankAccountDTO> getAllAccounts() {
+        return enriched(repository.findAll());
+    }
+
+    @Override
+    public Flux<BankAccountDTO> getAccountsByType(String type) {
+        return Mono.fromCallable(() -> AccountType.valueOf(type))
+                .flatMapMany(accountType -> enriched(repository.findByType(accountType)));
+    }
+
+    @Override
+    public Flux<BankAccountDTO> getAccountsByCustomerId(Long id) {
+        return repository.findByCustomerId(id)
+                .map(row -> mapper.fromBankAccount(mapper.fromBankAccountRow(row)));
+    }
+
+    @Override
+    public Mono<BankAccountDTO> getAccountById(String id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(id)))
+                .map(mapper::fromBankAccountRow)
+                .flatMap(account -> customer(account.getCustomerId()).map(customer -> {
+                    account.setCustomer(customer);
+                    return account;
+                }).defaultIfEmpty(account))
+                .map(mapper::fromBankAccount);
+    }
+
+    private Flux<BankAccountDTO> enriched(Flux<BankAccountRow> rows) {
+        return rows.map(mapper::fromBankAccountRow)
+                .buffer(batchSize)
+                .flatMapSequential(this::withCustomers, concurrency)
+                .map(mapper::fromBankAccount);
+    }
+
+    private Flux<BankAccount> withCustomers(List<BankAccount> accounts) {
+        Set<Long> ids = accounts.stream().map(BankAccount::getCustomerId).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, Customer> cached = customerCache.getAllPresent(ids);
+        List<Long> missing = ids.stream().filter(id -> !cached.containsKey(id)).toList();
+        Mono<Map<Long, Customer>> customers = missing.isEmpty()
+                ? Mono.just(cached)
+                : customerClient.getCustomersByIds(missing).collectList().map(fetched -> {
+                    customerCache.putAll(fetched);
+                    Map<Long, Customer> all = new HashMap<>(cached);
+                    fetched.forEach(c -> all.put(c.getId(), c));
+                    return all;
+                });
+        return customers.flatMapIterable(found -> {
+            accounts.forEach(a -> a.setCustomer(a.getCustomerId() == null ? null
+                    : found.getOrDefault(a.getCustomerId(), CustomerServiceClient.notAvailable(a.getCustomerId()))));
+            return accounts;
+        });
+    }
+
+    /**
+     * The account's customer; empty for an account without one.
+     */
+    private Mono<Customer> customer(Long id) {
+        if (id == null) return Mono.empty();
+        Customer cached = customerCache.getAllPresent(List.of(id)).get(id);
+        if (cached != null) return Mono.just(cached);
+        return customerClient.getCustomerById(id).doOnNext(c -> customerCache.putAll(List.of(c)));
+    }
+}
@@ -0,0 +1,37 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque statement continuation token: the (createdAt, id) of the last ledger entry a client received.
+ */
+public record StatementCursor(Instant createdAt, long entryId) {
+
+    public static StatementCursor after(LedgerEntry entry) {
+        return new StatementCursor(entry.getCreatedAt(), entry.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + "." + createdAt.getNano() + "|" + entryId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static StatementCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int dot = raw.indexOf('.');
+            int separator = raw.indexOf('|');
+            if (dot < 0 || separator < dot) throw new InvalidCursorException(token);
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(raw.substring(0, dot)), Long.parseLong(raw.substring(dot + 1, separator)));
+            return new StatementCursor(createdAt, Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package kad.dev.accountservice.service;
+
+import java.time.Instant;
+
+/**
+ * A validated statement request: movements of the account in [from, to), after {@code after} when resuming.
+ */
+public record StatementRange(String accountId, Instant from, Instant to, StatementCursor after) {
+}
@@ -0,0 +1,11 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.dto.StatementLineDTO;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+public interface StatementService {
+    StatementRange statementRange(String accountId, LocalDate from, LocalDate to, String continuation);
+    void streamStatement(StatementRange range, Consumer<StatementLineDTO> sink);
+}
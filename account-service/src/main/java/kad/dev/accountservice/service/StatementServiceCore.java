@@ -0,0 +1,71 @@
+package kad.dev.accountservice.service;
+
+import jakarta.persistence.EntityManager;
+import kad.dev.accountservice.dto.StatementLineDTO;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.exceptions.AccountNotFoundException;
+import kad.dev.accountservice.exceptions.InvalidOperationException;
+import kad.dev.accountservice.mapper.LedgerEntryMapper;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.LedgerEntryRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Account statements read straight off the ledger: each entry already carries the balance after it, so the
+ * running balance needs no aggregation and a statement is one forward cursor over the account's entries.
+ * Periods are whole UTC days.
+ */
+@Service
+@AllArgsConstructor
+public class StatementServiceCore implements StatementService {
+    private final BankAccountRepository accountRepository;
+    private final LedgerEntryRepository ledgerRepository;
+    private final LedgerEntryMapper mapper;
+    private final EntityManager entityManager;
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Checks the request up front, so that errors are reported before the response starts streaming.
+     */
+    @Override
+    public StatementRange statementRange(String accountId, LocalDate from, LocalDate to, String continuation) {
+        if( !accountRepository.existsById(accountId) ) throw new AccountNotFoundException(accountId);
+        Instant start = from == null ? Instant.EPOCH : from.atStartOfDay(ZoneOffset.UTC).toInstant();
+        Instant end = to == null ? Instant.now() : to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        if( !start.isBefore(end) ) throw new InvalidOperationException("The statement period must end after it starts");
+        StatementCursor after = continuation == null ? null : StatementCursor.decode(continuation);
+        return new StatementRange(accountId, start, end, after);
+    }
+
+    /**
+     * Hands out the statement line by line, clearing the persistence context every chunk
+     * so memory use does not grow with the length of the period.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamStatement(StatementRange range, Consumer<StatementLineDTO> sink) {
+        StatementCursor after = range.after();
+        try (Stream<LedgerEntry> entries = after == null
+                ? ledgerRepository.streamStatement(range.accountId(), range.from(), range.to())
+                : ledgerRepository.streamStatementAfter(range.accountId(), range.from(), range.to(), after.createdAt(), after.entryId())) {
+            Iterator<LedgerEntry> iterator = entries.iterator();
+            int inChunk = 0;
+            while (iterator.hasNext()) {
+                sink.accept(mapper.toStatementLine(iterator.next()));
+                if( ++inChunk == CHUNK_SIZE ) {
+                    entityManager.clear();
+                    inChunk = 0;
+                }
+            }
+        }
+    }
+}
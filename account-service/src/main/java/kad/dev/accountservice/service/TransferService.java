@@ -0,0 +1,12 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.dto.OperationRequestDTO;
+import kad.dev.accountservice.dto.TransferDTO;
+import kad.dev.accountservice.dto.TransferRequestDTO;
+
+public interface TransferService {
+    TransferDTO transfer(TransferRequestDTO request);
+    BankAccountDTO debit(OperationRequestDTO request);
+    BankAccountDTO credit(OperationRequestDTO request);
+}
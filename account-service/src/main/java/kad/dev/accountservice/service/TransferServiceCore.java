@@ -0,0 +1,133 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.dto.OperationRequestDTO;
+import kad.dev.accountservice.dto.TransferDTO;
+import kad.dev.accountservice.dto.TransferRequestDTO;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.enums.MovementType;
+import kad.dev.accountservice.exceptions.*;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.LedgerEntryRepository;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Moves money between accounts. Each movement runs in its own short transaction while holding the striped
+ * in-process locks of the accounts involved, so movements on the same account are serialized on this node.
+ * Optimistic versioning on BankAccount catches races with other nodes; those are retried a few times.
+ */
+@Service
+public class TransferServiceCore implements TransferService {
+    private static final int MAX_ATTEMPTS = 3;
+    private static final BigDecimal MIN_SAVING_BALANCE = BigDecimal.valueOf(100);
+
+    private final BankAccountRepository accountRepository;
+    private final LedgerEntryRepository ledgerRepository;
+    private final AccountLocks locks;
+    private final BankAccountMapper mapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public TransferServiceCore(BankAccountRepository accountRepository, LedgerEntryRepository ledgerRepository,
+                               AccountLocks locks, BankAccountMapper mapper, PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.locks = locks;
+        this.mapper = mapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public TransferDTO transfer(TransferRequestDTO request) {
+        BigDecimal amount = checkAmount(request.getAmount());
+        String fromId = request.getFromAccountId();
+        String toId = request.getToAccountId();
+        if( fromId.equals(toId) ) throw new InvalidOperationException("Cannot transfer to the same account");
+        return locks.withLocks(fromId, toId, () -> withRetry(fromId, () -> transactionTemplate.execute(status -> {
+            BankAccount from = findAccount(fromId);
+            BankAccount to = findAccount(toId);
+            if( !from.getCurrency().equals(to.getCurrency()) ) throw new InvalidOperationException("Currency mismatch between accounts");
+            withdraw(from, amount);
+            to.setBalance(to.getBalance().add(amount));
+            List<LedgerEntry> entries = LedgerPostings.post(fromId, from.getBalance(), toId, to.getBalance(),
+                    amount, MovementType.TRANSFER, request.getDescription(), Instant.now());
+            ledgerRepository.saveAll(entries);
+            accountRepository.flush();
+            return TransferDTO.builder()
+                    .transferId(entries.get(0).getTransferId())
+                    .fromAccountId(fromId)
+                    .toAccountId(toId)
+                    .amount(amount)
+                    .createdAt(entries.get(0).getCreatedAt())
+                    .build();
+        })));
+    }
+
+    @Override
+    public BankAccountDTO debit(OperationRequestDTO request) {
+        BigDecimal amount = checkAmount(request.getAmount());
+        String accountId = request.getAccountId();
+        return locks.withLock(accountId, () -> withRetry(accountId, () -> transactionTemplate.execute(status -> {
+            BankAccount account = findAccount(accountId);
+            withdraw(account, amount);
+            ledgerRepository.saveAll(LedgerPostings.post(accountId, account.getBalance(), LedgerEntry.EXTERNAL_ACCOUNT, null,
+                    amount, MovementType.WITHDRAWAL, request.getDescription(), Instant.now()));
+            accountRepository.flush();
+            return mapper.fromBankAccount(account);
+        })));
+    }
+
+    @Override
+    public BankAccountDTO credit(OperationRequestDTO request) {
+        BigDecimal amount = checkAmount(request.getAmount());
+        String accountId = request.getAccountId();
+        return locks.withLock(accountId, () -> withRetry(accountId, () -> transactionTemplate.execute(status -> {
+            BankAccount account = findAccount(accountId);
+            account.setBalance(account.getBalance().add(amount));
+            ledgerRepository.saveAll(LedgerPostings.post(LedgerEntry.EXTERNAL_ACCOUNT, null, accountId, account.getBalance(),
+                    amount, MovementType.DEPOSIT, request.getDescription(), Instant.now()));
+            accountRepository.flush();
+            return mapper.fromBankAccount(account);
+        })));
+    }
+
+    private BankAccount findAccount(String accountId) {
+        return accountRepository.findById(accountId).orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+
+    private void withdraw(BankAccount account, BigDecimal amount) {
+        BigDecimal floor = account.getType() == AccountType.SAVING_ACCOUNT ? MIN_SAVING_BALANCE : BigDecimal.ZERO;
+        BigDecimal remaining = account.getBalance().subtract(amount);
+        if( remaining.compareTo(floor) < 0 ) throw new InsufficientFundsException(account.getAccountId());
+        account.setBalance(remaining);
+    }
+
+    /**
+     * Amounts are exact decimals with at most two fraction digits.
+     */
+    private BigDecimal checkAmount(BigDecimal amount) {
+        if( amount == null || amount.signum() <= 0 ) throw new InvalidOperationException("The amount must be positive");
+        if( amount.stripTrailingZeros().scale() > 2 ) throw new InvalidOperationException("The amount must have at most 2 decimals");
+        return amount.setScale(2);
+    }
+
+    private <T> T withRetry(String accountId, Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if( attempt == MAX_ATTEMPTS ) throw new ConcurrentUpdateException(accountId, e);
+            }
+        }
+    }
+}
@@ -1,24 +1,59 @@
 package kad.dev.accountservice.web;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kad.dev.accountservice.dto.AccountPageDTO;
 import kad.dev.accountservice.dto.BankAccountDTO;
 import kad.dev.accountservice.service.AccountService;
+import kad.dev.accountservice.service.StatementRange;
+import kad.dev.accountservice.service.StatementService;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @AllArgsConstructor
 public class BankAccountController {
     private final AccountService service;
+    private final StatementService statementService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping("/save-account")
     public BankAccountDTO newAccount(@RequestBody BankAccountDTO accountDTO) {
         return service.createNewAccount(accountDTO);
     }
+    @PostMapping("/accounts/bulk")
+    public List<BankAccountDTO> newAccounts(@RequestBody List<BankAccountDTO> accountDTOs) {
+        return service.createNewAccounts(accountDTOs);
+    }
+
     @GetMapping("/accounts")
-    public List<BankAccountDTO> allAccounts() {
-        return service.getAllAccounts();
+    public List<BankAccountDTO> allAccounts(@RequestParam(defaultValue = "true") boolean withCustomers) {
+        return service.getAllAccounts(withCustomers);
+    }
+
+    @GetMapping("/accounts/page")
+    public AccountPageDTO accountsPage(@RequestParam(required = false) String cursor,
+                                       @RequestParam(defaultValue = "100") int size) {
+        return service.getAccountsPage(cursor, size);
+    }
+
+    @GetMapping(value = "/accounts/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAccounts() {
+        return ndjson(service::streamAccounts);
     }
 
     @GetMapping("/accountsByFilter")
@@ -26,16 +61,63 @@ public class BankAccountController {
         return service.getAccountsByType(type.toUpperCase());
     }
 
+    @GetMapping("/accountsByFilter/page")
+    public AccountPageDTO accountsPageByType(@RequestParam String type,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "100") int size) {
+        return service.getAccountsPageByType(type.toUpperCase(), cursor, size);
+    }
+
+    @GetMapping(value = "/accountsByFilter/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAccountsByType(@RequestParam String type) {
+        return ndjson(sink -> service.streamAccountsByType(type.toUpperCase(), sink));
+    }
+
     @GetMapping("/accountsByCustomer/{id}")
     public List<BankAccountDTO> allAccountsByCustomerId(@PathVariable Long id) {
         return service.getAccountsByCustomerId(id);
     }
 
+    @GetMapping("/accountsByCustomer/{id}/page")
+    public AccountPageDTO accountsPageByCustomerId(@PathVariable Long id,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "100") int size) {
+        return service.getAccountsPageByCustomerId(id, cursor, size);
+    }
+
+    @GetMapping(value = "/accountsByCustomer/{id}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAccountsByCustomerId(@PathVariable Long id) {
+        return ndjson(sink -> service.streamAccountsByCustomerId(id, sink));
+    }
+
     @GetMapping("/account/{id}")
     public BankAccountDTO accountById(@PathVariable String id) {
         return service.getAccountById(id);
     }
 
+    /**
+     * Movements of the account from {@code from} to {@code to} (inclusive UTC days) with their running balance,
+     * one JSON document per line. Every line carries a continuation token: passing the last one received
+     * resumes the statement right after it.
+     */
+    @GetMapping(value = "/account/{id}/statement", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> statement(@PathVariable String id,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                           @RequestParam(required = false) String continuation) {
+        StatementRange range = statementService.statementRange(id, from, to, continuation);
+        return statement(range, MediaType.APPLICATION_NDJSON, out -> StatementWriter.jsonLines(objectMapper, out));
+    }
+
+    @GetMapping(value = "/account/{id}/statement", params = "format=csv", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> csvStatement(@PathVariable String id,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                              @RequestParam(required = false) String continuation) {
+        StatementRange range = statementService.statementRange(id, from, to, continuation);
+        return statement(range, new MediaType("text", "csv", StandardCharsets.UTF_8), StatementWriter::csv);
+    }
+
     @PutMapping("/update-account/{id}")
     public BankAccountDTO updateAccount( @PathVariable String id, @RequestBody BankAccountDTO dto ) {
         return service.updateAccount(id, dto);
@@ -46,4 +128,37 @@ public class BankAccountController {
         service.deleteAccount(id);
     }
 
+    private ResponseEntity<StreamingResponseBody> statement(StatementRange range, MediaType contentType, StatementWriterFactory writers) {
+        StreamingResponseBody body = out -> {
+            try (StatementWriter writer = writers.open(out)) {
+                statementService.streamStatement(range, writer);
+            }
+        };
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    private interface StatementWriterFactory {
+        StatementWriter open(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Writes one JSON document per line as the service hands accounts out, instead of building the whole list first.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<BankAccountDTO>> source) {
+        ObjectWriter writer = objectMapper.writerFor(BankAccountDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                source.accept(dto -> {
+                    try {
+                        writer.writeValue(generator, dto);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 }
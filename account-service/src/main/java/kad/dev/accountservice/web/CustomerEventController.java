@@ -0,0 +1,25 @@
+package kad.dev.accountservice.web;
+
+import kad.dev.accountservice.dto.CustomerChangeEventDTO;
+import kad.dev.accountservice.service.CustomerEventConsumer;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Receives the customer-service outbox; a non-2xx answer makes its relay skip this instance for a while, which
+ * then catches up through the change feed. Only reachable with the outbox token, see InternalEndpointsConfig.
+ */
+@RestController
+@AllArgsConstructor
+public class CustomerEventController {
+    private final CustomerEventConsumer consumer;
+
+    @PostMapping("/events/customers")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void receive(@RequestBody List<CustomerChangeEventDTO> events) {
+        consumer.apply(events);
+    }
+}
@@ -0,0 +1,23 @@
+package kad.dev.accountservice.web;
+
+import kad.dev.accountservice.service.CustomerProjectionSync;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operator endpoint; only reachable with the admin token, see InternalEndpointsConfig.
+ */
+@RestController
+@AllArgsConstructor
+public class CustomerProjectionController {
+    private final CustomerProjectionSync projectionSync;
+
+    @PostMapping("/customers-projection/resync")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void resync() {
+        projectionSync.requestResync();
+    }
+}
@@ -0,0 +1,39 @@
+package kad.dev.accountservice.web;
+
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.service.ReactiveAccountService;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the {@link BankAccountController} read endpoints, under /reactive.
+ * Spring MVC releases the request thread while the R2DBC query and customer calls are in flight.
+ */
+@RestController
+@RequestMapping("/reactive")
+@AllArgsConstructor
+public class ReactiveBankAccountController {
+    private final ReactiveAccountService service;
+
+    @GetMapping("/accounts")
+    public Flux<BankAccountDTO> allAccounts() {
+        return service.getAllAccounts();
+    }
+
+    @GetMapping("/accountsByFilter")
+    public Flux<BankAccountDTO> allAccountsByType(@RequestParam String type) {
+        return service.getAccountsByType(type.toUpperCase());
+    }
+
+    @GetMapping("/accountsByCustomer/{id}")
+    public Flux<BankAccountDTO> allAccountsByCustomerId(@PathVariable Long id) {
+        return service.getAccountsByCustomerId(id);
+    }
+
+    @GetMapping("/account/{id}")
+    public Mono<BankAccountDTO> accountById(@PathVariable String id) {
+        return service.getAccountById(id);
+    }
+}
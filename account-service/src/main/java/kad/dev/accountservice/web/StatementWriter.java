@@ -0,0 +1,129 @@
+package kad.dev.accountservice.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import kad.dev.accountservice.dto.StatementLineDTO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes statement lines as they are read, as JSON lines or CSV. The first line is flushed on its own, so a client
+ * sees the statement start before the rest of the period has been read; after that output is flushed by the
+ * buffer only.
+ */
+public abstract class StatementWriter implements Consumer<StatementLineDTO>, Closeable {
+    public static final String CSV_HEADER = "entryId,createdAt,transferId,type,direction,counterpartyAccountId,description,amount,balance,continuation";
+
+    private boolean started;
+
+    public static StatementWriter jsonLines(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        return new JsonLines(objectMapper, out);
+    }
+
+    public static StatementWriter csv(OutputStream out) throws IOException {
+        return new Csv(out);
+    }
+
+    @Override
+    public void accept(StatementLineDTO line) {
+        try {
+            write(line);
+            if (!started) {
+                started = true;
+                flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void write(StatementLineDTO line) throws IOException;
+
+    protected abstract void flush() throws IOException;
+
+    private static final class JsonLines extends StatementWriter {
+        private final ObjectWriter writer;
+        private final JsonGenerator generator;
+
+        JsonLines(ObjectMapper objectMapper, OutputStream out) throws IOException {
+            this.writer = objectMapper.writerFor(StatementLineDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = objectMapper.createGenerator(out);
+        }
+
+        @Override
+        protected void write(StatementLineDTO line) throws IOException {
+            writer.writeValue(generator, line);
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+
+    private static final class Csv extends StatementWriter {
+        private final Writer out;
+
+        Csv(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            this.out.write(CSV_HEADER);
+            this.out.write('\n');
+        }
+
+        @Override
+        protected void write(StatementLineDTO line) throws IOException {
+            out.write(String.valueOf(line.getEntryId()));
+            out.write(',');
+            out.write(String.valueOf(line.getCreatedAt()));
+            out.write(',');
+            field(line.getTransferId());
+            out.write(',');
+            out.write(String.valueOf(line.getType()));
+            out.write(',');
+            out.write(String.valueOf(line.getDirection()));
+            out.write(',');
+            field(line.getCounterpartyAccountId());
+            out.write(',');
+            field(line.getDescription());
+            out.write(',');
+            out.write(line.getAmount().toPlainString());
+            out.write(',');
+            if (line.getBalance() != null) out.write(line.getBalance().toPlainString());
+            out.write(',');
+            out.write(line.getContinuation());
+            out.write('\n');
+        }
+
+        /* RFC 4180 quoting, only when the value needs it */
+        private void field(String value) throws IOException {
+            if (value == null) return;
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            out.write(value.replace("\"", "\"\""));
+            out.write('"');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package kad.dev.accountservice.web;
+
+import jakarta.validation.Valid;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.dto.OperationRequestDTO;
+import kad.dev.accountservice.dto.TransferDTO;
+import kad.dev.accountservice.dto.TransferRequestDTO;
+import kad.dev.accountservice.service.TransferService;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+public class TransferController {
+    private final TransferService service;
+
+    @PostMapping("/transfer")
+    public TransferDTO transfer(@RequestBody @Valid TransferRequestDTO request) {
+        return service.transfer(request);
+    }
+
+    @PostMapping("/debit")
+    public BankAccountDTO debit(@RequestBody @Valid OperationRequestDTO request) {
+        return service.debit(request);
+    }
+
+    @PostMapping("/credit")
+    public BankAccountDTO credit(@RequestBody @Valid OperationRequestDTO request) {
+        return service.credit(request);
+    }
+}
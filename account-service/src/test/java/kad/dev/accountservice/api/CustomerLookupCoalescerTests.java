@@ -0,0 +1,167 @@
+package kad.dev.accountservice.api;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.model.CustomerPage;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerLookupCoalescerTests {
+    private static final int CALLERS = 64;
+
+    @Test
+    void concurrentLookupsForOneIdShareOneCall() throws Exception {
+        SlowCustomerService stub = new SlowCustomerService(Duration.ofMillis(300));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CustomerLookupCoalescer coalescer = new CustomerLookupCoalescer(stub, registry, Duration.ZERO, 500);
+
+        List<Customer> results = runConcurrently(i -> coalescer.get(42L));
+
+        assertEquals(1, stub.singleCalls.get());
+        assertEquals(CALLERS - 1, registry.get("customer.lookups.coalesced").counter().count());
+        results.forEach(c -> assertEquals(42L, c.getId()));
+
+        coalescer.get(42L);
+        assertEquals(2, stub.singleCalls.get());
+    }
+
+    @Test
+    void lookupsWithinTheWindowAreMicroBatched() throws Exception {
+        SlowCustomerService stub = new SlowCustomerService(Duration.ofMillis(5));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CustomerLookupCoalescer coalescer = new CustomerLookupCoalescer(stub, registry, Duration.ofMillis(50), 500);
+        try {
+            List<Customer> results = runConcurrently(i -> coalescer.get((long) i));
+
+            for (int i = 0; i < CALLERS; i++) assertEquals((long) i, results.get(i).getId());
+            assertTrue(stub.batchCalls.get() + stub.singleCalls.get() <= 4,
+                    "calls: " + stub.batchCalls.get() + " batch, " + stub.singleCalls.get() + " single");
+            assertTrue(registry.get("customer.lookups.batched").counter().count() >= CALLERS - 4);
+        } finally {
+            coalescer.close();
+        }
+    }
+
+    @Test
+    void bulkLookupsJoinIdsAlreadyInFlight() throws Exception {
+        SlowCustomerService stub = new SlowCustomerService(Duration.ofMillis(300));
+        CustomerLookupCoalescer coalescer = new CustomerLookupCoalescer(stub, new SimpleMeterRegistry(), Duration.ZERO, 500);
+
+        List<Customer> results = runConcurrently(i -> coalescer.getAll(List.of(1L, 2L, 3L)).get((long) (i % 3) + 1));
+
+        assertEquals(1, stub.batchCalls.get());
+        for (int i = 0; i < CALLERS; i++) assertEquals((long) (i % 3) + 1, results.get(i).getId());
+    }
+
+    @Test
+    void aSlowBatchDoesNotHoldBackLaterWindows() throws Exception {
+        SlowCustomerService stub = new SlowCustomerService(Duration.ofMillis(5));
+        stub.slowIds = Set.of(1L, 2L, 3L);
+        CustomerLookupCoalescer coalescer = new CustomerLookupCoalescer(stub, new SimpleMeterRegistry(), Duration.ofMillis(10), 500);
+        ExecutorService callers = Executors.newCachedThreadPool();
+        try {
+            // three windows stuck on slow calls, more than the old dispatcher had threads
+            long start = System.nanoTime();
+            List<Future<Customer>> slow = new ArrayList<>();
+            for (long id = 1; id <= 3; id++) {
+                long slowId = id;
+                slow.add(callers.submit(() -> coalescer.get(slowId)));
+                Thread.sleep(30);
+            }
+            Customer fast = callers.submit(() -> coalescer.get(4L)).get(10, TimeUnit.SECONDS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            assertEquals(4L, fast.getId());
+            assertTrue(elapsed.compareTo(Duration.ofSeconds(1)) < 0, "took " + elapsed);
+            for (Future<Customer> future : slow) assertTrue(future.get(10, TimeUnit.SECONDS).getId() <= 3);
+        } finally {
+            callers.shutdownNow();
+            coalescer.close();
+        }
+    }
+
+    private static List<Customer> runConcurrently(Lookup lookup) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CALLERS);
+        CyclicBarrier start = new CyclicBarrier(CALLERS);
+        try {
+            List<Future<Customer>> futures = new ArrayList<>(CALLERS);
+            for (int i = 0; i < CALLERS; i++) {
+                int caller = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return lookup.apply(caller);
+                }));
+            }
+            List<Customer> results = new ArrayList<>(CALLERS);
+            for (Future<Customer> future : futures) results.add(future.get(10, TimeUnit.SECONDS));
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private interface Lookup {
+        Customer apply(int caller);
+    }
+
+    /**
+     * Local stand-in for customer-service answering after a fixed latency.
+     */
+    static class SlowCustomerService implements CustomerServiceClient {
+        static final Duration SLOW_LATENCY = Duration.ofSeconds(2);
+        final AtomicInteger singleCalls = new AtomicInteger();
+        final AtomicInteger batchCalls = new AtomicInteger();
+        private final Duration latency;
+        /* ids answered after SLOW_LATENCY instead */
+        volatile Set<Long> slowIds = Set.of();
+
+        SlowCustomerService(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public Customer getCustomerById(Long id) {
+            singleCalls.incrementAndGet();
+            pause(slowIds.contains(id) ? SLOW_LATENCY : latency);
+            return customer(id);
+        }
+
+        @Override
+        public List<Customer> getAllCustomers() {
+            return List.of();
+        }
+
+        @Override
+        public CustomerPage getCustomersPage(Long after, int size) {
+            return getDefaultCustomersPage(after, size, new UnsupportedOperationException());
+        }
+
+        @Override
+        public List<Customer> getCustomersByIds(List<Long> ids) {
+            batchCalls.incrementAndGet();
+            pause(ids.stream().anyMatch(slowIds::contains) ? SLOW_LATENCY : latency);
+            return ids.stream().map(SlowCustomerService::customer).toList();
+        }
+
+        private static void pause(Duration latency) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private static Customer customer(Long id) {
+            return Customer.builder().id(id).firstName("first" + id).lastName("last" + id).email(id + "@ebank.dev").build();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package kad.dev.accountservice.entity.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedIdsTests {
+
+    @Test
+    void idsAreFixedWidthAndSortInCreationOrder() {
+        TimeOrderedIds ids = new TimeOrderedIds(7);
+        List<String> generated = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) generated.add(ids.next());
+
+        List<String> sorted = new ArrayList<>(generated);
+        Collections.sort(sorted);
+        assertEquals(generated, sorted);
+        assertTrue(generated.stream().allMatch(id -> id.length() == TimeOrderedIds.ENCODED_LENGTH));
+    }
+
+    @Test
+    void concurrentCallersNeverShareAnId() throws InterruptedException {
+        TimeOrderedIds ids = new TimeOrderedIds(1);
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 50_000; i++) seen.add(ids.next());
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(400_000, seen.size());
+    }
+}
@@ -0,0 +1,196 @@
+package kad.dev.accountservice.interest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.enums.EntryDirection;
+import kad.dev.accountservice.enums.MovementType;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InterestAccrualJobTests {
+
+    private static final int SAVING_ACCOUNTS = 1_050;
+    private static final int CURRENT_ACCOUNTS = 100;
+    private static final BigDecimal BALANCE = new BigDecimal("1000.00");
+    /* 1000.00 * 3.65% / 365 days is exactly 0.10 a day */
+    private static final BigDecimal RATE = new BigDecimal("0.0365");
+    private static final BigDecimal DAILY_INTEREST = new BigDecimal("0.10");
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private BankAccountRepository accountRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerRepository;
+    @Autowired
+    private InterestAccrualRunRepository runRepository;
+    @Autowired
+    private InterestAccrualPartitionRepository partitionRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        partitionRepository.deleteAllInBatch();
+        runRepository.deleteAllInBatch();
+        ledgerRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int i = 0; i < SAVING_ACCOUNTS + CURRENT_ACCOUNTS; i++) {
+            accounts.add(BankAccount.builder()
+                    .balance(BALANCE)
+                    .currency("MAD")
+                    .type(i < SAVING_ACCOUNTS ? AccountType.SAVING_ACCOUNT : AccountType.CURRENT_ACCOUNT)
+                    .customerId((long) i)
+                    .createdAt(DAY.minusDays(30))
+                    .build());
+        }
+        accountRepository.saveAll(accounts);
+    }
+
+    @Test
+    void everySavingAccountIsAccruedOnceAcrossParallelPartitions() {
+        InterestAccrualJob job = job();
+
+        InterestAccrualRun run = job.accrue(DAY);
+
+        assertNotNull(run.getFinishedAt());
+        assertEquals(SAVING_ACCOUNTS, run.getAccounts());
+        assertEquals(11, run.getPartitions());
+        assertEquals(0, DAILY_INTEREST.multiply(BigDecimal.valueOf(SAVING_ACCOUNTS)).compareTo(run.getInterest()));
+        assertBalancesAccruedOnce();
+
+        job.accrue(DAY);
+        assertBalancesAccruedOnce();
+    }
+
+    @Test
+    void interruptedRunResumesFromItsCheckpoints() {
+        InterestAccrualJob crashed = job();
+        crashed.startOrResume(DAY);
+        List<InterestAccrualPartition> partitions = partitionRepository.findByAccrualDayOrderByPartitionNo(DAY);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        // two chunks of the first partition and one of the second were committed before the crash
+        transactionTemplate.execute(status -> crashed.accrueChunk(partitions.get(0).getId(), RATE, DAY, 40));
+        transactionTemplate.execute(status -> crashed.accrueChunk(partitions.get(0).getId(), RATE, DAY, 40));
+        transactionTemplate.execute(status -> crashed.accrueChunk(partitions.get(1).getId(), RATE, DAY, 40));
+
+        InterestAccrualRun run = job().accrue(DAY);
+
+        assertNotNull(run.getFinishedAt());
+        assertEquals(SAVING_ACCOUNTS, run.getAccounts());
+        assertBalancesAccruedOnce();
+    }
+
+    @Test
+    void interestFollowsTheLedgerBalanceAtTheEndOfTheDay() {
+        List<BankAccount> saving = accountRepository.findAll().stream()
+                .filter(a -> a.getType() == AccountType.SAVING_ACCOUNT)
+                .sorted(Comparator.comparing(BankAccount::getAccountId))
+                .toList();
+        // 1000.00 at the end of the day, 4000.00 deposited the next morning
+        BankAccount deposited = saving.get(0);
+        entry(deposited, "1000.00", DAY.atTime(10, 0));
+        entry(deposited, "5000.00", DAY.plusDays(1).atTime(9, 0));
+        deposited.setBalance(new BigDecimal("5000.00"));
+        // 2000.00 at the end of the day, back to 1000.00 at midnight
+        BankAccount withdrawn = saving.get(1);
+        entry(withdrawn, "2000.00", DAY.atTime(12, 0));
+        entry(withdrawn, "1000.00", DAY.plusDays(1).atStartOfDay());
+        BankAccount openedLater = saving.get(2);
+        openedLater.setCreatedAt(DAY.plusDays(1));
+        accountRepository.saveAll(List.of(deposited, withdrawn, openedLater));
+
+        InterestAccrualRun run = job().accrue(DAY);
+
+        assertEquals(0, new BigDecimal("5000.10").compareTo(balance(deposited)));
+        assertEquals(0, new BigDecimal("1000.20").compareTo(balance(withdrawn)));
+        assertEquals(0, BALANCE.compareTo(balance(openedLater)));
+        // only the accounts that were credited are counted
+        assertEquals(SAVING_ACCOUNTS - 1, run.getAccounts());
+        // the other accounts have no ledger entries and earn on their current balance
+        BigDecimal expected = DAILY_INTEREST.multiply(BigDecimal.valueOf(SAVING_ACCOUNTS - 2)).add(new BigDecimal("0.20"));
+        assertEquals(0, expected.compareTo(run.getInterest()));
+    }
+
+    @Test
+    void daysWhoseFiringWasMissedAreAccruedOnTheNextStart() {
+        InterestAccrualJob job = job();
+        // nothing is accrued retroactively before the first run
+        assertEquals(List.of(), job.missedDays(DAY.plusDays(5).atTime(2, 0)));
+        runRepository.save(InterestAccrualRun.builder()
+                .accrualDay(DAY)
+                .annualRate(RATE)
+                .interest(BigDecimal.ZERO.setScale(2))
+                .startedAt(Instant.now())
+                .finishedAt(Instant.now())
+                .build());
+
+        // the day after DAY is accrued at 01:30 the day after that
+        assertEquals(List.of(), job.missedDays(DAY.plusDays(2).atTime(1, 29)));
+        assertEquals(List.of(DAY.plusDays(1)), job.missedDays(DAY.plusDays(2).atTime(1, 30)));
+        assertEquals(List.of(DAY.plusDays(1), DAY.plusDays(2), DAY.plusDays(3)), job.missedDays(DAY.plusDays(4).atTime(2, 0)));
+    }
+
+    @Test
+    void dailyInterestRoundsHalfEvenToTheCent() {
+        // 1825.00 * 0.1% / 365 = 0.005 and 5475.00 * 0.1% / 365 = 0.015
+        assertEquals(new BigDecimal("0.00"), InterestAccrualJob.dailyInterest(new BigDecimal("1825.00"), new BigDecimal("0.001"), DAY));
+        assertEquals(new BigDecimal("0.02"), InterestAccrualJob.dailyInterest(new BigDecimal("5475.00"), new BigDecimal("0.001"), DAY));
+        // leap years have 366 days
+        assertEquals(new BigDecimal("0.10"), InterestAccrualJob.dailyInterest(new BigDecimal("1000.00"), new BigDecimal("0.0366"), LocalDate.of(2024, 6, 1)));
+    }
+
+    private InterestAccrualJob job() {
+        return new InterestAccrualJob(accountRepository, ledgerRepository, runRepository, partitionRepository, transactionManager,
+                new SimpleMeterRegistry(), RATE, 100, 40, 4, "0 30 1 * * *");
+    }
+
+    private void entry(BankAccount account, String balanceAfter, LocalDateTime at) {
+        ledgerRepository.save(LedgerEntry.builder()
+                .transferId("t-" + at)
+                .accountId(account.getAccountId())
+                .counterpartyAccountId(LedgerEntry.EXTERNAL_ACCOUNT)
+                .direction(EntryDirection.CREDIT)
+                .type(MovementType.DEPOSIT)
+                .amount(new BigDecimal("1.00"))
+                .balanceAfter(new BigDecimal(balanceAfter))
+                .createdAt(at.toInstant(ZoneOffset.UTC))
+                .build());
+    }
+
+    private BigDecimal balance(BankAccount account) {
+        return accountRepository.findById(account.getAccountId()).orElseThrow().getBalance();
+    }
+
+    private void assertBalancesAccruedOnce() {
+        for (BankAccount account : accountRepository.findAll()) {
+            BigDecimal expected = account.getType() == AccountType.SAVING_ACCOUNT ? BALANCE.add(DAILY_INTEREST) : BALANCE;
+            assertEquals(0, expected.compareTo(account.getBalance()), account.getAccountId());
+        }
+        List<LedgerEntry> interest = ledgerRepository.findAll().stream().filter(e -> e.getType() == MovementType.INTEREST).toList();
+        assertEquals(2 * SAVING_ACCOUNTS, interest.size());
+    }
+}
@@ -0,0 +1,36 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountCursorTests {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        AccountCursor cursor = new AccountCursor(LocalDate.of(2024, 2, 29), "0A1b2C3d|with-separator");
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("="), encoded);
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+        assertEquals(cursor, AccountCursor.decode(encoded));
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        assertThrows(InvalidCursorException.class, () -> AccountCursor.decode("not base64!"));
+        assertThrows(InvalidCursorException.class, () -> AccountCursor.decode(encode("2024-03-01")));
+        assertThrows(InvalidCursorException.class, () -> AccountCursor.decode(encode("yesterday|abc")));
+        assertThrows(InvalidCursorException.class, () -> AccountCursor.decode(""));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,135 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.dto.AccountPageDTO;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.exceptions.InvalidCursorException;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.outbox.OutboxWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({AccountServiceCore.class, BankAccountMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AccountPagingTests {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 1);
+    /* accounts created per day: most of them share their createdAt with others */
+    private static final int[] PER_DAY = {12, 1, 12};
+    private static final int ACCOUNTS = 25;
+
+    @Autowired
+    private AccountService accountService;
+    @Autowired
+    private BankAccountRepository repository;
+    @MockBean
+    private AccountWriteBatcher writeBatcher;
+    @MockBean
+    private CustomerCache customerCache;
+    @MockBean
+    private CustomerEnricher customerEnricher;
+    @MockBean
+    private CustomerProjectionStatus projectionStatus;
+    @MockBean
+    private OutboxWriter outbox;
+
+    private List<String> expectedOrder;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        List<BankAccount> accounts = new ArrayList<>();
+        for (int day = 0; day < PER_DAY.length; day++) {
+            for (int i = 0; i < PER_DAY[day]; i++) {
+                accounts.add(BankAccount.builder()
+                        .balance(new BigDecimal("100.00"))
+                        .currency("MAD")
+                        .type(i % 2 == 0 ? AccountType.CURRENT_ACCOUNT : AccountType.SAVING_ACCOUNT)
+                        .customerId((long) i)
+                        .createdAt(DAY.plusDays(day))
+                        .build());
+            }
+        }
+        expectedOrder = repository.saveAll(accounts).stream()
+                .sorted(Comparator.comparing(BankAccount::getCreatedAt).thenComparing(BankAccount::getAccountId))
+                .map(BankAccount::getAccountId)
+                .toList();
+    }
+
+    @Test
+    void pagesWalkEveryAccountOnceAcrossCreatedAtTies() {
+        List<String> walked = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            AccountPageDTO page = accountService.getAccountsPage(cursor, 5);
+            page.getContent().forEach(dto -> walked.add(dto.getAccountId()));
+            sizes.add(page.getSize());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expectedOrder, walked);
+        // 25 accounts in pages of 5: the fifth page is full, so only an empty sixth page tells the end
+        assertEquals(List.of(5, 5, 5, 5, 5, 0), sizes);
+    }
+
+    @Test
+    void aShortPageHasNoNextCursor() {
+        AccountPageDTO first = accountService.getAccountsPage(null, 20);
+        AccountPageDTO last = accountService.getAccountsPage(first.getNextCursor(), 20);
+
+        assertNotNull(first.getNextCursor());
+        assertEquals(expectedOrder.subList(0, 20), first.getContent().stream().map(BankAccountDTO::getAccountId).toList());
+        assertEquals(ACCOUNTS - 20, last.getSize());
+        assertEquals(expectedOrder.subList(20, ACCOUNTS), last.getContent().stream().map(BankAccountDTO::getAccountId).toList());
+        assertNull(last.getNextCursor());
+    }
+
+    @Test
+    void aCursorInsideATieResumesRightAfterItsAccount() {
+        // the 12 accounts of the first day all share their createdAt; resume from the middle of them
+        String afterSixth = new AccountCursor(DAY, expectedOrder.get(5)).encode();
+
+        AccountPageDTO page = accountService.getAccountsPage(afterSixth, 8);
+
+        assertEquals(expectedOrder.subList(6, 14), page.getContent().stream().map(BankAccountDTO::getAccountId).toList());
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(1, accountService.getAccountsPage(null, 0).getSize());
+        assertEquals(ACCOUNTS, accountService.getAccountsPage(null, 100_000).getSize());
+    }
+
+    @Test
+    void aBadCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> accountService.getAccountsPage("%%%", 10));
+    }
+
+    @Test
+    void theStreamHandsOutEveryAccountInPageOrder() {
+        List<String> streamed = new ArrayList<>();
+
+        accountService.streamAccounts(dto -> streamed.add(dto.getAccountId()));
+
+        assertEquals(expectedOrder, streamed);
+    }
+}
@@ -0,0 +1,239 @@
+package kad.dev.accountservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.api.CustomerCacheProperties;
+import kad.dev.accountservice.api.CustomerServiceClient;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.CustomerProjection;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.exceptions.AccountNotFoundException;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.model.CustomerPage;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.outbox.OutboxWriter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AccountServiceCoreTests {
+
+    private static final int ACCOUNTS = 1_000;
+    private static final int CUSTOMERS = 400;
+    private static final int BATCH_SIZE = 50;
+    /* only ever waited out by a chunk that is held back on purpose */
+    private static final Duration DEADLINE = Duration.ofSeconds(1);
+
+    @Test
+    void getAllAccountsFetchesCustomersInChunks() {
+        BankAccountRepository repository = mock(BankAccountRepository.class);
+        when(repository.findAll()).thenReturn(accounts(ACCOUNTS, CUSTOMERS));
+        CountingCustomerServiceClient client = new CountingCustomerServiceClient();
+        AccountServiceCore service = service(repository, client);
+
+        List<BankAccountDTO> result = service.getAllAccounts();
+
+        int expectedCalls = (CUSTOMERS + BATCH_SIZE - 1) / BATCH_SIZE;
+        assertEquals(ACCOUNTS, result.size());
+        assertEquals(0, client.singleCalls.get());
+        assertEquals(expectedCalls, client.batchCalls.get());
+    }
+
+    @Test
+    void getAccountsByTypeJoinsEveryAccountWithItsCustomer() {
+        BankAccountRepository repository = mock(BankAccountRepository.class);
+        List<BankAccount> accounts = accounts(120, 70);
+        when(repository.findByType(AccountType.CURRENT_ACCOUNT)).thenReturn(accounts);
+        CountingCustomerServiceClient client = new CountingCustomerServiceClient();
+        AccountServiceCore service = service(repository, client);
+
+        service.getAccountsByType(AccountType.CURRENT_ACCOUNT.name());
+
+        assertEquals(2, client.batchCalls.get());
+        accounts.forEach(ba -> assertEquals(ba.getCustomerId(), ba.getCustomer().getId()));
+    }
+
+    @Test
+    void fallbackCustomersAreNotCached() {
+        BankAccountRepository repository = mock(BankAccountRepository.class);
+        List<BankAccount> accounts = accounts(10, 10);
+        when(repository.findAll()).thenReturn(accounts);
+        CountingCustomerServiceClient client = new CountingCustomerServiceClient();
+        client.available = false;
+        AccountServiceCore service = service(repository, client);
+
+        service.getAllAccounts();
+        assertTrue(CustomerServiceClient.isDefaultCustomer(accounts.get(0).getCustomer()));
+        client.available = true;
+        service.getAllAccounts();
+
+        assertEquals(2, client.batchCalls.get());
+        accounts.forEach(ba -> assertFalse(CustomerServiceClient.isDefaultCustomer(ba.getCustomer())));
+        service.getAllAccounts();
+        assertEquals(2, client.batchCalls.get());
+    }
+
+    @Test
+    void slowCustomerChunksBecomePlaceholdersAtTheDeadline() {
+        BankAccountRepository repository = mock(BankAccountRepository.class);
+        List<BankAccount> accounts = accounts(400, 400);
+        when(repository.findAll()).thenReturn(accounts);
+        CountingCustomerServiceClient client = new CountingCustomerServiceClient();
+        // the chunk holding customer 1 cannot answer before the deadline
+        client.slowChunkGate = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AccountServiceCore service = service(repository, client, registry);
+
+        List<BankAccountDTO> result;
+        try {
+            result = service.getAllAccounts();
+        } finally {
+            client.slowChunkGate.countDown();
+        }
+
+        long unavailable = result.stream().filter(BankAccountDTO::isCustomerUnavailable).count();
+        assertEquals(BATCH_SIZE, unavailable);
+        assertEquals(BATCH_SIZE, registry.get("customer.enrichment.timeouts").counter().count());
+        assertEquals(8, registry.get("customer.enrichment.parallelism").summary().max());
+        result.stream().filter(dto -> !dto.isCustomerUnavailable())
+                .forEach(dto -> assertEquals(dto.getCustomerId(), dto.getCustomer().getId()));
+    }
+
+    @Test
+    void projectedCustomersAreJoinedLocallyAndOnlyTheRestAreFetched() {
+        BankAccountRepository repository = mock(BankAccountRepository.class);
+        List<BankAccount> accounts = accounts(200, 100);
+        List<Object[]> rows = new ArrayList<>();
+        for (BankAccount account : accounts) {
+            // customers above 90 are not projected yet
+            CustomerProjection customer = account.getCustomerId() > 90 ? null : CustomerProjection.builder()
+                    .id(account.getCustomerId()).firstName("local").lastName("local").email(account.getCustomerId() + "@ebank.dev")
+                    .version(1L).build();
+            rows.add(new Object[]{account, customer});
+        }
+        when(repository.findAllWithCustomers()).thenReturn(rows);
+        CountingCustomerServiceClient client = new CountingCustomerServiceClient();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CustomerProjectionStatus status = new CustomerProjectionStatus(registry);
+        status.synced(Instant.now());
+        AccountServiceCore service = service(repository, client, registry, status);
+
+        List<BankAccountDTO> result = service.getAllAccounts();
+
+        assertEquals(accounts.size(), result.size());
+        assertEquals(1, client.batchCalls.get());
+        result.forEach(dto -> {
+            assertEquals(dto.getCustomerId(), dto.getCustomer().getId());
+            assertEquals(dto.getCustomerId() > 90 ? "first" + dto.getCustomerId() : "local", dto.getCustomer().getFirstName());
+        });
+    }
+
+    @Test
+    void unknownAccountIdIsNotFoundWithOrWithoutTheProjection() {
+        BankAccountRepository repository = mock(BankAccountRepository.class);
+        when(repository.findById("missing")).thenReturn(Optional.empty());
+        when(repository.findByIdWithCustomer("missing")).thenReturn(List.of());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CustomerProjectionStatus status = new CustomerProjectionStatus(registry);
+        AccountServiceCore service = service(repository, new CountingCustomerServiceClient(), registry, status);
+
+        assertThrows(AccountNotFoundException.class, () -> service.getAccountById("missing"));
+        status.synced(Instant.now());
+        assertThrows(AccountNotFoundException.class, () -> service.getAccountById("missing"));
+    }
+
+    private static AccountServiceCore service(BankAccountRepository repository, CustomerServiceClient client) {
+        return service(repository, client, new SimpleMeterRegistry());
+    }
+
+    private static AccountServiceCore service(BankAccountRepository repository, CustomerServiceClient client, SimpleMeterRegistry registry) {
+        return service(repository, client, registry, new CustomerProjectionStatus(registry));
+    }
+
+    private static AccountServiceCore service(BankAccountRepository repository, CustomerServiceClient client, SimpleMeterRegistry registry,
+                                              CustomerProjectionStatus projectionStatus) {
+        CustomerCacheProperties properties = new CustomerCacheProperties();
+        properties.setMaximumSize(100_000);
+        properties.setBatchSize(BATCH_SIZE);
+        CustomerCache cache = new CustomerCache(client, properties, registry);
+        CustomerEnricher enricher = new CustomerEnricher(cache, properties, registry, DEADLINE, 8, 256);
+        return new AccountServiceCore(repository, mock(AccountWriteBatcher.class), cache, enricher, projectionStatus, new BankAccountMapper(), mock(OutboxWriter.class), mock(EntityManager.class));
+    }
+
+    private static List<BankAccount> accounts(int count, int customers) {
+        List<BankAccount> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(BankAccount.builder()
+                    .accountId(UUID.randomUUID().toString())
+                    .balance(new BigDecimal("1000.00"))
+                    .currency("MAD")
+                    .type(AccountType.CURRENT_ACCOUNT)
+                    .customerId((long) (i % customers) + 1)
+                    .createdAt(LocalDate.now())
+                    .build());
+        }
+        return accounts;
+    }
+
+    static class CountingCustomerServiceClient implements CustomerServiceClient {
+        final AtomicInteger singleCalls = new AtomicInteger();
+        final AtomicInteger batchCalls = new AtomicInteger();
+        volatile boolean available = true;
+        /* when set, the chunk containing customer 1 answers once it is released */
+        volatile CountDownLatch slowChunkGate;
+
+        @Override
+        public Customer getCustomerById(Long id) {
+            singleCalls.incrementAndGet();
+            return customer(id);
+        }
+
+        @Override
+        public List<Customer> getAllCustomers() {
+            return List.of();
+        }
+
+        @Override
+        public CustomerPage getCustomersPage(Long after, int size) {
+            return getDefaultCustomersPage(after, size, new UnsupportedOperationException());
+        }
+
+        @Override
+        public List<Customer> getCustomersByIds(List<Long> ids) {
+            batchCalls.incrementAndGet();
+            CountDownLatch gate = slowChunkGate;
+            if (gate != null && ids.contains(1L)) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (!available) return getDefaultCustomersByIds(ids, new IllegalStateException("open circuit"));
+            return ids.stream().map(CountingCustomerServiceClient::customer).toList();
+        }
+
+        private static Customer customer(Long id) {
+            return Customer.builder().id(id).firstName("first" + id).lastName("last" + id).email(id + "@ebank.dev").build();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package kad.dev.accountservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.dto.CustomerChangeEventDTO;
+import kad.dev.accountservice.entity.CustomerProjection;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.repository.CustomerProjectionRepository;
+import kad.dev.outbox.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import({CustomerEventConsumer.class, CustomerEventConsumerTests.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerEventConsumerTests {
+
+    @Autowired
+    private CustomerEventConsumer consumer;
+    @Autowired
+    private CustomerProjectionRepository projections;
+    @Autowired
+    private MeterRegistry registry;
+    @MockBean
+    private CustomerCache customerCache;
+
+    @BeforeEach
+    void setUp() {
+        projections.deleteAllInBatch();
+    }
+
+    @Test
+    void aRedeliveredOrOlderEventIsDropped() {
+        consumer.apply(List.of(updated(10, 1, "new")));
+        consumer.apply(List.of(updated(10, 1, "new"), updated(7, 1, "old")));
+
+        CustomerProjection row = projections.findById(1L).orElseThrow();
+        assertEquals("new", row.getFirstName());
+        assertEquals(10L, row.getVersion());
+        assertEquals(2, registry.get("customer.events.stale").counter().count());
+        verify(customerCache, times(1)).putAll(anyList());
+    }
+
+    @Test
+    void aBatchIsAppliedInIdOrderWhateverOrderItArrivesIn() {
+        consumer.apply(List.of(updated(12, 1, "third"), updated(5, 1, "first"), updated(8, 1, "second")));
+
+        CustomerProjection row = projections.findById(1L).orElseThrow();
+        assertEquals("third", row.getFirstName());
+        assertEquals(12L, row.getVersion());
+    }
+
+    @Test
+    void aDeleteTombstonesTheRowAndAnOlderUpdateDoesNotReviveIt() {
+        consumer.apply(List.of(updated(3, 1, "before")));
+        consumer.apply(List.of(deleted(9, 1)));
+        consumer.apply(List.of(updated(6, 1, "late")));
+
+        CustomerProjection row = projections.findById(1L).orElseThrow();
+        assertTrue(row.isDeleted());
+        assertEquals("before", row.getFirstName());
+        assertEquals(9L, row.getVersion());
+        verify(customerCache).invalidate(1L);
+    }
+
+    @Test
+    void eventsOfOtherAggregatesAreIgnored() {
+        CustomerChangeEventDTO account = updated(4, 1, "x");
+        account.setAggregateType("account");
+
+        consumer.apply(List.of(account));
+
+        assertTrue(projections.findById(1L).isEmpty());
+        verifyNoInteractions(customerCache);
+    }
+
+    private static CustomerChangeEventDTO updated(long id, long customerId, String firstName) {
+        return CustomerChangeEventDTO.builder()
+                .id(id)
+                .aggregateType(CustomerEventConsumer.AGGREGATE)
+                .aggregateId(String.valueOf(customerId))
+                .type(ChangeType.UPDATED)
+                .payload(Customer.builder().id(customerId).firstName(firstName).lastName("last").email(customerId + "@ebank.dev").build())
+                .build();
+    }
+
+    private static CustomerChangeEventDTO deleted(long id, long customerId) {
+        return CustomerChangeEventDTO.builder()
+                .id(id)
+                .aggregateType(CustomerEventConsumer.AGGREGATE)
+                .aggregateId(String.valueOf(customerId))
+                .type(ChangeType.DELETED)
+                .build();
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
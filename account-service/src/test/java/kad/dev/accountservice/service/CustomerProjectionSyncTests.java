@@ -0,0 +1,168 @@
+package kad.dev.accountservice.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.api.CustomerChangesClient;
+import kad.dev.accountservice.dto.CustomerChangeEventDTO;
+import kad.dev.accountservice.dto.CustomerChangeFeedDTO;
+import kad.dev.accountservice.entity.CustomerProjection;
+import kad.dev.accountservice.entity.CustomerSyncState;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.model.CustomerPage;
+import kad.dev.accountservice.repository.CustomerProjectionRepository;
+import kad.dev.accountservice.repository.CustomerSyncStateRepository;
+import kad.dev.outbox.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@Import({CustomerProjectionSync.class, CustomerEventConsumer.class, CustomerProjectionStatus.class,
+        CustomerProjectionSyncTests.Metrics.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerProjectionSyncTests {
+
+    @Autowired
+    private CustomerProjectionSync projectionSync;
+    @Autowired
+    private CustomerProjectionRepository projections;
+    @Autowired
+    private CustomerSyncStateRepository syncState;
+    @MockBean
+    private CustomerChangesClient client;
+    @MockBean
+    private CustomerCache customerCache;
+
+    @BeforeEach
+    void setUp() {
+        projections.deleteAllInBatch();
+        syncState.deleteAllInBatch();
+    }
+
+    @Test
+    void aResyncLeavesRowsANewerEventAlreadyUpdated() {
+        projections.save(row(1, "pushed", 50, Instant.now().minus(Duration.ofHours(1))));
+        snapshotAt(40, customer(1, "snapshot"), customer(2, "snapshot"));
+
+        projectionSync.resync();
+
+        CustomerProjection pushed = projections.findById(1L).orElseThrow();
+        assertEquals("pushed", pushed.getFirstName());
+        assertEquals(50L, pushed.getVersion());
+        assertFalse(pushed.isDeleted());
+        CustomerProjection snapshot = projections.findById(2L).orElseThrow();
+        assertEquals("snapshot", snapshot.getFirstName());
+        assertEquals(40L, snapshot.getVersion());
+    }
+
+    @Test
+    void aResyncTombstonesCustomersTheSnapshotNoLongerHas() {
+        Instant before = Instant.now().minus(Duration.ofHours(1));
+        projections.saveAll(List.of(row(1, "kept", 10, before), row(2, "gone", 10, before), row(3, "kept", 10, before),
+                // deleted from customer-service but re-created by an event newer than the snapshot
+                row(4, "recreated", 30, before)));
+        snapshotAt(20, customer(1, "kept"), customer(3, "kept"));
+
+        projectionSync.resync();
+
+        assertFalse(projections.findById(1L).orElseThrow().isDeleted());
+        assertTrue(projections.findById(2L).orElseThrow().isDeleted());
+        assertFalse(projections.findById(3L).orElseThrow().isDeleted());
+        assertFalse(projections.findById(4L).orElseThrow().isDeleted());
+        verify(customerCache).invalidateAll();
+    }
+
+    @Test
+    void aSyncCatchesUpFromItsCheckpoint() {
+        checkpoint(5);
+        when(client.getChanges(eq(5L), anyInt())).thenReturn(CustomerChangeFeedDTO.builder()
+                .events(List.of(event(6, 1, "first"), event(7, 1, "second")))
+                .nextSince(7L)
+                .build());
+
+        projectionSync.sync();
+
+        assertEquals("second", projections.findById(1L).orElseThrow().getFirstName());
+        assertEquals(7L, syncState.findById(CustomerSyncState.ID).orElseThrow().getLastEventId());
+        verify(client, never()).getCustomersPage(any(), anyInt());
+    }
+
+    @Test
+    void aSyncFallsBackToAResyncWhenTheFeedNoLongerReachesItsCheckpoint() {
+        checkpoint(5);
+        when(client.getChanges(eq(5L), anyInt())).thenReturn(CustomerChangeFeedDTO.builder()
+                .events(List.of())
+                .nextSince(5L)
+                .resyncRequired(true)
+                .build());
+        snapshotAt(100, customer(1, "snapshot"));
+
+        projectionSync.sync();
+
+        CustomerSyncState state = syncState.findById(CustomerSyncState.ID).orElseThrow();
+        assertEquals(100L, state.getLastEventId());
+        assertNotNull(state.getFullSyncAt());
+        assertEquals("snapshot", projections.findById(1L).orElseThrow().getFirstName());
+    }
+
+    /* customer-service at event head, with no changes after it */
+    private void snapshotAt(long head, Customer... customers) {
+        when(client.getHead()).thenReturn(head);
+        when(client.getCustomersPage(isNull(), anyInt()))
+                .thenReturn(CustomerPage.builder().content(List.of(customers)).size(customers.length).build());
+        when(client.getChanges(eq(head), anyInt()))
+                .thenReturn(CustomerChangeFeedDTO.builder().events(List.of()).nextSince(head).build());
+    }
+
+    private void checkpoint(long lastEventId) {
+        syncState.save(CustomerSyncState.builder().id(CustomerSyncState.ID).lastEventId(lastEventId).syncedAt(Instant.now()).build());
+    }
+
+    private static CustomerProjection row(long id, String firstName, long version, Instant updatedAt) {
+        return CustomerProjection.builder()
+                .id(id)
+                .firstName(firstName)
+                .lastName("last")
+                .email(id + "@ebank.dev")
+                .version(version)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static Customer customer(long id, String firstName) {
+        return Customer.builder().id(id).firstName(firstName).lastName("last").email(id + "@ebank.dev").build();
+    }
+
+    private static CustomerChangeEventDTO event(long id, long customerId, String firstName) {
+        return CustomerChangeEventDTO.builder()
+                .id(id)
+                .aggregateType(CustomerEventConsumer.AGGREGATE)
+                .aggregateId(String.valueOf(customerId))
+                .type(ChangeType.UPDATED)
+                .payload(customer(customerId, firstName))
+                .build();
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
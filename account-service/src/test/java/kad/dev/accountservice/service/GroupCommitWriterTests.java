@@ -0,0 +1,177 @@
+package kad.dev.accountservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitWriterTests {
+    private static final int THREADS = 32;
+    private static final int ITEMS_PER_THREAD = 200;
+    private static final int MAX_BATCH = 50;
+
+    @Test
+    void concurrentWritesAreCoalescedIntoBoundedBatches() throws Exception {
+        RecordingWriter written = new RecordingWriter(Duration.ofMillis(1));
+        List<Integer> results = Collections.synchronizedList(new ArrayList<>());
+        try (GroupCommitWriter<Integer> writer = writer(written, Duration.ofMillis(2))) {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ITEMS_PER_THREAD; i++) results.add(writer.write(thread * ITEMS_PER_THREAD + i));
+                }));
+            }
+            for (Future<?> future : futures) future.get(1, TimeUnit.MINUTES);
+            executor.shutdown();
+        }
+
+        int items = THREADS * ITEMS_PER_THREAD;
+        assertEquals(items, results.size());
+        assertEquals(items, new HashSet<>(results).size());
+        assertEquals(items, written.items().size());
+        assertEquals(new HashSet<>(results), new HashSet<>(written.items()));
+        assertTrue(written.batchSizes().stream().allMatch(size -> size <= MAX_BATCH), written.batchSizes().toString());
+        // each caller waits for its commit, so up to THREADS items are pending at once
+        assertTrue(written.batchSizes().size() < items / 4, written.batchSizes().size() + " batches");
+    }
+
+    @Test
+    void aFailingBatchIsRetriedItemByItem() throws Exception {
+        RecordingWriter written = new RecordingWriter(Duration.ZERO);
+        Consumer<List<Integer>> rejectsSeven = items -> {
+            if (items.contains(7)) throw new IllegalStateException("bad row 7");
+            written.accept(items);
+        };
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        // a long window and a batch size of 10 put the ten submissions into one batch
+        try (GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", rejectsSeven, 100, 10,
+                Duration.ofSeconds(5), Duration.ofSeconds(1))) {
+            for (int i = 0; i < 10; i++) futures.add(writer.submit(i));
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).get(10, TimeUnit.SECONDS);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<Integer> future = futures.get(i);
+            if (i == 7) {
+                ExecutionException failure = assertThrows(ExecutionException.class, future::get);
+                assertEquals("bad row 7", failure.getCause().getMessage());
+            } else {
+                assertEquals(i, future.get());
+            }
+        }
+        // one failed batch of 10, then one call per item, of which 9 succeed
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 8, 9), written.items());
+        assertEquals(9, written.batchSizes().size());
+    }
+
+    @Test
+    void writeRethrowsTheCauseOfItsOwnFailure() throws Exception {
+        try (GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", items -> {
+            throw new IllegalArgumentException("constraint violated");
+        }, 10, 10, Duration.ZERO, Duration.ofSeconds(1))) {
+            IllegalArgumentException failure = assertThrows(IllegalArgumentException.class, () -> writer.write(1));
+            assertEquals("constraint violated", failure.getMessage());
+        }
+    }
+
+    @Test
+    void closeWritesWhatIsQueuedAndRejectsWhatComesAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingWriter written = new RecordingWriter(Duration.ZERO);
+        GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", items -> {
+            awaitQuietly(release);
+            written.accept(items);
+        }, 100, 1, Duration.ZERO, Duration.ofSeconds(1));
+        List<CompletableFuture<Integer>> queued = new ArrayList<>();
+        for (int i = 0; i < 5; i++) queued.add(writer.submit(i));
+
+        Thread closer = new Thread(() -> {
+            try {
+                writer.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        closer.start();
+        // close() marks the writer closed before it waits for the flusher, which is still stuck on item 0
+        while (closer.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> writer.submit(99).get());
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+        release.countDown();
+        closer.join(TimeUnit.SECONDS.toMillis(10));
+
+        for (int i = 0; i < 5; i++) assertEquals(i, queued.get(i).get());
+        assertEquals(List.of(0, 1, 2, 3, 4), written.items());
+    }
+
+    @Test
+    void anInterruptedFlusherStopsAndLaterSubmissionsFail() throws Exception {
+        BlockingQueue<Thread> flushers = new LinkedBlockingQueue<>();
+        GroupCommitWriter<Integer> writer = new GroupCommitWriter<>("test-writer", items -> flushers.add(Thread.currentThread()),
+                10, 10, Duration.ZERO, Duration.ofSeconds(1));
+        assertEquals(1, writer.write(1));
+        Thread flusher = flushers.take();
+
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(flusher.isAlive());
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> writer.submit(2).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+    }
+
+    private static GroupCommitWriter<Integer> writer(Consumer<List<Integer>> batchWriter, Duration flushWindow) {
+        return new GroupCommitWriter<>("test-writer", batchWriter, 10_000, MAX_BATCH, flushWindow, Duration.ofSeconds(5));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* records every successful batch, optionally taking some time per call like a commit would */
+    private static class RecordingWriter implements Consumer<List<Integer>> {
+        private final List<Integer> items = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final Duration commitTime;
+
+        RecordingWriter(Duration commitTime) {
+            this.commitTime = commitTime;
+        }
+
+        @Override
+        public synchronized void accept(List<Integer> batch) {
+            if (!commitTime.isZero()) {
+                try {
+                    Thread.sleep(commitTime);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            items.addAll(batch);
+            batchSizes.add(batch.size());
+        }
+
+        synchronized List<Integer> items() {
+            return new ArrayList<>(items);
+        }
+
+        synchronized List<Integer> batchSizes() {
+            return new ArrayList<>(batchSizes);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package kad.dev.accountservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.api.CustomerCacheProperties;
+import kad.dev.accountservice.api.CustomerServiceClient;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.exceptions.AccountNotFoundException;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.reactive.BankAccountRow;
+import kad.dev.accountservice.reactive.ReactiveBankAccountRepository;
+import kad.dev.accountservice.reactive.ReactiveCustomerClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ReactiveAccountServiceCoreTests {
+    private static final int BATCH_SIZE = 500;
+
+    private ReactiveBankAccountRepository repository;
+    private ReactiveCustomerClient customerClient;
+    private CustomerCache cache;
+    private ReactiveAccountServiceCore service;
+    private final AtomicInteger batchCalls = new AtomicInteger();
+    /* customers above this id are unknown to the customer client */
+    private long knownCustomers = Long.MAX_VALUE;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ReactiveBankAccountRepository.class);
+        customerClient = mock(ReactiveCustomerClient.class);
+        when(customerClient.getCustomerById(anyLong())).thenAnswer(call -> Mono.just(customer(call.getArgument(0))));
+        when(customerClient.getCustomersByIds(anyList())).thenAnswer(call -> {
+            batchCalls.incrementAndGet();
+            List<Long> ids = call.getArgument(0);
+            return Flux.fromIterable(ids).map(id -> id > knownCustomers ? CustomerServiceClient.notAvailable(id) : customer(id));
+        });
+        CustomerCacheProperties properties = new CustomerCacheProperties();
+        properties.setBatchSize(BATCH_SIZE);
+        cache = new CustomerCache(mock(CustomerServiceClient.class), properties, new SimpleMeterRegistry());
+        service = new ReactiveAccountServiceCore(repository, customerClient, cache, new BankAccountMapper(), properties, 4);
+    }
+
+    @Test
+    void anAccountWithoutCustomerIsReturnedWithoutLookingOneUp() {
+        when(repository.findById("a-1")).thenReturn(Mono.just(row("a-1", null)));
+
+        BankAccountDTO account = service.getAccountById("a-1").block();
+
+        assertNotNull(account);
+        assertNull(account.getCustomer());
+        assertFalse(account.isCustomerUnavailable());
+        verifyNoInteractions(customerClient);
+    }
+
+    @Test
+    void singleReadsGoThroughTheCache() {
+        when(repository.findById("a-1")).thenReturn(Mono.just(row("a-1", 7L)));
+
+        assertEquals(7L, service.getAccountById("a-1").block().getCustomer().getId());
+        assertEquals(7L, service.getAccountById("a-1").block().getCustomer().getId());
+
+        verify(customerClient, times(1)).getCustomerById(7L);
+    }
+
+    @Test
+    void aMissingAccountFails() {
+        when(repository.findById(any(String.class))).thenReturn(Mono.empty());
+
+        assertThrows(AccountNotFoundException.class, () -> service.getAccountById("missing").block());
+    }
+
+    @Test
+    void listsAreEnrichedInBatchesAndKeepTheirOrder() {
+        List<BankAccountRow> rows = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) rows.add(row("a-" + i, i % 100 == 0 ? null : (long) i));
+        when(repository.findAll()).thenReturn(Flux.fromIterable(rows));
+        knownCustomers = 1_000;
+
+        List<BankAccountDTO> accounts = service.getAllAccounts().collectList().block();
+
+        assertEquals(rows.stream().map(BankAccountRow::getAccountId).toList(), accounts.stream().map(BankAccountDTO::getAccountId).toList());
+        assertEquals(3, batchCalls.get());
+        for (BankAccountDTO account : accounts) {
+            if (account.getCustomerId() == null) {
+                assertNull(account.getCustomer());
+            } else {
+                assertEquals(account.getCustomerId(), account.getCustomer().getId());
+                assertEquals(account.getCustomerId() > 1_000, account.isCustomerUnavailable());
+            }
+        }
+        // only real customers were cached: a second read fetches just the unavailable ones again
+        service.getAllAccounts().collectList().block();
+        assertEquals(4, batchCalls.get());
+    }
+
+    @Test
+    void anUnknownTypeFails() {
+        assertThrows(IllegalArgumentException.class, () -> service.getAccountsByType("GOLD_ACCOUNT").collectList().block());
+        verifyNoInteractions(repository);
+    }
+
+    private static BankAccountRow row(String id, Long customerId) {
+        return BankAccountRow.builder()
+                .accountId(id)
+                .balance(new BigDecimal("100.00"))
+                .currency("MAD")
+                .type(AccountType.CURRENT_ACCOUNT)
+                .customerId(customerId)
+                .createdAt(LocalDate.of(2024, 1, 1))
+                .version(0L)
+                .build();
+    }
+
+    private static Customer customer(Long id) {
+        return Customer.builder().id(id).firstName("first" + id).lastName("last" + id).email(id + "@ebank.dev").build();
+    }
+}
@@ -0,0 +1,128 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.dto.StatementLineDTO;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.enums.MovementType;
+import kad.dev.accountservice.exceptions.AccountNotFoundException;
+import kad.dev.accountservice.exceptions.InvalidCursorException;
+import kad.dev.accountservice.mapper.LedgerEntryMapper;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({StatementServiceCore.class, LedgerEntryMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StatementServiceCoreTests {
+
+    private static final int DAYS = 10;
+    private static final int MOVEMENTS_PER_DAY = 250;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 1);
+
+    @Autowired
+    private StatementService statementService;
+    @Autowired
+    private BankAccountRepository accountRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerRepository;
+
+    private String accountId;
+
+    @BeforeEach
+    void setUp() {
+        ledgerRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        accountId = accountRepository.save(BankAccount.builder()
+                .balance(BigDecimal.ZERO.setScale(2))
+                .currency("MAD")
+                .type(AccountType.CURRENT_ACCOUNT)
+                .customerId(1L)
+                .createdAt(FIRST_DAY)
+                .build()).getAccountId();
+        BigDecimal balance = BigDecimal.ZERO.setScale(2);
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            Instant start = FIRST_DAY.plusDays(day).atStartOfDay(ZoneOffset.UTC).toInstant();
+            for (int i = 0; i < MOVEMENTS_PER_DAY; i++) {
+                // every movement of a day shares its second with nine others, so ordering falls back to the id
+                Instant at = start.plus(i / 10, ChronoUnit.SECONDS);
+                BigDecimal amount = BigDecimal.valueOf(100 + i, 2);
+                if (i % 3 == 2) {
+                    balance = balance.subtract(amount);
+                    entries.addAll(LedgerPostings.post(accountId, balance, LedgerEntry.EXTERNAL_ACCOUNT, null, amount,
+                            MovementType.WITHDRAWAL, "Withdrawal, ATM \"12\"", at));
+                } else {
+                    balance = balance.add(amount);
+                    entries.addAll(LedgerPostings.post(LedgerEntry.EXTERNAL_ACCOUNT, null, accountId, balance, amount,
+                            MovementType.DEPOSIT, "Deposit", at));
+                }
+            }
+        }
+        ledgerRepository.saveAll(entries);
+    }
+
+    @Test
+    void statementListsEveryMovementInOrderWithItsRunningBalance() {
+        List<StatementLineDTO> lines = statement(null, null, null);
+
+        assertEquals(DAYS * MOVEMENTS_PER_DAY, lines.size());
+        for (int i = 1; i < lines.size(); i++) {
+            StatementLineDTO previous = lines.get(i - 1);
+            StatementLineDTO line = lines.get(i);
+            assertTrue(previous.getCreatedAt().isBefore(line.getCreatedAt())
+                    || previous.getCreatedAt().equals(line.getCreatedAt()) && previous.getEntryId() < line.getEntryId());
+            assertEquals(0, previous.getBalance().add(line.getAmount()).compareTo(line.getBalance()));
+        }
+    }
+
+    @Test
+    void periodIsWholeDaysInclusive() {
+        List<StatementLineDTO> lines = statement(FIRST_DAY.plusDays(2), FIRST_DAY.plusDays(4), null);
+
+        assertEquals(3 * MOVEMENTS_PER_DAY, lines.size());
+        assertEquals(FIRST_DAY.plusDays(2).atStartOfDay(ZoneOffset.UTC).toInstant(), lines.get(0).getCreatedAt());
+    }
+
+    @Test
+    void continuationResumesRightAfterTheLastLineReceived() {
+        List<StatementLineDTO> all = statement(FIRST_DAY, FIRST_DAY.plusDays(DAYS), null);
+        int cut = 1_234;
+
+        List<StatementLineDTO> rest = statement(FIRST_DAY, FIRST_DAY.plusDays(DAYS), all.get(cut - 1).getContinuation());
+
+        assertEquals(all.size() - cut, rest.size());
+        for (int i = 0; i < rest.size(); i++) {
+            assertEquals(all.get(cut + i).getEntryId(), rest.get(i).getEntryId());
+        }
+    }
+
+    @Test
+    void invalidRequestsFailBeforeStreaming() {
+        assertThrows(AccountNotFoundException.class, () -> statementService.statementRange("missing", null, null, null));
+        assertThrows(InvalidCursorException.class, () -> statementService.statementRange(accountId, null, null, "not-a-token"));
+    }
+
+    private List<StatementLineDTO> statement(LocalDate from, LocalDate to, String continuation) {
+        List<StatementLineDTO> lines = new ArrayList<>();
+        statementService.streamStatement(statementService.statementRange(accountId, from, to, continuation), lines::add);
+        return lines;
+    }
+}
@@ -0,0 +1,130 @@
+package kad.dev.accountservice.service;
+
+import kad.dev.accountservice.dto.OperationRequestDTO;
+import kad.dev.accountservice.dto.TransferRequestDTO;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.enums.EntryDirection;
+import kad.dev.accountservice.exceptions.InsufficientFundsException;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import kad.dev.accountservice.repository.LedgerEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({TransferServiceCore.class, AccountLocks.class, BankAccountMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TransferServiceCoreTests {
+
+    private static final int ACCOUNTS = 8;
+    private static final int THREADS = 16;
+    private static final int TRANSFERS_PER_THREAD = 500;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.00");
+
+    @Autowired
+    private TransferService transferService;
+    @Autowired
+    private BankAccountRepository accountRepository;
+    @Autowired
+    private LedgerEntryRepository ledgerRepository;
+
+    private final List<String> accountIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ledgerRepository.deleteAllInBatch();
+        accountRepository.deleteAllInBatch();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            BankAccount account = accountRepository.save(BankAccount.builder()
+                    .balance(INITIAL_BALANCE)
+                    .currency("MAD")
+                    .type(i % 2 == 0 ? AccountType.CURRENT_ACCOUNT : AccountType.SAVING_ACCOUNT)
+                    .customerId((long) i)
+                    .createdAt(LocalDate.now())
+                    .build());
+            accountIds.add(account.getAccountId());
+        }
+    }
+
+    @Test
+    void concurrentTransfersBetweenHotAccountsConserveBalances() throws Exception {
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                start.await();
+                for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                    int from = random.nextInt(ACCOUNTS);
+                    int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+                    BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 50_000), 2);
+                    try {
+                        transferService.transfer(new TransferRequestDTO(accountIds.get(from), accountIds.get(to), amount, "stress"));
+                        completed.incrementAndGet();
+                    } catch (InsufficientFundsException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, completed.get() + rejected.get());
+
+        List<BankAccount> accounts = accountRepository.findAll();
+        BigDecimal total = accounts.stream().map(BankAccount::getBalance).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, INITIAL_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total));
+        accounts.forEach(a -> assertTrue(a.getBalance().signum() >= 0));
+
+        List<LedgerEntry> entries = ledgerRepository.findAll();
+        assertEquals(completed.get() * 2, entries.size());
+        Map<String, BigDecimal> netByTransfer = entries.stream().collect(Collectors.groupingBy(LedgerEntry::getTransferId,
+                Collectors.reducing(BigDecimal.ZERO, TransferServiceCoreTests::signed, BigDecimal::add)));
+        netByTransfer.values().forEach(net -> assertEquals(0, net.signum()));
+        for (BankAccount account : accounts) {
+            BigDecimal movements = entries.stream()
+                    .filter(e -> e.getAccountId().equals(account.getAccountId()))
+                    .map(TransferServiceCoreTests::signed)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            assertEquals(0, INITIAL_BALANCE.add(movements).compareTo(account.getBalance()));
+        }
+    }
+
+    @Test
+    void debitBelowSavingMinimumIsRejected() {
+        String saving = accountIds.get(1);
+        assertThrows(InsufficientFundsException.class,
+                () -> transferService.debit(new OperationRequestDTO(saving, new BigDecimal("9900.01"), null)));
+        transferService.debit(new OperationRequestDTO(saving, new BigDecimal("9900.00"), null));
+        assertEquals(0, new BigDecimal("100.00").compareTo(accountRepository.findById(saving).orElseThrow().getBalance()));
+    }
+
+    private static BigDecimal signed(LedgerEntry entry) {
+        return entry.getDirection() == EntryDirection.CREDIT ? entry.getAmount() : entry.getAmount().negate();
+    }
+}
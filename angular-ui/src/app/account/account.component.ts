@@ -7,16 +7,24 @@ import {AccountService} from '../services/account/account.service';
   styleUrl: './account.component.css'
 })
 export class AccountComponent implements OnInit{
-  accounts: any;
+  accounts: any[] = [];
+  nextCursor: string | null = null;
+  failures: any[] = [];
 
   constructor(private service: AccountService) {
   }
 
   ngOnInit(): void {
-    this.service.getAccounts().subscribe(
+    this.loadPage();
+  }
+
+  loadPage(cursor?: string): void {
+    this.service.getDashboard(cursor).subscribe(
       {
-        next: data => {
-          this.accounts = data
+        next: (data: any) => {
+          this.accounts = this.accounts.concat(data.accounts);
+          this.nextCursor = data.nextCursor;
+          this.failures = data.failures;
         },
         error: err => {
           console.log(err)
@@ -1,5 +1,5 @@
 import { Injectable } from '@angular/core';
-import {HttpClient} from '@angular/common/http';
+import {HttpClient, HttpParams} from '@angular/common/http';
 import {Observable} from 'rxjs';
 
 @Injectable({
@@ -14,4 +14,10 @@ export class AccountService {
   getAccounts(): Observable<Object>{
     return this.http.get(this.API_URL+"accounts");
   }
+
+  getDashboard(cursor?: string): Observable<Object>{
+    let params = new HttpParams();
+    if (cursor) params = params.set("cursor", cursor);
+    return this.http.get(new URL("/bff/dashboard", this.API_URL).toString(), {params});
+  }
 }
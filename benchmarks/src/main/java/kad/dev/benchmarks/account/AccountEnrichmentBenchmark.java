@@ -0,0 +1,84 @@
+package kad.dev.benchmarks.account;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.accountservice.api.CustomerCache;
+import kad.dev.accountservice.api.CustomerCacheProperties;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.accountservice.service.AccountServiceCore;
+import kad.dev.accountservice.service.CustomerEnricher;
+import kad.dev.accountservice.service.CustomerProjectionStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AccountServiceCore.getAllAccounts with customer enrichment against a stubbed CustomerServiceClient,
+ * with a cold (every customer loaded through the bulk call) and a warm near-cache. {@code parallelism}
+ * is the number of bulk calls the enricher keeps in flight on a cold cache; {@code roundTripMillis} is the
+ * simulated latency of each of those calls.
+ * <p>
+ * For the deadline, run with e.g. {@code -p slowChunkMillis=2000 -p deadlineMillis=300}: the chunk holding
+ * customer 1 then answers late, and coldCache should settle at about the deadline with that chunk as placeholders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountEnrichmentBenchmark {
+
+    @Param({"1000", "50000"})
+    private int accounts;
+
+    @Param({"10", "1000"})
+    private int accountsPerCustomer;
+
+    @Param({"1", "8"})
+    private int parallelism;
+
+    @Param({"0", "5"})
+    private long roundTripMillis;
+
+    @Param({"0"})
+    private long slowChunkMillis;
+
+    @Param({"5000"})
+    private long deadlineMillis;
+
+    private CustomerCache customerCache;
+    private CustomerEnricher enricher;
+    private AccountServiceCore service;
+
+    @Setup
+    public void setUp() {
+        CustomerCacheProperties properties = new CustomerCacheProperties();
+        properties.setMaximumSize(accounts);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        customerCache = new CustomerCache(new StubCustomerServiceClient(Duration.ofMillis(roundTripMillis),
+                Duration.ofMillis(slowChunkMillis)), properties, registry);
+        enricher = new CustomerEnricher(customerCache, properties, registry, Duration.ofMillis(deadlineMillis), parallelism, 1024);
+        service = new AccountServiceCore(
+                StubRepositories.bankAccounts(BenchmarkData.accounts(accounts, Math.max(1, accounts / accountsPerCustomer))),
+                null, customerCache, enricher, new CustomerProjectionStatus(registry), new BankAccountMapper(), null, null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        enricher.close();
+    }
+
+    @Benchmark
+    public List<BankAccountDTO> warmCache() {
+        return service.getAllAccounts();
+    }
+
+    @Benchmark
+    public List<BankAccountDTO> coldCache() {
+        customerCache.invalidateAll();
+        return service.getAllAccounts();
+    }
+}
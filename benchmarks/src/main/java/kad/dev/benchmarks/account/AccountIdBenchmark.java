@@ -0,0 +1,98 @@
+package kad.dev.benchmarks.account;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import kad.dev.accountservice.entity.id.TimeOrderedIds;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Batched account inserts into a table that already holds {@code preloaded} rows, keyed by random UUIDs versus
+ * {@link TimeOrderedIds}. The primary key size at the start of each iteration is reported as the
+ * {@code primaryKeyBytes} secondary result: H2 reports the table including its indexes through DISK_SPACE_USED,
+ * PostgreSQL the size of the primary key index alone.
+ * Runs against an H2 file database by default; pass -Dbench.jdbcUrl/-Dbench.user/-Dbench.password for PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountIdBenchmark {
+    private static final int BATCH = 100;
+
+    @Param({"uuid", "timeOrdered"})
+    private String keys;
+
+    @Param({"500000"})
+    private int preloaded;
+
+    private HikariDataSource dataSource;
+    private Supplier<String> ids;
+    private long primaryKeyBytes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long primaryKeyBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("bench.jdbcUrl", "jdbc:h2:file:./target/id-bench;DB_CLOSE_ON_EXIT=FALSE"));
+        config.setUsername(System.getProperty("bench.user", "sa"));
+        config.setPassword(System.getProperty("bench.password", ""));
+        config.setMaximumPoolSize(16);
+        dataSource = new HikariDataSource(config);
+        TimeOrderedIds timeOrdered = new TimeOrderedIds(1);
+        ids = "uuid".equals(keys) ? () -> UUID.randomUUID().toString() : timeOrdered::next;
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists bank_account");
+            statement.execute("create table bank_account (account_id varchar(36) primary key, balance numeric(19,2), " +
+                    "currency varchar(3), type varchar(32), customer_id bigint, created_at date, version bigint)");
+        }
+        for (int i = 0; i < preloaded; i += BATCH) {
+            AccountInsertBenchmark.insertBatch(dataSource, nextBatch());
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void measurePrimaryKey() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            boolean postgres = connection.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres");
+            String query = postgres ? "select pg_relation_size('bank_account_pkey')" : "call disk_space_used('BANK_ACCOUNT')";
+            try (ResultSet result = statement.executeQuery(query)) {
+                primaryKeyBytes = result.next() ? result.getLong(1) : 0;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insert(Size size) {
+        size.primaryKeyBytes = primaryKeyBytes;
+        AccountInsertBenchmark.insertBatch(dataSource, nextBatch());
+    }
+
+    private List<String> nextBatch() {
+        List<String> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) batch.add(ids.get());
+        return batch;
+    }
+}
@@ -0,0 +1,124 @@
+package kad.dev.benchmarks.account;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import kad.dev.accountservice.service.GroupCommitWriter;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Account inserts per second at 1, 16 and 256 concurrent clients: one transaction per insert versus
+ * group commit through {@link GroupCommitWriter} (one JDBC batch and one commit per flush).
+ * Runs against an H2 file database by default; pass -Dbench.jdbcUrl/-Dbench.user/-Dbench.password for PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountInsertBenchmark {
+    private static final String INSERT = "insert into bank_account (account_id, balance, currency, type, customer_id, created_at, version) " +
+            "values (?, ?, ?, ?, ?, ?, 0)";
+
+    private HikariDataSource dataSource;
+    private GroupCommitWriter<String> writer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("bench.jdbcUrl", "jdbc:h2:file:./target/insert-bench;DB_CLOSE_ON_EXIT=FALSE"));
+        config.setUsername(System.getProperty("bench.user", "sa"));
+        config.setPassword(System.getProperty("bench.password", ""));
+        config.setMaximumPoolSize(64);
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists bank_account");
+            statement.execute("create table bank_account (account_id varchar(36) primary key, balance numeric(19,2), " +
+                    "currency varchar(3), type varchar(32), customer_id bigint, created_at date, version bigint)");
+        }
+        writer = new GroupCommitWriter<>("bench-writer", ids -> insertBatch(dataSource, ids), 100_000, 100,
+                Duration.ofMillis(2), Duration.ofSeconds(30));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        writer.close();
+        dataSource.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void perRequest_1() throws SQLException {
+        insertOne();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void perRequest_16() throws SQLException {
+        insertOne();
+    }
+
+    @Benchmark
+    @Threads(256)
+    public void perRequest_256() throws SQLException {
+        insertOne();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String groupCommit_1() {
+        return writer.write(UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    @Threads(16)
+    public String groupCommit_16() {
+        return writer.write(UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    @Threads(256)
+    public String groupCommit_256() {
+        return writer.write(UUID.randomUUID().toString());
+    }
+
+    private void insertOne() throws SQLException {
+        insertBatch(dataSource, List.of(UUID.randomUUID().toString()));
+    }
+
+    static void insertBatch(DataSource dataSource, List<String> ids) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                Date today = Date.valueOf(BenchmarkData.CREATED_AT);
+                for (String id : ids) {
+                    insert.setString(1, id);
+                    insert.setBigDecimal(2, java.math.BigDecimal.TEN);
+                    insert.setString(3, "MAD");
+                    insert.setString(4, "CURRENT_ACCOUNT");
+                    insert.setLong(5, 1L);
+                    insert.setDate(6, today);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package kad.dev.benchmarks.account;
+
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.enums.AccountType;
+import kad.dev.accountservice.model.Customer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic fixtures shared by the account-service benchmarks, so runs are comparable across releases.
+ */
+public final class BenchmarkData {
+    public static final LocalDate CREATED_AT = LocalDate.of(2024, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    public static List<BankAccount> accounts(int count, int customers) {
+        List<BankAccount> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            accounts.add(BankAccount.builder()
+                    .accountId(String.format("00000000-0000-0000-0000-%012d", i))
+                    .balance(BigDecimal.valueOf(100_000 + i % 50_000, 2))
+                    .currency("MAD")
+                    .type(i % 2 == 0 ? AccountType.CURRENT_ACCOUNT : AccountType.SAVING_ACCOUNT)
+                    .customerId((long) (i % customers) + 1)
+                    .createdAt(CREATED_AT.plusDays(i % 365))
+                    .build());
+        }
+        return accounts;
+    }
+
+    public static Customer customer(Long id) {
+        return Customer.builder()
+                .id(id)
+                .firstName("first" + id)
+                .lastName("last" + id)
+                .email("customer" + id + "@ebank.dev")
+                .build();
+    }
+}
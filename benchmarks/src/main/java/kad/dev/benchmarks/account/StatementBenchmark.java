@@ -0,0 +1,203 @@
+package kad.dev.benchmarks.account;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import kad.dev.accountservice.entity.LedgerEntry;
+import kad.dev.accountservice.enums.EntryDirection;
+import kad.dev.accountservice.enums.MovementType;
+import kad.dev.accountservice.mapper.LedgerEntryMapper;
+import kad.dev.accountservice.web.StatementWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The statement endpoint's read and write path for one account with {@code movements} ledger entries: a forward
+ * cursor over idx_ledger_entry_account_created, each row mapped by {@link LedgerEntryMapper} and written by
+ * {@link StatementWriter} to a discarding stream. timeToFirstByte stops at the writer's first flush;
+ * fullStatement writes the whole history, so movements / score is the throughput in lines per second. Heap stays
+ * at the cursor's fetch size whatever the number of movements (run with -prof gc).
+ * Runs against an H2 file database under target/ (built once and reused by later runs); pass
+ * -Dbench.jdbcUrl/-Dbench.user/-Dbench.password for PostgreSQL. Hibernate's own per-row cost is not included.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class StatementBenchmark {
+    private static final String ACCOUNT = "statement-bench-account";
+    private static final int FETCH_SIZE = 1000;
+    private static final String QUERY = "select id, transfer_id, account_id, counterparty_account_id, direction, type, amount, " +
+            "balance_after, description, created_at from ledger_entry where account_id = ? and created_at >= ? and created_at < ? " +
+            "order by created_at, id";
+
+    @Param({"5000000"})
+    private int movements;
+
+    @Param({"jsonl", "csv"})
+    private String format;
+
+    private HikariDataSource dataSource;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final LedgerEntryMapper mapper = new LedgerEntryMapper();
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("bench.jdbcUrl", "jdbc:h2:file:./target/statement-bench;LAZY_QUERY_EXECUTION=1"));
+        config.setUsername(System.getProperty("bench.user", "sa"));
+        config.setPassword(System.getProperty("bench.password", ""));
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection()) {
+            if (count(connection) != movements) load(connection);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long timeToFirstByte() throws SQLException, IOException {
+        DiscardingOutputStream out = new DiscardingOutputStream(true);
+        try {
+            statement(out);
+        } catch (FirstByte e) {
+            // the writer flushed its first line
+        }
+        return out.bytes;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public long fullStatement() throws SQLException, IOException {
+        DiscardingOutputStream out = new DiscardingOutputStream(false);
+        statement(out);
+        return out.bytes;
+    }
+
+    private void statement(OutputStream out) throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            try (PreparedStatement statement = connection.prepareStatement(QUERY);
+                 StatementWriter writer = "csv".equals(format) ? StatementWriter.csv(out) : StatementWriter.jsonLines(objectMapper, out)) {
+                statement.setFetchSize(FETCH_SIZE);
+                statement.setString(1, ACCOUNT);
+                statement.setTimestamp(2, Timestamp.from(Instant.EPOCH));
+                statement.setTimestamp(3, Timestamp.from(Instant.now()));
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) writer.accept(mapper.toStatementLine(entry(rows)));
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    private static LedgerEntry entry(ResultSet rows) throws SQLException {
+        return LedgerEntry.builder()
+                .id(rows.getLong(1))
+                .transferId(rows.getString(2))
+                .accountId(rows.getString(3))
+                .counterpartyAccountId(rows.getString(4))
+                .direction(EntryDirection.valueOf(rows.getString(5)))
+                .type(MovementType.valueOf(rows.getString(6)))
+                .amount(rows.getBigDecimal(7))
+                .balanceAfter(rows.getBigDecimal(8))
+                .description(rows.getString(9))
+                .createdAt(rows.getTimestamp(10).toInstant())
+                .build();
+    }
+
+    private int count(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists ledger_entry (id bigint primary key, transfer_id varchar(255), " +
+                    "account_id varchar(255), counterparty_account_id varchar(255), direction varchar(255), type varchar(255), " +
+                    "amount numeric(19,2), balance_after numeric(19,2), description varchar(255), created_at timestamp(6) with time zone)");
+            statement.execute("create index if not exists idx_ledger_entry_account_created on ledger_entry (account_id, created_at, id)");
+            try (ResultSet rows = statement.executeQuery("select count(*) from ledger_entry where account_id = '" + ACCOUNT + "'")) {
+                rows.next();
+                return rows.getInt(1);
+            }
+        }
+    }
+
+    /*
+     * One movement a minute, alternating deposits and withdrawals so the balance stays positive
+     */
+    private void load(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("delete from ledger_entry");
+        }
+        Instant start = Instant.now().minusSeconds(60L * movements);
+        BigDecimal balance = BigDecimal.valueOf(1_000_000, 2);
+        try (PreparedStatement insert = connection.prepareStatement("insert into ledger_entry values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < movements; i++) {
+                boolean credit = i % 2 == 0;
+                BigDecimal amount = BigDecimal.valueOf(1_000 + i % 5_000, 2);
+                balance = credit ? balance.add(amount) : balance.subtract(amount);
+                insert.setLong(1, i + 1);
+                insert.setString(2, "transfer-" + i);
+                insert.setString(3, ACCOUNT);
+                insert.setString(4, LedgerEntry.EXTERNAL_ACCOUNT);
+                insert.setString(5, (credit ? EntryDirection.CREDIT : EntryDirection.DEBIT).name());
+                insert.setString(6, (credit ? MovementType.DEPOSIT : MovementType.WITHDRAWAL).name());
+                insert.setBigDecimal(7, amount);
+                insert.setBigDecimal(8, balance);
+                insert.setString(9, credit ? "Deposit" : "Card payment, \"ebank\"");
+                insert.setTimestamp(10, Timestamp.from(start.plusSeconds(60L * i)));
+                insert.addBatch();
+                if (i % 10_000 == 9_999) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+    }
+
+    private static final class FirstByte extends RuntimeException {
+        FirstByte() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class DiscardingOutputStream extends OutputStream {
+        private final boolean stopAtFirstFlush;
+        long bytes;
+
+        DiscardingOutputStream(boolean stopAtFirstFlush) {
+            this.stopAtFirstFlush = stopAtFirstFlush;
+        }
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+
+        @Override
+        public void flush() {
+            if (stopAtFirstFlush && bytes > 0) throw new FirstByte();
+        }
+    }
+}
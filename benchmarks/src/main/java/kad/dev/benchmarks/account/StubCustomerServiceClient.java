@@ -0,0 +1,65 @@
+package kad.dev.benchmarks.account;
+
+import kad.dev.accountservice.api.CustomerServiceClient;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.model.CustomerPage;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * In-process CustomerServiceClient answering every lookup immediately, so benchmarks measure account-service work only,
+ * or after a fixed simulated round trip per call. A slow chunk delay holds back the bulk call that contains customer 1.
+ */
+public class StubCustomerServiceClient implements CustomerServiceClient {
+    private final Duration roundTrip;
+    private final Duration slowChunk;
+
+    public StubCustomerServiceClient() {
+        this(Duration.ZERO);
+    }
+
+    public StubCustomerServiceClient(Duration roundTrip) {
+        this(roundTrip, Duration.ZERO);
+    }
+
+    public StubCustomerServiceClient(Duration roundTrip, Duration slowChunk) {
+        this.roundTrip = roundTrip;
+        this.slowChunk = slowChunk;
+    }
+
+    @Override
+    public Customer getCustomerById(Long id) {
+        roundTrip();
+        return BenchmarkData.customer(id);
+    }
+
+    @Override
+    public List<Customer> getAllCustomers() {
+        return List.of();
+    }
+
+    @Override
+    public CustomerPage getCustomersPage(Long after, int size) {
+        return CustomerPage.builder().content(List.of()).size(0).build();
+    }
+
+    @Override
+    public List<Customer> getCustomersByIds(List<Long> ids) {
+        roundTrip();
+        if (!slowChunk.isZero() && ids.contains(1L)) sleep(slowChunk);
+        return ids.stream().map(BenchmarkData::customer).toList();
+    }
+
+    private void roundTrip() {
+        if (!roundTrip.isZero()) sleep(roundTrip);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
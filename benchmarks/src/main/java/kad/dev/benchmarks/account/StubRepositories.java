@@ -0,0 +1,27 @@
+package kad.dev.benchmarks.account;
+
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.repository.BankAccountRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+public final class StubRepositories {
+
+    private StubRepositories() {
+    }
+
+    /**
+     * A BankAccountRepository whose list queries all return the given accounts.
+     */
+    public static BankAccountRepository bankAccounts(List<BankAccount> accounts) {
+        return (BankAccountRepository) Proxy.newProxyInstance(
+                BankAccountRepository.class.getClassLoader(),
+                new Class<?>[]{BankAccountRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll", "findByType", "findByCustomerId" -> accounts;
+                    case "toString" -> "StubBankAccountRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,108 @@
+package kad.dev.benchmarks.customer;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.customerservice.entities.Customer;
+import kad.dev.customerservice.search.CustomerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Customer search: the trigram {@link CustomerSearchIndex} against the LIKE query it replaces
+ * (findByFirstNameContainsIgnoreCase, first 100 rows), over 100k and 1M generated customers in H2.
+ * Queries go from selective (an email, a first and last name) to broad (a two-letter prefix).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CustomerSearchBenchmark {
+    private static final String LIKE = "select id, first_name, last_name, email from customer where upper(first_name) like upper(?) " +
+            "offset 0 rows fetch first 100 rows only";
+    private static final String[] FIRST_NAMES = {"hamza", "amal", "mohammed", "youssef", "fatima", "omar", "salma", "karim", "nadia", "yassine"};
+    private static final String[] LAST_NAMES = {"elkaddari", "benani", "imame", "tazi", "alaoui", "idrissi", "fassi", "berrada", "chraibi", "bennani"};
+
+    @Param({"100000", "1000000"})
+    private int customers;
+
+    @Param({"customer123456", "hamza12 tazi", "ka"})
+    private String query;
+
+    private CustomerSearchIndex index;
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        index = new CustomerSearchIndex(new SimpleMeterRegistry());
+        index.rebuild(customers(customers));
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:search-bench;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        dataSource = new HikariDataSource(config);
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("drop table if exists customer");
+                statement.execute("create table customer (id bigint primary key, first_name varchar(255), last_name varchar(255), email varchar(255))");
+            }
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("insert into customer values (?, ?, ?, ?)")) {
+                int batched = 0;
+                for (Customer customer : (Iterable<Customer>) customers(customers)::iterator) {
+                    insert.setLong(1, customer.getId());
+                    insert.setString(2, customer.getFirstName());
+                    insert.setString(3, customer.getLastName());
+                    insert.setString(4, customer.getEmail());
+                    insert.addBatch();
+                    if (++batched % 1000 == 0) insert.executeBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Customer> index() {
+        return index.search(query, 0, 100);
+    }
+
+    @Benchmark
+    public List<Customer> like() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); PreparedStatement select = connection.prepareStatement(LIKE)) {
+            select.setString(1, "%" + query + "%");
+            List<Customer> result = new ArrayList<>();
+            try (ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    result.add(new Customer(rows.getLong(1), rows.getString(2), rows.getString(3), rows.getString(4)));
+                }
+            }
+            return result;
+        }
+    }
+
+    private static Stream<Customer> customers(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> new Customer(id,
+                FIRST_NAMES[(int) (id % 10)] + id % 997,
+                LAST_NAMES[(int) (id / 10 % 10)] + id % 1009,
+                "customer" + id + "@mail" + id % 50 + ".com"));
+    }
+}
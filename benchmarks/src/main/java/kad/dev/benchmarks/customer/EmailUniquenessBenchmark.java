@@ -0,0 +1,164 @@
+package kad.dev.benchmarks.customer;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import kad.dev.customerservice.search.BloomFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Customers onboarded per second against a customer table of 100k rows with a unique email constraint:
+ * the lookup-then-insert path (one findByEmail round trip per customer) versus a {@link BloomFilter} pre-check
+ * that only looks up emails it cannot rule out, for single inserts and for 500-customer bulk imports
+ * (one IN lookup and one JDBC batch per chunk). Runs against H2 in memory; pass -Dbench.jdbcUrl/-Dbench.user/
+ * -Dbench.password for PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmailUniquenessBenchmark {
+    private static final int EXISTING = 100_000;
+    private static final int CHUNK = 500;
+    private static final String FIND = "select id from customer where email = ?";
+    private static final String INSERT = "insert into customer (first_name, last_name, email) values (?, ?, ?)";
+
+    private final AtomicLong sequence = new AtomicLong();
+    private HikariDataSource dataSource;
+    private BloomFilter filter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(System.getProperty("bench.jdbcUrl", "jdbc:h2:mem:email-bench;DB_CLOSE_DELAY=-1"));
+        config.setUsername(System.getProperty("bench.user", "sa"));
+        config.setPassword(System.getProperty("bench.password", ""));
+        dataSource = new HikariDataSource(config);
+        filter = new BloomFilter(1_000_000, 0.01);
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("drop table if exists customer");
+                statement.execute("create table customer (id bigint generated by default as identity primary key, " +
+                        "first_name varchar(255), last_name varchar(255), email varchar(255), " +
+                        "constraint uk_customer_email unique (email))");
+            }
+            List<String> emails = new ArrayList<>(EXISTING);
+            for (int i = 0; i < EXISTING; i++) emails.add("existing" + i + "@ebank.dev");
+            insertBatch(connection, emails);
+            emails.forEach(filter::add);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void lookupThenInsert() throws SQLException {
+        String email = nextEmail();
+        try (Connection connection = dataSource.getConnection()) {
+            if (!exists(connection, email)) insertBatch(connection, List.of(email));
+        }
+    }
+
+    @Benchmark
+    public void filterThenInsert() throws SQLException {
+        String email = nextEmail();
+        try (Connection connection = dataSource.getConnection()) {
+            if (filter.mightContain(email) && exists(connection, email)) return;
+            insertBatch(connection, List.of(email));
+            filter.add(email);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void bulkLookupEach() throws SQLException {
+        List<String> emails = nextEmails();
+        try (Connection connection = dataSource.getConnection()) {
+            List<String> fresh = new ArrayList<>(emails.size());
+            for (String email : emails) {
+                if (!exists(connection, email)) fresh.add(email);
+            }
+            insertBatch(connection, fresh);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public void bulkFiltered() throws SQLException {
+        List<String> emails = nextEmails();
+        try (Connection connection = dataSource.getConnection()) {
+            List<String> maybePresent = emails.stream().filter(filter::mightContain).toList();
+            Set<String> existing = maybePresent.isEmpty() ? Set.of() : existing(connection, maybePresent);
+            List<String> fresh = emails.stream().filter(email -> !existing.contains(email)).toList();
+            insertBatch(connection, fresh);
+            fresh.forEach(filter::add);
+        }
+    }
+
+    private String nextEmail() {
+        return "new" + sequence.incrementAndGet() + "@ebank.dev";
+    }
+
+    private List<String> nextEmails() {
+        List<String> emails = new ArrayList<>(CHUNK);
+        for (int i = 0; i < CHUNK; i++) emails.add(nextEmail());
+        return emails;
+    }
+
+    private static boolean exists(Connection connection, String email) throws SQLException {
+        try (PreparedStatement find = connection.prepareStatement(FIND)) {
+            find.setString(1, email);
+            try (ResultSet rows = find.executeQuery()) {
+                return rows.next();
+            }
+        }
+    }
+
+    private static Set<String> existing(Connection connection, List<String> emails) throws SQLException {
+        String placeholders = String.join(",", Collections.nCopies(emails.size(), "?"));
+        try (PreparedStatement find = connection.prepareStatement("select email from customer where email in (" + placeholders + ")")) {
+            for (int i = 0; i < emails.size(); i++) find.setString(i + 1, emails.get(i));
+            Set<String> existing = new HashSet<>();
+            try (ResultSet rows = find.executeQuery()) {
+                while (rows.next()) existing.add(rows.getString(1));
+            }
+            return existing;
+        }
+    }
+
+    private static void insertBatch(Connection connection, List<String> emails) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(INSERT)) {
+            for (String email : emails) {
+                insert.setString(1, "first");
+                insert.setString(2, "last");
+                insert.setString(3, email);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+}
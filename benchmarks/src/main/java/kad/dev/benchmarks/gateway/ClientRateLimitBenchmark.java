@@ -0,0 +1,86 @@
+package kad.dev.benchmarks.gateway;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.gatewayservice.filter.ClientRateLimitGatewayFilterFactory;
+import kad.dev.gatewayservice.filter.RateLimitProperties;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost added by the ClientRateLimit filter per admitted request: {@code rateLimited} minus {@code baseline},
+ * which runs the same pre-built exchange through an empty chain. {@code clients} distinct API keys spread the
+ * requests over that many buckets; the limit is high enough that every request is admitted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClientRateLimitBenchmark {
+    private static final Route ROUTE = Route.async().id("ACCOUNT-SERVICE").uri("lb://ACCOUNT-SERVICE").predicate(e -> true).build();
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    @Param({"1", "10000"})
+    private int clients;
+
+    private GatewayFilter filter;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(Long.MAX_VALUE / 1_000_000_000L);
+        properties.getDefaultLimit().setRefillPerSecond(1_000_000_000d);
+        filter = new ClientRateLimitGatewayFilterFactory(properties, new SimpleMeterRegistry())
+                .apply(new ClientRateLimitGatewayFilterFactory.Config());
+    }
+
+    /**
+     * Exchanges are mutated by the filter (response headers), so every benchmark thread gets its own.
+     */
+    @State(Scope.Thread)
+    public static class Exchanges {
+        private MockServerWebExchange[] exchanges;
+
+        @Setup
+        public void setUp(ClientRateLimitBenchmark benchmark) {
+            exchanges = new MockServerWebExchange[benchmark.clients];
+            for (int i = 0; i < exchanges.length; i++) {
+                exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts")
+                        .header("X-API-Key", "client-" + i));
+                exchanges[i].getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+            }
+        }
+
+        MockServerWebExchange next() {
+            return exchanges[exchanges.length == 1 ? 0 : ThreadLocalRandom.current().nextInt(exchanges.length)];
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Void baseline(Exchanges exchanges) {
+        return CHAIN.filter(exchanges.next()).block();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Void rateLimited(Exchanges exchanges) {
+        return filter.filter(exchanges.next(), CHAIN).block();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Void rateLimited_8(Exchanges exchanges) {
+        return filter.filter(exchanges.next(), CHAIN).block();
+    }
+}
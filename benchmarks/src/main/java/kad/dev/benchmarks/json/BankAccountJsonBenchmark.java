@@ -0,0 +1,40 @@
+package kad.dev.benchmarks.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.benchmarks.account.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of BankAccountDTO lists with an ObjectMapper configured like the one Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BankAccountJsonBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int size;
+
+    private List<BankAccountDTO> accounts;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Setup
+    public void setUp() {
+        accounts = new BankAccountMapper().fromListBankAccounts(BenchmarkData.accounts(size, Math.max(1, size / 2)));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(accounts);
+    }
+}
@@ -0,0 +1,99 @@
+package kad.dev.benchmarks.json;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.benchmarks.account.BenchmarkData;
+import kad.dev.customerservice.dtos.CustomerDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU and bytes on the wire for 10k-row BankAccountDTO and CustomerDTO lists in JSON, CBOR and
+ * Smile, each with and without gzip, using mappers configured like the Spring ones. The payload size is reported
+ * as the {@code payloadBytes} secondary result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"accounts", "customers"})
+    private String payload;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ObjectMapper mapper;
+    private List<?> values;
+    private JavaType type;
+    private byte[] encoded;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+        public long payloadBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        if ("accounts".equals(payload)) {
+            values = new BankAccountMapper().fromListBankAccounts(BenchmarkData.accounts(rows, Math.max(1, rows / 2)));
+            type = mapper.getTypeFactory().constructCollectionType(List.class, BankAccountDTO.class);
+        } else {
+            List<CustomerDTO> customers = new ArrayList<>(rows);
+            for (long id = 1; id <= rows; id++) customers.add(new CustomerDTO(id, "first" + id, "last" + id, "customer" + id + "@ebank.dev"));
+            values = customers;
+            type = mapper.getTypeFactory().constructCollectionType(List.class, CustomerDTO.class);
+        }
+        encoded = encode();
+    }
+
+    @Benchmark
+    public byte[] serialize(Size size) throws IOException {
+        size.payloadBytes = encoded.length;
+        return encode();
+    }
+
+    @Benchmark
+    public List<?> deserialize(Size size) throws IOException {
+        size.payloadBytes = encoded.length;
+        try (InputStream in = gzip ? new GZIPInputStream(new ByteArrayInputStream(encoded)) : new ByteArrayInputStream(encoded)) {
+            return mapper.readValue(in, type);
+        }
+    }
+
+    private byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            mapper.writeValue(out, values);
+        }
+        return bytes.toByteArray();
+    }
+}
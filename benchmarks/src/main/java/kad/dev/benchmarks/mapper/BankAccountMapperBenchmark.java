@@ -0,0 +1,35 @@
+package kad.dev.benchmarks.mapper;
+
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.mapper.BankAccountMapper;
+import kad.dev.benchmarks.account.BenchmarkData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BankAccountMapperBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int size;
+
+    private List<BankAccount> accounts;
+    private final BankAccountMapper mapper = new BankAccountMapper();
+
+    @Setup
+    public void setUp() {
+        accounts = BenchmarkData.accounts(size, Math.max(1, size / 2));
+    }
+
+    @Benchmark
+    public List<BankAccountDTO> fromListBankAccounts() {
+        return mapper.fromListBankAccounts(accounts);
+    }
+}
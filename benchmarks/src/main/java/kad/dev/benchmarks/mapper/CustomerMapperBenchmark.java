@@ -0,0 +1,44 @@
+package kad.dev.benchmarks.mapper;
+
+import kad.dev.customerservice.dtos.CustomerDTO;
+import kad.dev.customerservice.entities.Customer;
+import kad.dev.customerservice.mapper.CustomerMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int size;
+
+    private List<Customer> customers;
+    private final CustomerMapper mapper = new CustomerMapper();
+    private final ModelMapperCustomerMapper modelMapper = new ModelMapperCustomerMapper();
+
+    @Setup
+    public void setUp() {
+        customers = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            customers.add(new Customer(i, "first" + i, "last" + i, "customer" + i + "@ebank.dev"));
+        }
+    }
+
+    @Benchmark
+    public List<CustomerDTO> handWritten() {
+        return mapper.fromListCustomers(customers);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> modelMapper() {
+        return modelMapper.fromListCustomers(customers);
+    }
+}
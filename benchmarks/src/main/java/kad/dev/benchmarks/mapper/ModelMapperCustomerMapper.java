@@ -0,0 +1,23 @@
+package kad.dev.benchmarks.mapper;
+
+import kad.dev.customerservice.dtos.CustomerDTO;
+import kad.dev.customerservice.entities.Customer;
+import org.modelmapper.ModelMapper;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The reflective ModelMapper-based CustomerMapper, kept as the baseline for {@link CustomerMapperBenchmark}.
+ */
+public class ModelMapperCustomerMapper {
+    private final ModelMapper underClass = new ModelMapper();
+
+    public CustomerDTO fromCustomer(Customer customer) {
+        return underClass.map(customer, CustomerDTO.class);
+    }
+
+    public List<CustomerDTO> fromListCustomers(List<Customer> customers) {
+        return customers.stream().map(c -> underClass.map(c, CustomerDTO.class)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,96 @@
+package kad.dev.benchmarks.threads;
+
+import kad.dev.accountservice.AccountServiceApplication;
+import kad.dev.accountservice.entity.BankAccount;
+import kad.dev.accountservice.repository.BankAccountRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency percentiles of {@code GET /account/{id}} on a real account-service (Tomcat, JPA on in-memory H2, Feign
+ * through HttpClient 5) whose customer lookups go to {@link SlowCustomerServiceStub}, with 400 concurrent
+ * clients. The platform run keeps Tomcat's default pool of 200 workers, so half of the clients queue behind the
+ * stub latency; the virtual run serves each request on its own virtual thread.
+ * <p>
+ * The customer near-cache is given a 1 ms time-to-live so reads keep reaching the stub, and the Feign
+ * connection pool is widened so it does not become the limit in either mode. Run with -Psample (or -bm sample)
+ * and compare the p0.99 rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@Threads(400)
+public class RequestThreadingBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"50"})
+    private long customerServiceLatencyMillis;
+
+    @Param({"10000"})
+    private int customers;
+
+    private SlowCustomerServiceStub customerService;
+    private ConfigurableApplicationContext accountService;
+    private HttpClient http;
+    private URI accounts;
+    private String[] accountIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        customerService = new SlowCustomerServiceStub(customers, customerServiceLatencyMillis);
+        String database = "threading-bench-" + System.nanoTime();
+        String customerServiceUri = customerService.uri().toString();
+        accountService = new SpringApplicationBuilder(AccountServiceApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + "virtual".equals(threads),
+                "--spring.cloud.config.enabled=false",
+                "--eureka.client.enabled=false",
+                // gateway-service shares the benchmark classpath; its auto-configuration refuses to run next to Spring MVC
+                "--spring.cloud.gateway.enabled=false",
+                "--spring.cloud.discovery.client.simple.instances[CUSTOMER-SERVICE][0].uri=" + customerServiceUri,
+                "--spring.cloud.discovery.client.simple.instances[customer-service][0].uri=" + customerServiceUri,
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + "?options=DB_CLOSE_DELAY=-1",
+                "--customer.cache.time-to-live=1ms",
+                "--customer.http.max-connections=1000",
+                "--customer.http.max-connections-per-instance=1000",
+                "--customer.projection.poll-interval=1h",
+                "--logging.level.root=WARN");
+        int port = ((WebServerApplicationContext) accountService).getWebServer().getPort();
+        accounts = URI.create("http://localhost:" + port + "/account/");
+        accountIds = accountService.getBean(BankAccountRepository.class).findAll().stream()
+                .map(BankAccount::getAccountId)
+                .toArray(String[]::new);
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        accountService.close();
+        customerService.close();
+    }
+
+    @Benchmark
+    public int readAccount() throws IOException, InterruptedException {
+        String id = accountIds[ThreadLocalRandom.current().nextInt(accountIds.length)];
+        HttpResponse<Void> response = http.send(HttpRequest.newBuilder(accounts.resolve(id)).build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) throw new IllegalStateException("GET /account/" + id + ": " + response.statusCode());
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,113 @@
+package kad.dev.benchmarks.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import kad.dev.accountservice.model.Customer;
+import kad.dev.accountservice.model.CustomerPage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * In-process HTTP stand-in for customer-service, answering the lookups account-service makes through Feign
+ * ({@code /customer/{id}}, {@code /customers/batch}) after a fixed latency. {@code /customers/page} answers
+ * right away so the startup seeder is quick; the change feed is reported unavailable, which keeps the local
+ * customer projection from ever becoming ready and every read on the Feign path.
+ */
+class SlowCustomerServiceStub implements AutoCloseable {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpServer server;
+    private final long customers;
+    private final long latencyMillis;
+
+    SlowCustomerServiceStub(long customers, long latencyMillis) throws IOException {
+        this.customers = customers;
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(handlers);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    URI uri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        handlers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.startsWith("/customer/")) {
+                sleep();
+                reply(exchange, customer(Long.parseLong(path.substring("/customer/".length()))));
+            } else if (path.equals("/customers/batch")) {
+                List<Long> ids;
+                try (InputStream body = exchange.getRequestBody()) {
+                    ids = List.of(objectMapper.readValue(body, Long[].class));
+                }
+                sleep();
+                reply(exchange, ids.stream().map(SlowCustomerServiceStub::customer).toList());
+            } else if (path.equals("/customers/page")) {
+                reply(exchange, page(query(exchange.getRequestURI())));
+            } else {
+                exchange.sendResponseHeaders(503, -1);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private CustomerPage page(Map<String, String> query) {
+        long after = Long.parseLong(query.getOrDefault("after", "0"));
+        int size = Integer.parseInt(query.getOrDefault("size", "500"));
+        List<Customer> content = new ArrayList<>(size);
+        for (long id = after + 1; id <= Math.min(after + size, customers); id++) content.add(customer(id));
+        Long nextAfter = content.size() < size ? null : content.get(content.size() - 1).getId();
+        return CustomerPage.builder().content(content).size(content.size()).nextAfter(nextAfter).build();
+    }
+
+    private void reply(HttpExchange exchange, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        if (uri.getRawQuery() == null) return Map.of();
+        return List.of(uri.getRawQuery().split("&")).stream()
+                .map(pair -> pair.split("=", 2))
+                .filter(pair -> pair.length == 2)
+                .collect(Collectors.toMap(pair -> pair[0], pair -> pair[1], (a, b) -> b));
+    }
+
+    private static Customer customer(long id) {
+        return new Customer(id, "first" + id, "last" + id, "customer" + id + "@ebank.dev");
+    }
+}
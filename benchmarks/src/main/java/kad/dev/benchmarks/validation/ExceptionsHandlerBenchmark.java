@@ -0,0 +1,58 @@
+package kad.dev.benchmarks.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import kad.dev.accountservice.dto.BankAccountDTO;
+import kad.dev.accountservice.exceptions.ExceptionsHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The validation error path: validating an invalid BankAccountDTO and turning the violations into the 400 body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionsHandlerBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private final ExceptionsHandler handler = new ExceptionsHandler();
+    private final BankAccountDTO invalid = BankAccountDTO.builder().balance(BigDecimal.TEN).build();
+    private ConstraintViolationException exception;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        exception = new ConstraintViolationException(validator.validate(invalid));
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, List<String>>> validateAndHandle() {
+        Set<ConstraintViolation<BankAccountDTO>> violations = validator.validate(invalid);
+        return handler.handleValidationErrors(new ConstraintViolationException(violations));
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, List<String>>> handleOnly() {
+        return handler.handleValidationErrors(exception);
+    }
+}
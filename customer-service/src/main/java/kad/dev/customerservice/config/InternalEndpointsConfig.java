@@ -0,0 +1,28 @@
+package kad.dev.customerservice.config;
+
+import kad.dev.outbox.HttpOutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Endpoints meant for other services rather than clients; the gateway does not route them.
+ * /customers/changes/** feeds account-service's customer projection and requires customer.changes.token
+ * (OUTBOX_TOKEN, the secret the outbox relay already presents to account-service) in
+ * {@link HttpOutboxSink#TOKEN_HEADER}.
+ */
+@Configuration
+public class InternalEndpointsConfig implements WebMvcConfigurer {
+    private final String changesToken;
+
+    public InternalEndpointsConfig(@Value("${customer.changes.token:}") String changesToken) {
+        this.changesToken = changesToken;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SharedSecretInterceptor(HttpOutboxSink.TOKEN_HEADER, changesToken))
+                .addPathPatterns("/customers/changes", "/customers/changes/**");
+    }
+}
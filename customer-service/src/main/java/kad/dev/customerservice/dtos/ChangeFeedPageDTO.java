@@ -0,0 +1,13 @@
+package kad.dev.customerservice.dtos;
+
+import kad.dev.outbox.ChangeEventDTO;
+import lombok.*;
+
+import java.util.List;
+
+@Builder @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ChangeFeedPageDTO {
+        private List<ChangeEventDTO> events;
+        private Long nextSince;
+        private boolean resyncRequired;
+}
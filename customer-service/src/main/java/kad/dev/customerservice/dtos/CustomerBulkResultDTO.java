@@ -0,0 +1,12 @@
+package kad.dev.customerservice.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class CustomerBulkResultDTO {
+        private List<CustomerDTO> created;
+        private List<String> duplicateEmails;
+        private List<CustomerRowErrorDTO> invalid;
+}
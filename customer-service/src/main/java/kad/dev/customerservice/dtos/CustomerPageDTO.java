@@ -0,0 +1,12 @@
+package kad.dev.customerservice.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+@Builder @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class CustomerPageDTO {
+        private List<CustomerDTO> content;
+        private int size;
+        private Long nextAfter;
+}
@@ -0,0 +1,13 @@
+package kad.dev.customerservice.dtos;
+
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+@Builder @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class CustomerRowErrorDTO {
+        /* position of the row in the imported list */
+        private int index;
+        private Map<String, List<String>> errors;
+}
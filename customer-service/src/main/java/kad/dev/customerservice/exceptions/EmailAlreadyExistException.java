@@ -1,3 +1,7 @@
 package kad.dev.customerservice.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
 public class EmailAlreadyExistException extends RuntimeException{}
@@ -2,29 +2,37 @@ package kad.dev.customerservice.mapper;
 
 import kad.dev.customerservice.dtos.CustomerDTO;
 import kad.dev.customerservice.entities.Customer;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class CustomerMapper {
-    private final ModelMapper underClass = new ModelMapper();
 
     public CustomerDTO fromCustomer(Customer customer) throws IllegalArgumentException {
-        return underClass.map(customer, CustomerDTO.class);
+        if (customer == null) throw new IllegalArgumentException("customer must not be null");
+        return new CustomerDTO(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getEmail());
     }
 
-    public Customer fromCustomerDTO(CustomerDTO customerDTO)throws IllegalArgumentException {
-        return underClass.map(customerDTO, Customer.class);
+    public Customer fromCustomerDTO(CustomerDTO customerDTO) throws IllegalArgumentException {
+        if (customerDTO == null) throw new IllegalArgumentException("customerDTO must not be null");
+        return new Customer(customerDTO.getId(), customerDTO.getFirstName(), customerDTO.getLastName(), customerDTO.getEmail());
     }
 
     public List<CustomerDTO> fromListCustomers(List<Customer> customers) throws NullPointerException {
-        return customers.stream().map(c-> underClass.map(c, CustomerDTO.class)).collect(Collectors.toList());
+        List<CustomerDTO> customersDTO = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            customersDTO.add(fromCustomer(customer));
+        }
+        return customersDTO;
     }
 
     public List<Customer> fromListCustomersDTO(List<CustomerDTO> customersDTO) throws NullPointerException {
-        return customersDTO.stream().map(c-> underClass.map(c, Customer.class)).collect(Collectors.toList());
+        List<Customer> customers = new ArrayList<>(customersDTO.size());
+        for (CustomerDTO customerDTO : customersDTO) {
+            customers.add(fromCustomerDTO(customerDTO));
+        }
+        return customers;
     }
 }
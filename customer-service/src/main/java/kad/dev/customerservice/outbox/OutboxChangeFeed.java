@@ -0,0 +1,60 @@
+package kad.dev.customerservice.outbox;
+
+import kad.dev.customerservice.dtos.ChangeFeedPageDTO;
+import kad.dev.outbox.ChangeEventDTO;
+import kad.dev.outbox.OutboxEvent;
+import kad.dev.outbox.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Pull side of the outbox, for consumers that keep a copy of an aggregate and catch up by event id after missing
+ * pushes. Events show up here once they are outbox.changes.settle old, so that transactions which drew a lower
+ * id but committed later are not skipped. A consumer whose position is older than the outbox reaches back is told
+ * to resync from a snapshot.
+ */
+@Component
+public class OutboxChangeFeed {
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final OutboxEventRepository repository;
+    private final Duration settle;
+
+    public OutboxChangeFeed(OutboxEventRepository repository, @Value("${outbox.changes.settle:5s}") Duration settle) {
+        this.repository = repository;
+        this.settle = settle;
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedPageDTO changesSince(String aggregateType, long since, int size) {
+        Long oldestId = repository.findOldestId();
+        if( since > 0 && (oldestId == null || since < oldestId - 1) ) {
+            return ChangeFeedPageDTO.builder().events(List.of()).nextSince(since).resyncRequired(true).build();
+        }
+        List<OutboxEvent> events = repository.findChangesSince(aggregateType, since, settledBefore(),
+                PageRequest.ofSize(Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+        return ChangeFeedPageDTO.builder()
+                .events(events.stream().map(ChangeEventDTO::from).toList())
+                .nextSince(events.isEmpty() ? since : events.get(events.size() - 1).getId())
+                .build();
+    }
+
+    /**
+     * The position a snapshot read right after this call is at least as recent as.
+     */
+    @Transactional(readOnly = true)
+    public long head() {
+        Long newestId = repository.findNewestIdBefore(settledBefore());
+        return newestId == null ? 0 : newestId;
+    }
+
+    private Instant settledBefore() {
+        return Instant.now().minus(settle);
+    }
+}
@@ -1,14 +1,48 @@
 package kad.dev.customerservice.repository;
 
+import jakarta.persistence.QueryHint;
 import kad.dev.customerservice.entities.Customer;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Customer> findByEmail(String email);
-    List<Customer> findByFirstNameContainsIgnoreCase(String keyword);
+    List<Customer> findByIdIn(Collection<Long> ids);
+
+    @Query("select c.email from Customer c where c.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /*
+     * Offset and keyset (id > after) pagination
+     */
+    Page<Customer> findByFirstNameContainsIgnoreCase(String keyword, Pageable page);
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long after, Pageable page);
+    List<Customer> findByFirstNameContainsIgnoreCaseAndIdGreaterThanOrderByIdAsc(String keyword, Long after, Pageable page);
+
+    /*
+     * Cursor-backed streams, to be consumed inside a read-only transaction
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("select c from Customer c order by c.id")
+    Stream<Customer> streamAll();
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<Customer> streamByFirstNameContainsIgnoreCaseOrderByIdAsc(String keyword);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select c.email from Customer c")
+    Stream<String> streamEmails();
 }
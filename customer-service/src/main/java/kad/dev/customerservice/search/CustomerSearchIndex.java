@@ -0,0 +1,407 @@
+package kad.dev.customerservice.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kad.dev.customerservice.entities.Customer;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over customer first name, last name and email, kept up to date by CustomerServiceCore.
+ * Fields are indexed lower-cased behind a start marker, so every field also yields anchored grams for its first one
+ * and two characters: queries of three characters or more match anywhere, shorter ones match field prefixes.
+ * <p>
+ * Every term of a query must match some field. Candidates come from the shortest posting lists and are checked
+ * against the fields themselves, then ranked: exact field, field prefix, word start, anywhere; names before email.
+ * <p>
+ * Searches never lock. Writes are serialized; each indexed customer gets a new ordinal and its previous ordinal is
+ * tombstoned, so posting lists only ever grow at the end and stay sorted. The index is rebuilt from its live entries
+ * once tombstones pile up, and {@link #rebuild} swaps in a full reload without losing writes made while it ran.
+ */
+@Component
+public class CustomerSearchIndex {
+    private static final char START = '\u0001';
+    private static final int[] FIELD_WEIGHT = {3, 3, 1};
+    private static final int EXACT = 4, PREFIX = 3, WORD_START = 2, ANYWHERE = 1;
+    /* stop intersecting posting lists once this few candidates are left, or after this many lists */
+    private static final int INTERSECT_UNTIL = 64;
+    private static final int MAX_INTERSECTIONS = 4;
+    private static final int MIN_DEAD_FOR_COMPACTION = 1024;
+    private static final Comparator<Customer> HIGHEST_ID_FIRST = Comparator.comparing(Customer::getId, Comparator.reverseOrder());
+
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private volatile State state = new State();
+    private volatile boolean ready;
+    /* writes made while a rebuild streams the table, replayed onto the rebuilt state; guarded by writeLock */
+    private List<Change> journal;
+    private final Timer latency;
+
+    public CustomerSearchIndex(MeterRegistry registry) {
+        this.latency = Timer.builder("customer.search.latency")
+                .description("Customer search index query time")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("customer.search.index.size", this, CustomerSearchIndex::size)
+                .description("Customers in the search index")
+                .register(registry);
+        Gauge.builder("customer.search.index.grams", this, index -> index.state.postings.size())
+                .description("Distinct grams in the search index")
+                .register(registry);
+    }
+
+    /**
+     * Whether the index has been loaded once; until then it only knows about customers written since startup.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return state.ordinals.size();
+    }
+
+    public void put(Customer customer) {
+        Customer copy = copy(customer);
+        synchronized (writeLock) {
+            state.put(copy);
+            if (journal != null) journal.add(new Change(copy.getId(), copy));
+            compactIfNeeded();
+        }
+    }
+
+    public void remove(Long id) {
+        synchronized (writeLock) {
+            state.remove(id);
+            if (journal != null) journal.add(new Change(id, null));
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * Replaces the index with the given customers. Searches keep using the current state until the new one is
+     * complete; puts and removes made in the meantime are applied to both.
+     */
+    public void rebuild(Stream<Customer> customers) {
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                journal = new ArrayList<>();
+            }
+            State fresh = new State();
+            try {
+                customers.forEach(customer -> fresh.put(copy(customer)));
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    journal = null;
+                }
+                throw e;
+            }
+            synchronized (writeLock) {
+                for (Change change : journal) {
+                    if (change.customer() == null) fresh.remove(change.id());
+                    else fresh.put(change.customer());
+                }
+                journal = null;
+                state = fresh;
+                ready = true;
+            }
+        }
+    }
+
+    /**
+     * Customers matching every term of the query, best first, skipping {@code offset} results.
+     */
+    public List<Customer> search(String query, int offset, int limit) {
+        long start = System.nanoTime();
+        try {
+            return find(terms(query), offset, limit);
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Customers matching every term of the query with an id above {@code after}, lowest id first: a keyset page
+     * over the same matches as {@link #search}, without ranking.
+     */
+    public List<Customer> searchAfter(String query, long after, int limit) {
+        long start = System.nanoTime();
+        try {
+            return findAfter(terms(query), after, limit);
+        } finally {
+            latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private List<Customer> find(String[] terms, int offset, int limit) {
+        if (terms.length == 0 || limit <= 0) return List.of();
+        State current = state;
+        Candidates candidates = candidates(current, terms);
+        Entry[] entries = current.entries;
+
+        int wanted = offset + limit;
+        if (wanted < 0) wanted = Integer.MAX_VALUE;
+        PriorityQueue<Hit> top = new PriorityQueue<>(Hit.WORST_FIRST);
+        for (int i = 0; i < candidates.count(); i++) {
+            Entry entry = entries[candidates.ordinals()[i]];
+            if (!entry.live) continue;
+            int score = score(entry.fields, terms);
+            if (score == 0) continue;
+            if (top.size() < wanted) {
+                top.add(new Hit(entry.customer, score));
+            } else if (score >= top.peek().score()) {
+                Hit hit = new Hit(entry.customer, score);
+                if (Hit.WORST_FIRST.compare(hit, top.peek()) > 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+        }
+        if (top.size() <= offset) return List.of();
+        Customer[] ranked = new Customer[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) ranked[i] = top.poll().customer();
+        return Arrays.asList(ranked).subList(offset, ranked.length);
+    }
+
+    /**
+     * Keeps the {@code limit} lowest ids above {@code after} among the candidates in a max-heap, so a page costs
+     * one pass over the intersected posting lists however deep it is.
+     */
+    private List<Customer> findAfter(String[] terms, long after, int limit) {
+        if (terms.length == 0 || limit <= 0) return List.of();
+        State current = state;
+        Candidates candidates = candidates(current, terms);
+        Entry[] entries = current.entries;
+
+        PriorityQueue<Customer> lowest = new PriorityQueue<>(HIGHEST_ID_FIRST);
+        for (int i = 0; i < candidates.count(); i++) {
+            Entry entry = entries[candidates.ordinals()[i]];
+            long id = entry.customer.getId();
+            if (!entry.live || id <= after) continue;
+            if (lowest.size() == limit && id >= lowest.peek().getId()) continue;
+            if (score(entry.fields, terms) == 0) continue;
+            if (lowest.size() == limit) lowest.poll();
+            lowest.add(entry.customer);
+        }
+        Customer[] page = new Customer[lowest.size()];
+        for (int i = page.length - 1; i >= 0; i--) page[i] = lowest.poll();
+        return Arrays.asList(page);
+    }
+
+    /**
+     * Ordinals in the shortest posting lists of the query's grams, intersected until few enough are left; every
+     * candidate still has to be checked against its fields.
+     */
+    private static Candidates candidates(State current, String[] terms) {
+        Set<Long> grams = new HashSet<>();
+        for (String term : terms) grams(term, term.length() < 3, grams::add);
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (Long gram : grams) {
+            Postings postings = current.postings.get(gram);
+            if (postings == null) return Candidates.NONE;
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(Postings::size));
+
+        Postings smallest = lists.get(0);
+        int[] candidates = Arrays.copyOf(smallest.ordinals(), smallest.size());
+        int count = candidates.length;
+        for (int i = 1; i < lists.size() && i <= MAX_INTERSECTIONS && count > INTERSECT_UNTIL; i++) {
+            count = lists.get(i).retainIn(candidates, count);
+        }
+        return new Candidates(candidates, count);
+    }
+
+    private void compactIfNeeded() {
+        State current = state;
+        if (current.dead < MIN_DEAD_FOR_COMPACTION || current.dead < current.ordinals.size() / 4) return;
+        State compacted = new State();
+        Entry[] entries = current.entries;
+        for (int i = 0; i < current.next; i++) {
+            if (entries[i].live) compacted.put(entries[i].customer);
+        }
+        state = compacted;
+    }
+
+    /**
+     * Sum over the terms of each term's best field match; 0 if some term matches no field.
+     */
+    private static int score(String[] fields, String[] terms) {
+        int total = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (int f = 0; f < fields.length; f++) {
+                int tier = tier(fields[f], term);
+                if (tier > 0) best = Math.max(best, tier * 4 + FIELD_WEIGHT[f]);
+            }
+            if (best == 0) return 0;
+            total += best;
+        }
+        return total;
+    }
+
+    private static int tier(String field, String term) {
+        if (field.startsWith(term)) return field.length() == term.length() ? EXACT : PREFIX;
+        if (term.length() < 3) return 0;
+        int at = field.indexOf(term);
+        if (at < 0) return 0;
+        for (; at >= 0; at = field.indexOf(term, at + 1)) {
+            if (!Character.isLetterOrDigit(field.charAt(at - 1))) return WORD_START;
+        }
+        return ANYWHERE;
+    }
+
+    /**
+     * Grams of an indexed field (anchored prefix grams plus every trigram), or of a query term: anchored for
+     * terms shorter than three characters, unanchored trigrams otherwise.
+     */
+    private static void grams(String text, boolean anchored, LongConsumer sink) {
+        if (text.isEmpty()) return;
+        if (anchored) {
+            sink.accept(text.length() == 1 ? gram(START, text.charAt(0), '\0') : gram(START, text.charAt(0), text.charAt(1)));
+            return;
+        }
+        for (int i = 0; i + 2 < text.length(); i++) sink.accept(gram(text.charAt(i), text.charAt(i + 1), text.charAt(i + 2)));
+    }
+
+    private static void fieldGrams(String field, LongConsumer sink) {
+        if (field.isEmpty()) return;
+        sink.accept(gram(START, field.charAt(0), '\0'));
+        if (field.length() > 1) sink.accept(gram(START, field.charAt(0), field.charAt(1)));
+        grams(field, false, sink);
+    }
+
+    private static long gram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static String[] terms(String query) {
+        if (query == null) return new String[0];
+        return Arrays.stream(normalize(query).split("\\s+")).filter(t -> !t.isEmpty()).distinct().toArray(String[]::new);
+    }
+
+    private static String normalize(String value) {
+        if (value == null) return "";
+        StringBuilder normalized = new StringBuilder(value.length());
+        value.toLowerCase(Locale.ROOT).codePoints()
+                .filter(c -> !Character.isISOControl(c) || Character.isWhitespace(c))
+                .forEach(normalized::appendCodePoint);
+        return normalized.toString().trim();
+    }
+
+    private static Customer copy(Customer customer) {
+        return new Customer(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getEmail());
+    }
+
+    private static final class State {
+        final ConcurrentHashMap<Long, Postings> postings = new ConcurrentHashMap<>();
+        /* customer id -> ordinal of its live entry */
+        final ConcurrentHashMap<Long, Integer> ordinals = new ConcurrentHashMap<>();
+        volatile Entry[] entries = new Entry[1024];
+        int next;
+        int dead;
+
+        void put(Customer customer) {
+            remove(customer.getId());
+            int ordinal = next;
+            Entry[] current = entries;
+            if (ordinal == current.length) current = Arrays.copyOf(current, ordinal * 2);
+            String[] fields = {normalize(customer.getFirstName()), normalize(customer.getLastName()), normalize(customer.getEmail())};
+            current[ordinal] = new Entry(customer, fields);
+            entries = current;
+            next = ordinal + 1;
+            for (String field : fields) {
+                fieldGrams(field, gram -> postings.compute(gram, (key, list) -> list == null ? Postings.of(ordinal) : list.append(ordinal)));
+            }
+            ordinals.put(customer.getId(), ordinal);
+        }
+
+        void remove(Long id) {
+            Integer previous = ordinals.remove(id);
+            if (previous == null) return;
+            entries[previous].live = false;
+            dead++;
+        }
+    }
+
+    private static final class Entry {
+        final Customer customer;
+        final String[] fields;
+        volatile boolean live = true;
+
+        Entry(Customer customer, String[] fields) {
+            this.customer = customer;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     * Sorted ordinals. Appends write past the end of the shared array and publish a new holder, so a holder
+     * a reader already has never changes within its size.
+     */
+    private record Postings(int[] ordinals, int size) {
+        static Postings of(int ordinal) {
+            return new Postings(new int[]{ordinal, 0}, 1);
+        }
+
+        Postings append(int ordinal) {
+            if (ordinals[size - 1] == ordinal) return this;
+            int[] target = size < ordinals.length ? ordinals : Arrays.copyOf(ordinals, size * 2);
+            target[size] = ordinal;
+            return new Postings(target, size + 1);
+        }
+
+        /**
+         * Keeps the candidates that are also in this list, in place; returns how many are left.
+         */
+        int retainIn(int[] candidates, int count) {
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < count && from < size; i++) {
+                int found = gallop(candidates[i], from);
+                if (found >= 0) {
+                    candidates[kept++] = candidates[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+
+        /**
+         * Binary search for the ordinal within exponentially growing steps from {@code from}: candidates are
+         * sorted, so each lookup starts where the previous one ended.
+         */
+        private int gallop(int ordinal, int from) {
+            int step = 1;
+            int high = from;
+            while (high < size && ordinals[high] < ordinal) {
+                from = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            return Arrays.binarySearch(ordinals, from, Math.min(high + 1, size), ordinal);
+        }
+    }
+
+    /* a put, or a removal when customer is null */
+    private record Change(Long id, Customer customer) {
+    }
+
+    private record Candidates(int[] ordinals, int count) {
+        static final Candidates NONE = new Candidates(new int[0], 0);
+    }
+
+    private record Hit(Customer customer, int score) {
+        static final Comparator<Hit> WORST_FIRST = (a, b) -> a.score != b.score
+                ? Integer.compare(a.score, b.score)
+                : Long.compare(b.customer.getId(), a.customer.getId());
+    }
+}
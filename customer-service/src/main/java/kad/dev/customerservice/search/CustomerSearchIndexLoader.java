@@ -0,0 +1,84 @@
+package kad.dev.customerservice.search;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import kad.dev.customerservice.entities.Customer;
+import kad.dev.customerservice.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Loads the search index from the customer table once the application is ready, off the startup thread.
+ * Each instance only sees its own writes, so with several customer-service instances a rebuild interval
+ * (customer.search.rebuild-interval) picks up customers written elsewhere.
+ */
+@Component
+@Slf4j
+public class CustomerSearchIndexLoader {
+    private static final int CLEAR_EVERY = 500;
+
+    private final CustomerSearchIndex index;
+    private final CustomerRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnly;
+    private final Duration rebuildInterval;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "customer-search-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CustomerSearchIndexLoader(CustomerSearchIndex index, CustomerRepository repository, EntityManager entityManager,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${customer.search.rebuild-interval:0s}") Duration rebuildInterval) {
+        this.index = index;
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        scheduler.execute(this::load);
+        if (!rebuildInterval.isZero()) {
+            scheduler.scheduleWithFixedDelay(this::load, rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<Customer> customers = repository.streamAll()) {
+                    index.rebuild(customers.peek(customer -> {
+                        if (loaded.incrementAndGet() % CLEAR_EVERY == 0) entityManager.clear();
+                    }));
+                }
+            });
+            log.info("Indexed {} customers for search in {} ms", loaded.get(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.warn("Could not load the customer search index: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package kad.dev.customerservice.search;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import kad.dev.customerservice.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Bloom filter of the emails in the customer table, checked before the duplicate-email lookup. An email the filter
+ * has never seen is definitely new, so the lookup is skipped and the insert goes straight to the database, whose
+ * unique constraint stays the final arbiter (another instance may have inserted the same email meanwhile).
+ * <p>
+ * Emails of deleted or re-addressed customers cannot be taken out of the filter; they only cost a lookup until the
+ * next rebuild from the table, which runs once too many of them pile up or the filter outgrows its sizing.
+ * Until the first load completes every email counts as possibly present, and so does a null email, which
+ * validation refuses further on.
+ */
+@Component
+@Slf4j
+public class EmailFilter {
+    private final CustomerRepository repository;
+    private final TransactionTemplate readOnly;
+    private final long minimumCapacity;
+    private final double falsePositiveRate;
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "customer-email-filter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private volatile BloomFilter filter;
+    /* the filter being loaded, so emails added meanwhile are not lost */
+    private volatile BloomFilter building;
+    private final AtomicLong loaded = new AtomicLong();
+    private final LongAdder added = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final Counter definitelyNew;
+    private final Counter maybePresent;
+    private final Counter falsePositives;
+
+    public EmailFilter(CustomerRepository repository, PlatformTransactionManager transactionManager, MeterRegistry registry,
+                       @Value("${customer.email-filter.minimum-capacity:1000000}") long minimumCapacity,
+                       @Value("${customer.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.minimumCapacity = minimumCapacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.definitelyNew = Counter.builder("customer.email.filter.checks").tag("result", "new")
+                .description("Emails the filter answered as definitely new, skipping the lookup")
+                .register(registry);
+        this.maybePresent = Counter.builder("customer.email.filter.checks").tag("result", "maybe")
+                .description("Emails the filter could not rule out, checked against the table")
+                .register(registry);
+        this.falsePositives = Counter.builder("customer.email.filter.false.positives")
+                .description("Lookups made for an email the filter could not rule out that turned out to be new")
+                .register(registry);
+        Gauge.builder("customer.email.filter.bytes", this, f -> f.filter == null ? 0 : f.filter.sizeInBytes())
+                .register(registry);
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        boolean maybe = current == null || email == null || current.mightContain(email);
+        (maybe ? maybePresent : definitelyNew).increment();
+        return maybe;
+    }
+
+    /**
+     * Records lookups made because of {@link #mightContain} that found no customer.
+     */
+    public void falsePositives(int count) {
+        falsePositives.increment(count);
+    }
+
+    public void added(String email) {
+        if (email == null) return;
+        // building before filter: whichever rebuild is running or ran last then sees the email
+        BloomFilter next = building;
+        if (next != null) next.add(email);
+        BloomFilter current = filter;
+        if (current != null) current.add(email);
+        added.increment();
+        rebuildIfNeeded(current);
+    }
+
+    public void removed(String email) {
+        if (email == null) return;
+        stale.increment();
+        rebuildIfNeeded(filter);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        scheduleRebuild();
+    }
+
+    @PreDestroy
+    public void close() {
+        rebuilder.shutdownNow();
+    }
+
+    private void rebuildIfNeeded(BloomFilter current) {
+        if (current == null) return;
+        long entries = loaded.get() + added.sum();
+        if (entries > current.capacity() || stale.sum() > Math.max(1_000, entries / 10)) scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) rebuilder.execute(this::rebuild);
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        try {
+            BloomFilter fresh = new BloomFilter(Math.max(minimumCapacity, repository.count() * 2), falsePositiveRate);
+            building = fresh;
+            LongAdder count = new LongAdder();
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<String> emails = repository.streamEmails()) {
+                    emails.forEach(email -> {
+                        fresh.add(email);
+                        count.increment();
+                    });
+                }
+            });
+            added.reset();
+            stale.reset();
+            loaded.set(count.sum());
+            filter = fresh;
+            log.info("Loaded {} customer emails into a {} KB filter in {} ms", count.sum(), fresh.sizeInBytes() / 1024,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.warn("Could not load the customer email filter: {}", e.getMessage());
+        } finally {
+            building = null;
+            rebuildScheduled.set(false);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package kad.dev.customerservice.services;
 
+import kad.dev.customerservice.dtos.CustomerBulkResultDTO;
 import kad.dev.customerservice.dtos.CustomerDTO;
+import kad.dev.customerservice.dtos.CustomerPageDTO;
 import kad.dev.customerservice.exceptions.CustomerNotFoundException;
 import kad.dev.customerservice.exceptions.EmailAlreadyExistException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CustomerService {
     CustomerDTO saveNewCustomer(CustomerDTO customerDTO) throws EmailAlreadyExistException;
+    CustomerBulkResultDTO importCustomers(List<CustomerDTO> customerDTOs);
     CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO) throws CustomerNotFoundException;
     CustomerDTO findCustomerById(Long id) throws CustomerNotFoundException;
     List<CustomerDTO> findAllCustomers();
-    List<CustomerDTO> searchCustomers(String keyword);
+    List<CustomerDTO> findCustomersByIds(List<Long> ids);
+    List<CustomerDTO> searchCustomers(String keyword, int page, int size);
+    CustomerPageDTO findCustomersPage(Long after, int size);
+    CustomerPageDTO searchCustomersPage(String keyword, Long after, int size);
+    void streamCustomers(Consumer<CustomerDTO> sink);
+    void streamSearchCustomers(String keyword, Consumer<CustomerDTO> sink);
     void deleteCustomer(Long id) throws CustomerNotFoundException;
 }
@@ -1,43 +1,145 @@
 package kad.dev.customerservice.services;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import kad.dev.customerservice.dtos.CustomerBulkResultDTO;
 import kad.dev.customerservice.dtos.CustomerDTO;
+import kad.dev.customerservice.dtos.CustomerPageDTO;
+import kad.dev.customerservice.dtos.CustomerRowErrorDTO;
 import kad.dev.customerservice.entities.Customer;
 import kad.dev.customerservice.exceptions.CustomerNotFoundException;
 import kad.dev.customerservice.exceptions.EmailAlreadyExistException;
 import kad.dev.customerservice.mapper.CustomerMapper;
 import kad.dev.customerservice.repository.CustomerRepository;
+import kad.dev.customerservice.search.CustomerSearchIndex;
+import kad.dev.customerservice.search.EmailFilter;
+import kad.dev.outbox.ChangeType;
+import kad.dev.outbox.OutboxWriter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class CustomerServiceCore implements CustomerService{
 
     private final CustomerRepository repository;
     private final CustomerMapper mapper;
+    private final OutboxWriter outbox;
+    private final CustomerSearchIndex searchIndex;
+    private final EmailFilter emailFilter;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final int IMPORT_CHUNK_SIZE = 500;
+    public static final String AGGREGATE = "customer";
 
-    public CustomerServiceCore(CustomerRepository repository, CustomerMapper mapper) {
+    public CustomerServiceCore(CustomerRepository repository, CustomerMapper mapper, OutboxWriter outbox,
+                               CustomerSearchIndex searchIndex, EmailFilter emailFilter, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager, Validator validator) {
         this.repository = repository;
         this.mapper = mapper;
+        this.outbox = outbox;
+        this.searchIndex = searchIndex;
+        this.emailFilter = emailFilter;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
     }
 
+    /**
+     * Validates the customer as the insert would, then looks the email up only when the email filter cannot rule it
+     * out; the unique constraint on email catches whatever the filter and the lookup miss.
+     */
     @Override
     public CustomerDTO saveNewCustomer(CustomerDTO customerDTO) throws EmailAlreadyExistException {
-        Optional<Customer> email = repository.findByEmail(customerDTO.getEmail());
-        if( email.isPresent() ) throw new EmailAlreadyExistException();
         Customer customer = mapper.fromCustomerDTO(customerDTO);
-        Customer saved = repository.save(customer);
+        Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+        if( !violations.isEmpty() ) throw new ConstraintViolationException(violations);
+        if( emailFilter.mightContain(customer.getEmail()) ) {
+            if( repository.findByEmail(customer.getEmail()).isPresent() ) throw new EmailAlreadyExistException();
+            emailFilter.falsePositives(1);
+        }
+        Customer saved = insert(customer);
+        created(saved);
         return mapper.fromCustomer(saved);
     }
 
+    /**
+     * Imports customers in chunks, each committed in its own transaction. Every row is validated before the first
+     * chunk is written; invalid rows, emails already taken and emails repeated within the request are reported
+     * back instead of failing the import.
+     */
+    @Override
+    public CustomerBulkResultDTO importCustomers(List<CustomerDTO> customerDTOs) {
+        List<CustomerDTO> created = new ArrayList<>(customerDTOs.size());
+        List<String> duplicates = new ArrayList<>();
+        List<CustomerRowErrorDTO> invalid = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        List<Customer> valid = new ArrayList<>(customerDTOs.size());
+        for (int index = 0; index < customerDTOs.size(); index++) {
+            CustomerDTO customerDTO = customerDTOs.get(index);
+            if( customerDTO == null ) {
+                invalid.add(CustomerRowErrorDTO.builder().index(index).errors(Map.of("", List.of("must not be null"))).build());
+                continue;
+            }
+            Customer customer = mapper.fromCustomerDTO(customerDTO);
+            customer.setId(null);
+            Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+            if( !violations.isEmpty() ) {
+                invalid.add(CustomerRowErrorDTO.builder().index(index).errors(errors(violations)).build());
+                continue;
+            }
+            if( !seen.add(customer.getEmail()) ) {
+                duplicates.add(customer.getEmail());
+                continue;
+            }
+            valid.add(customer);
+        }
+        List<Customer> chunk = new ArrayList<>(IMPORT_CHUNK_SIZE);
+        for (Customer customer : valid) {
+            chunk.add(customer);
+            if( chunk.size() == IMPORT_CHUNK_SIZE ) {
+                importChunk(chunk, created, duplicates);
+                chunk.clear();
+            }
+        }
+        if( !chunk.isEmpty() ) importChunk(chunk, created, duplicates);
+        return CustomerBulkResultDTO.builder().created(created).duplicateEmails(duplicates).invalid(invalid).build();
+    }
+
     @Override
     public CustomerDTO updateCustomer(Long id, CustomerDTO customerDTO) throws CustomerNotFoundException {
         Optional<Customer> customer = repository.findById(id);
         if( customer.isEmpty() ) throw new CustomerNotFoundException();
+        String previousEmail = customer.get().getEmail();
         customerDTO.setId(id);
         Customer customerToUpdate = mapper.fromCustomerDTO(customerDTO);
-        Customer updated = repository.save(customerToUpdate);
+        Customer updated;
+        try {
+            updated = transactionTemplate.execute(status -> {
+                Customer saved = repository.saveAndFlush(customerToUpdate);
+                outbox.append(AGGREGATE, id, ChangeType.UPDATED, mapper.fromCustomer(saved));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflict(e);
+        }
+        if( !Objects.equals(previousEmail, updated.getEmail()) ) {
+            emailFilter.removed(previousEmail);
+            emailFilter.added(updated.getEmail());
+        }
+        searchIndex.put(updated);
         return mapper.fromCustomer(updated);
     }
 
@@ -55,15 +157,176 @@ public class CustomerServiceCore implements CustomerService{
     }
 
     @Override
-    public List<CustomerDTO> searchCustomers(String keyword) {
-        List<Customer> customers = repository.findByFirstNameContainsIgnoreCase(keyword);
+    public List<CustomerDTO> findCustomersByIds(List<Long> ids) {
+        if( ids == null || ids.isEmpty() ) return List.of();
+        List<Customer> customers = repository.findByIdIn(new HashSet<>(ids));
         return mapper.fromListCustomers(customers);
     }
 
+    /**
+     * Ranked search over first name, last name and email through the in-memory index. Until the index has been
+     * loaded, falls back to the first-name LIKE query.
+     */
+    @Override
+    public List<CustomerDTO> searchCustomers(String keyword, int page, int size) {
+        int pageSize = pageSize(size);
+        int pageNumber = Math.max(page, 0);
+        if (!searchIndex.isReady()) {
+            return mapper.fromListCustomers(repository.findByFirstNameContainsIgnoreCase(keyword, PageRequest.of(pageNumber, pageSize)).getContent());
+        }
+        int offset = (int) Math.min((long) pageNumber * pageSize, Integer.MAX_VALUE);
+        return mapper.fromListCustomers(searchIndex.search(keyword, offset, pageSize));
+    }
+
+    @Override
+    public CustomerPageDTO findCustomersPage(Long after, int size) {
+        int pageSize = pageSize(size);
+        List<Customer> customers = repository.findByIdGreaterThanOrderByIdAsc(after == null ? 0L : after, PageRequest.ofSize(pageSize));
+        return toPage(customers, pageSize);
+    }
+
+    /**
+     * Keyset pages, by id, over the same matches as {@link #searchCustomers}. Until the index has been loaded,
+     * falls back to the first-name LIKE query.
+     */
+    @Override
+    public CustomerPageDTO searchCustomersPage(String keyword, Long after, int size) {
+        int pageSize = pageSize(size);
+        long afterId = after == null ? 0L : after;
+        if (!searchIndex.isReady()) {
+            return toPage(repository.findByFirstNameContainsIgnoreCaseAndIdGreaterThanOrderByIdAsc(
+                    keyword, afterId, PageRequest.ofSize(pageSize)), pageSize);
+        }
+        return toPage(searchIndex.searchAfter(keyword, afterId, pageSize), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamCustomers(Consumer<CustomerDTO> sink) {
+        try (Stream<Customer> customers = repository.streamAll()) {
+            writeInChunks(customers, sink);
+        }
+    }
+
+    /**
+     * Every match of {@link #searchCustomers}, by id. Until the index has been loaded, streams the first-name
+     * LIKE query instead.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamSearchCustomers(String keyword, Consumer<CustomerDTO> sink) {
+        if (searchIndex.isReady()) {
+            searchIndex.searchAfter(keyword, 0L, Integer.MAX_VALUE).forEach(customer -> sink.accept(mapper.fromCustomer(customer)));
+            return;
+        }
+        try (Stream<Customer> customers = repository.streamByFirstNameContainsIgnoreCaseOrderByIdAsc(keyword)) {
+            writeInChunks(customers, sink);
+        }
+    }
+
     @Override
     public void deleteCustomer(Long id) throws CustomerNotFoundException {
         Optional<Customer> customer = repository.findById(id);
         if( customer.isEmpty() ) throw new CustomerNotFoundException();
-        repository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.deleteById(id);
+            outbox.append(AGGREGATE, id, ChangeType.DELETED, Map.of("id", id));
+        });
+        emailFilter.removed(customer.get().getEmail());
+        searchIndex.remove(id);
+    }
+
+    /**
+     * One lookup for the emails of the chunk the filter cannot rule out, then one transaction for the rest.
+     * If that transaction hits the unique constraint (a concurrent insert won the race), the chunk is
+     * retried one customer at a time so only the conflicting ones are refused.
+     */
+    private void importChunk(List<Customer> chunk, List<CustomerDTO> created, List<String> duplicates) {
+        List<String> maybePresent = chunk.stream().map(Customer::getEmail).filter(emailFilter::mightContain).toList();
+        Set<String> existing = maybePresent.isEmpty() ? Set.of() : new HashSet<>(repository.findExistingEmails(maybePresent));
+        emailFilter.falsePositives(maybePresent.size() - existing.size());
+        List<Customer> fresh = new ArrayList<>(chunk.size());
+        for (Customer customer : chunk) {
+            if( existing.contains(customer.getEmail()) ) duplicates.add(customer.getEmail());
+            else fresh.add(customer);
+        }
+        if( fresh.isEmpty() ) return;
+        List<Customer> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<Customer> inserted = repository.saveAll(fresh);
+                outbox.appendAll(AGGREGATE, ChangeType.CREATED, inserted, Customer::getId, mapper::fromCustomer);
+                return inserted;
+            });
+        } catch (DataIntegrityViolationException e) {
+            saved = new ArrayList<>(fresh.size());
+            for (Customer customer : fresh) {
+                customer.setId(null);
+                try {
+                    saved.add(insert(customer));
+                } catch (EmailAlreadyExistException duplicate) {
+                    duplicates.add(customer.getEmail());
+                }
+            }
+        }
+        saved.forEach(this::created);
+        created.addAll(mapper.fromListCustomers(saved));
+    }
+
+    private Customer insert(Customer customer) {
+        try {
+            return transactionTemplate.execute(status -> {
+                Customer saved = repository.save(customer);
+                outbox.append(AGGREGATE, saved.getId(), ChangeType.CREATED, mapper.fromCustomer(saved));
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflict(e);
+        }
+    }
+
+    private void created(Customer customer) {
+        emailFilter.added(customer.getEmail());
+        searchIndex.put(customer);
+    }
+
+    /* messages per property, shaped like the 400 body ExceptionsHandler returns */
+    private static Map<String, List<String>> errors(Set<ConstraintViolation<Customer>> violations) {
+        Map<String, List<String>> errors = new TreeMap<>();
+        violations.forEach(cv -> errors.computeIfAbsent(cv.getPropertyPath().toString(), path -> new ArrayList<>()).add(cv.getMessage()));
+        return errors;
+    }
+
+    private static RuntimeException emailConflict(DataIntegrityViolationException e) {
+        String cause = String.valueOf(e.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        return cause.contains(Customer.EMAIL_CONSTRAINT) ? new EmailAlreadyExistException() : e;
+    }
+
+    private int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private CustomerPageDTO toPage(List<Customer> customers, int size) {
+        Long nextAfter = customers.size() < size ? null : customers.get(customers.size() - 1).getId();
+        return CustomerPageDTO.builder()
+                .content(mapper.fromListCustomers(customers))
+                .size(customers.size())
+                .nextAfter(nextAfter)
+                .build();
+    }
+
+    /**
+     * Hands streamed customers out one by one, clearing the persistence context after each chunk.
+     */
+    private void writeInChunks(Stream<Customer> customers, Consumer<CustomerDTO> sink) {
+        int inChunk = 0;
+        Iterator<Customer> iterator = customers.iterator();
+        while (iterator.hasNext()) {
+            sink.accept(mapper.fromCustomer(iterator.next()));
+            if (++inChunk == STREAM_CHUNK_SIZE) {
+                entityManager.clear();
+                inChunk = 0;
+            }
+        }
     }
 }
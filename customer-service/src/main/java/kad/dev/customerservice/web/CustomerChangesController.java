@@ -0,0 +1,26 @@
+package kad.dev.customerservice.web;
+
+import kad.dev.customerservice.dtos.ChangeFeedPageDTO;
+import kad.dev.customerservice.outbox.OutboxChangeFeed;
+import kad.dev.customerservice.services.CustomerServiceCore;
+import lombok.AllArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+public class CustomerChangesController {
+    private OutboxChangeFeed changeFeed;
+
+    @GetMapping("/customers/changes")
+    public ChangeFeedPageDTO getChanges(@RequestParam(defaultValue = "0") long since,
+                                        @RequestParam(defaultValue = "500") int size) {
+        return changeFeed.changesSince(CustomerServiceCore.AGGREGATE, since, size);
+    }
+
+    @GetMapping("/customers/changes/head")
+    public long getHead() {
+        return changeFeed.head();
+    }
+}
@@ -1,18 +1,31 @@
 package kad.dev.customerservice.web;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
+import kad.dev.customerservice.dtos.CustomerBulkResultDTO;
 import kad.dev.customerservice.dtos.CustomerDTO;
+import kad.dev.customerservice.dtos.CustomerPageDTO;
 import kad.dev.customerservice.services.CustomerService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @AllArgsConstructor
 public class CustomerController {
     private CustomerService service;
+    private ObjectMapper objectMapper;
 
     @PostMapping("/save-customer")
     @ResponseStatus(HttpStatus.CREATED)
@@ -20,6 +33,11 @@ public class CustomerController {
         return service.saveNewCustomer(customerDTO);
     }
 
+    @PostMapping("/customers/bulk")
+    public CustomerBulkResultDTO importCustomers(@RequestBody List<CustomerDTO> customerDTOs) {
+        return service.importCustomers(customerDTOs);
+    }
+
     @PutMapping("/update-customer/{id}")
     public CustomerDTO update(@PathVariable Long id, @RequestBody CustomerDTO customerDTO){
         return service.updateCustomer(id, customerDTO);
@@ -35,9 +53,39 @@ public class CustomerController {
         return service.findAllCustomers();
     }
 
+    @GetMapping("/customers/page")
+    public CustomerPageDTO getPage(@RequestParam(required = false) Long after,
+                                   @RequestParam(defaultValue = "100") int size) {
+        return service.findCustomersPage(after, size);
+    }
+
+    @GetMapping(value = "/customers/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        return ndjson(service::streamCustomers);
+    }
+
+    @PostMapping("/customers/batch")
+    public List<CustomerDTO> getByIds(@RequestBody List<Long> ids) {
+        return service.findCustomersByIds(ids);
+    }
+
     @GetMapping("/customers/search")
-    public List<CustomerDTO> searchCustomers(@RequestParam String keyword) {
-        return service.searchCustomers(keyword);
+    public List<CustomerDTO> searchCustomers(@RequestParam String keyword,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "100") int size) {
+        return service.searchCustomers(keyword, page, size);
+    }
+
+    @GetMapping("/customers/search/page")
+    public CustomerPageDTO searchCustomersPage(@RequestParam String keyword,
+                                               @RequestParam(required = false) Long after,
+                                               @RequestParam(defaultValue = "100") int size) {
+        return service.searchCustomersPage(keyword, after, size);
+    }
+
+    @GetMapping(value = "/customers/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamSearchCustomers(@RequestParam String keyword) {
+        return ndjson(sink -> service.streamSearchCustomers(keyword, sink));
     }
 
     @DeleteMapping("/delete-customer/{id}")
@@ -46,4 +94,25 @@ public class CustomerController {
         service.deleteCustomer(id);
     }
 
+    /**
+     * Writes one JSON document per line as customers are mapped, flushing in buffer-sized chunks.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<CustomerDTO>> source) {
+        ObjectWriter writer = objectMapper.writerFor(CustomerDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                source.accept(dto -> {
+                    try {
+                        writer.writeValue(generator, dto);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
 }
@@ -0,0 +1,108 @@
+package kad.dev.customerservice.outbox;
+
+import kad.dev.customerservice.dtos.ChangeFeedPageDTO;
+import kad.dev.outbox.ChangeEventDTO;
+import kad.dev.outbox.ChangeType;
+import kad.dev.outbox.OutboxAutoConfiguration;
+import kad.dev.outbox.OutboxEvent;
+import kad.dev.outbox.OutboxEventRepository;
+import kad.dev.outbox.OutboxRelay;
+import kad.dev.outbox.OutboxWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(OutboxAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxChangeFeedTests {
+    private static final Duration SETTLE = Duration.ofMinutes(5);
+
+    @Autowired
+    private OutboxEventRepository repository;
+    @MockBean
+    private OutboxRelay relay;
+    @MockBean
+    private OutboxWriter writer;
+
+    private OutboxChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        changeFeed = new OutboxChangeFeed(repository, SETTLE);
+    }
+
+    @Test
+    void onlySettledEventsOfTheAggregateAreReturned() {
+        Instant settled = Instant.now().minus(SETTLE).minusSeconds(60);
+        long first = save("customer", settled);
+        save("account", settled);
+        long second = save("customer", settled);
+        // may still have a lower-id transaction committing behind it
+        save("customer", Instant.now());
+
+        ChangeFeedPageDTO page = changeFeed.changesSince("customer", 0, 10);
+
+        assertEquals(List.of(first, second), page.getEvents().stream().map(ChangeEventDTO::getId).toList());
+        assertEquals(second, page.getNextSince());
+        assertFalse(page.isResyncRequired());
+        assertEquals(second, changeFeed.head());
+    }
+
+    @Test
+    void aPositionRightBeforeTheOldestEventCanStillCatchUp() {
+        Instant settled = Instant.now().minus(SETTLE).minusSeconds(60);
+        long purged = save("customer", settled);
+        long oldest = save("customer", settled);
+        long newest = save("customer", settled);
+        repository.deleteById(purged);
+
+        ChangeFeedPageDTO page = changeFeed.changesSince("customer", oldest - 1, 10);
+
+        assertFalse(page.isResyncRequired());
+        assertEquals(List.of(oldest, newest), page.getEvents().stream().map(ChangeEventDTO::getId).toList());
+    }
+
+    @Test
+    void aPositionTheOutboxNoLongerReachesRequiresAResync() {
+        Instant settled = Instant.now().minus(SETTLE).minusSeconds(60);
+        save("customer", settled);
+        save("customer", settled);
+        long oldest = save("customer", settled);
+        repository.deleteAllByIdInBatch(List.of(oldest - 2, oldest - 1));
+
+        ChangeFeedPageDTO page = changeFeed.changesSince("customer", oldest - 2, 10);
+
+        assertTrue(page.isResyncRequired());
+        assertTrue(page.getEvents().isEmpty());
+        assertEquals(oldest - 2, page.getNextSince());
+    }
+
+    @Test
+    void anEmptyOutboxRequiresAResyncFromAnyPositionButTheStart() {
+        assertTrue(changeFeed.changesSince("customer", 42, 10).isResyncRequired());
+        assertFalse(changeFeed.changesSince("customer", 0, 10).isResyncRequired());
+    }
+
+    private long save(String aggregateType, Instant createdAt) {
+        return repository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId("1")
+                .type(ChangeType.UPDATED)
+                .payload("{}")
+                .createdAt(createdAt)
+                .build()).getId();
+    }
+}
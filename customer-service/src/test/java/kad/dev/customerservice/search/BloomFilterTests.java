@@ -0,0 +1,21 @@
+package kad.dev.customerservice.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTests {
+
+    @Test
+    void neverMissesAnAddedEmailAndStaysNearItsFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) filter.add("customer" + i + "@ebank.dev");
+
+        for (int i = 0; i < 100_000; i++) assertTrue(filter.mightContain("customer" + i + "@ebank.dev"));
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("prospect" + i + "@ebank.dev")) falsePositives++;
+        }
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+    }
+}
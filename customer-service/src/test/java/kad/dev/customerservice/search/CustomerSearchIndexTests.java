@@ -0,0 +1,98 @@
+package kad.dev.customerservice.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.customerservice.entities.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerSearchIndexTests {
+
+    @Test
+    void matchesAnyFieldAndRanksPrefixesFirst() {
+        CustomerSearchIndex index = index(
+                customer(1L, "Mohammed", "Imame", "med@gmail.com"),
+                customer(2L, "Hamza", "Elkaddari", "kad@gmail.com"),
+                customer(3L, "Amal", "Benani", "amal.hamza@gmail.com"),
+                customer(4L, "Amal", "Ohamza", "amal@ebank.dev"));
+
+        assertEquals(List.of(2L, 3L, 4L), ids(index.search("HAMZA", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("kaddar", 0, 10)));
+        assertEquals(List.of(4L), ids(index.search("amal ebank", 0, 10)));
+        assertEquals(List.of(3L, 4L), ids(index.search("am", 0, 10)));
+        assertTrue(index.search("zz", 0, 10).isEmpty());
+        assertTrue(index.search("   ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        CustomerSearchIndex index = new CustomerSearchIndex(new SimpleMeterRegistry());
+        index.rebuild(LongStream.rangeClosed(1, 250).mapToObj(id -> customer(id, "first" + id, "last" + id, "c" + id + "@ebank.dev")));
+
+        List<Long> first = ids(index.search("first", 0, 100));
+        List<Long> third = ids(index.search("first", 200, 100));
+
+        assertEquals(100, first.size());
+        assertEquals(1L, first.get(0));
+        assertEquals(50, third.size());
+        assertEquals(201L, third.get(0));
+    }
+
+    @Test
+    void keysetPagesWalkTheMatchesByIdAcrossUpdates() {
+        CustomerSearchIndex index = new CustomerSearchIndex(new SimpleMeterRegistry());
+        index.rebuild(LongStream.rangeClosed(1, 30).mapToObj(id -> customer(id, id % 3 == 0 ? "Hamza" + id : "Amal" + id, "last" + id, "c" + id + "@ebank.dev")));
+        // re-indexing gives customer 3 a new ordinal; pages still follow the id
+        index.put(customer(3L, "Hamza3", "Tazi", "c3@ebank.dev"));
+
+        assertEquals(List.of(3L, 6L, 9L, 12L), ids(index.searchAfter("hamza", 0, 4)));
+        assertEquals(List.of(15L, 18L, 21L, 24L), ids(index.searchAfter("hamza", 12, 4)));
+        assertEquals(List.of(27L, 30L), ids(index.searchAfter("hamza", 24, 4)));
+        assertTrue(index.searchAfter("hamza", 30, 4).isEmpty());
+        assertEquals(List.of(3L), ids(index.searchAfter("hamza tazi", 0, 4)));
+    }
+
+    @Test
+    void followsUpdatesAndDeletes() {
+        CustomerSearchIndex index = index(customer(1L, "Hamza", "Elkaddari", "kad@gmail.com"));
+
+        index.put(customer(1L, "Hamid", "Elkaddari", "kad@gmail.com"));
+        index.put(customer(2L, "Hamza", "Tazi", "tazi@gmail.com"));
+        assertEquals(List.of(2L), ids(index.search("hamza", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("hamid", 0, 10)));
+
+        index.remove(2L);
+        assertTrue(index.search("hamza", 0, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void compactsAfterManyUpdates() {
+        CustomerSearchIndex index = index(customer(1L, "Hamza", "Elkaddari", "kad@gmail.com"));
+
+        for (int i = 0; i < 5_000; i++) index.put(customer(1L, "Hamza" + i, "Elkaddari", "kad@gmail.com"));
+
+        assertEquals(List.of(1L), ids(index.search("hamza4999", 0, 10)));
+        assertTrue(index.search("hamza4998", 0, 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    private static CustomerSearchIndex index(Customer... customers) {
+        CustomerSearchIndex index = new CustomerSearchIndex(new SimpleMeterRegistry());
+        index.rebuild(Stream.of(customers));
+        return index;
+    }
+
+    private static Customer customer(Long id, String firstName, String lastName, String email) {
+        return new Customer(id, firstName, lastName, email);
+    }
+
+    private static List<Long> ids(List<Customer> customers) {
+        return customers.stream().map(Customer::getId).toList();
+    }
+}
@@ -0,0 +1,140 @@
+package kad.dev.customerservice.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import kad.dev.customerservice.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailFilterTests {
+    private final List<String> table = new CopyOnWriteArrayList<>();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CustomerRepository repository = mock(CustomerRepository.class);
+    /* when set, a load counts down loadStarted, then waits on loadGate before streaming the table */
+    private volatile CountDownLatch loadStarted;
+    private volatile CountDownLatch loadGate;
+    private EmailFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 100; i++) table.add("c" + i + "@ebank.dev");
+        when(repository.count()).thenAnswer(call -> (long) table.size());
+        when(repository.streamEmails()).thenAnswer(call -> {
+            CountDownLatch gate = loadGate;
+            if (gate != null) {
+                loadStarted.countDown();
+                gate.await();
+            }
+            loads.incrementAndGet();
+            return List.copyOf(table).stream();
+        });
+        // a transaction manager mock runs the callback without a transaction
+        filter = new EmailFilter(repository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 1_000, 0.01);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filter.close();
+    }
+
+    @Test
+    void everyEmailMightBePresentUntilTheFirstLoad() {
+        assertTrue(filter.mightContain("anyone@ebank.dev"));
+
+        load();
+
+        assertTrue(filter.mightContain("c42@ebank.dev"));
+        assertFalse(filter.mightContain("prospect@ebank.dev"));
+    }
+
+    @Test
+    void aNullEmailIsNeverRuledOut() {
+        load();
+
+        assertTrue(filter.mightContain(null));
+        filter.added(null);
+        filter.removed(null);
+    }
+
+    @Test
+    void addedEmailsAreSeenWithoutARebuild() {
+        load();
+
+        filter.added("prospect@ebank.dev");
+
+        assertTrue(filter.mightContain("prospect@ebank.dev"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void enoughStaleEmailsRebuildTheFilterFromTheTable() {
+        load();
+        table.remove("c7@ebank.dev");
+
+        // stale entries only count once they exceed max(1 000, 10% of the entries)
+        for (int i = 0; i < 1_000; i++) filter.removed("c7@ebank.dev");
+        assertEquals(1, loads.get());
+        filter.removed("c7@ebank.dev");
+
+        await(() -> !filter.mightContain("c7@ebank.dev"));
+        assertEquals(2, loads.get());
+        assertTrue(filter.mightContain("c8@ebank.dev"));
+    }
+
+    @Test
+    void outgrowingTheSizingRebuildsAndKeepsWhatWasAddedDuringTheLoad() throws Exception {
+        load();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        loadStarted = started;
+        loadGate = gate;
+
+        // the filter was sized for max(1 000, 2 x 100) emails, so the 901st addition schedules a rebuild
+        for (int i = 0; i < 901; i++) {
+            String email = "new" + i + "@ebank.dev";
+            table.add(email);
+            filter.added(email);
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        // added while the rebuild waits to stream a table that does not have it yet
+        filter.added("late@ebank.dev");
+        table.remove("c0@ebank.dev");
+        gate.countDown();
+
+        await(() -> !filter.mightContain("c0@ebank.dev"));
+        assertEquals(2, loads.get());
+        assertTrue(filter.mightContain("late@ebank.dev"));
+        assertTrue(filter.mightContain("new900@ebank.dev"));
+    }
+
+    private void load() {
+        filter.warmUp();
+        await(() -> !filter.mightContain("probe@ebank.dev"));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10 s");
+            try {
+                TimeUnit.MILLISECONDS.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
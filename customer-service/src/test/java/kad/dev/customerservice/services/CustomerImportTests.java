@@ -0,0 +1,130 @@
+package kad.dev.customerservice.services;
+
+import jakarta.validation.ConstraintViolationException;
+import kad.dev.customerservice.dtos.CustomerBulkResultDTO;
+import kad.dev.customerservice.dtos.CustomerDTO;
+import kad.dev.customerservice.dtos.CustomerRowErrorDTO;
+import kad.dev.customerservice.entities.Customer;
+import kad.dev.customerservice.exceptions.EmailAlreadyExistException;
+import kad.dev.customerservice.mapper.CustomerMapper;
+import kad.dev.customerservice.repository.CustomerRepository;
+import kad.dev.customerservice.search.CustomerSearchIndex;
+import kad.dev.customerservice.search.EmailFilter;
+import kad.dev.outbox.OutboxWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({CustomerServiceCore.class, CustomerMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerImportTests {
+
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerRepository repository;
+    @MockBean
+    private OutboxWriter outbox;
+    @MockBean
+    private CustomerSearchIndex searchIndex;
+    @MockBean
+    private EmailFilter emailFilter;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        repository.save(Customer.builder().firstName("Taken").lastName("Already").email("taken@ebank.dev").build());
+    }
+
+    @Test
+    void invalidRowsAreReportedPerRowWithoutAbortingLaterChunks() {
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
+        List<CustomerDTO> rows = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) rows.add(customer("c" + i + "@ebank.dev"));
+        rows.set(5, CustomerDTO.builder().firstName("A").lastName("last").email("short5@ebank.dev").build());
+        rows.set(1_100, CustomerDTO.builder().firstName("first").lastName("last").build());
+        rows.set(1_150, null);
+
+        CustomerBulkResultDTO result = customerService.importCustomers(rows);
+
+        assertEquals(List.of(5, 1_100, 1_150), result.getInvalid().stream().map(CustomerRowErrorDTO::getIndex).toList());
+        assertEquals(List.of("firstName"), List.copyOf(result.getInvalid().get(0).getErrors().keySet()));
+        assertEquals(List.of("email"), List.copyOf(result.getInvalid().get(1).getErrors().keySet()));
+        assertEquals(1_197, result.getCreated().size());
+        assertTrue(result.getDuplicateEmails().isEmpty());
+        assertEquals(1 + 1_197, repository.count());
+    }
+
+    @Test
+    void emailsTakenOrRepeatedAreReportedAsDuplicates() {
+        when(emailFilter.mightContain(anyString())).thenReturn(true);
+
+        CustomerBulkResultDTO result = customerService.importCustomers(List.of(
+                customer("new1@ebank.dev"), customer("taken@ebank.dev"), customer("new1@ebank.dev"), customer("new2@ebank.dev")));
+
+        assertEquals(List.of("new1@ebank.dev", "new2@ebank.dev"), result.getCreated().stream().map(CustomerDTO::getEmail).toList());
+        assertEquals(List.of("new1@ebank.dev", "taken@ebank.dev"), result.getDuplicateEmails().stream().sorted().toList());
+        assertEquals(3, repository.count());
+        // one lookup, and it found taken@ebank.dev, so one false positive for new1 and new2
+        verify(emailFilter).falsePositives(2);
+    }
+
+    @Test
+    void aConstraintHitInAChunkFallsBackToOneInsertPerRow() {
+        // the filter wrongly rules every email out, as it would right after another instance inserted one
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+
+        CustomerBulkResultDTO result = customerService.importCustomers(List.of(
+                customer("new1@ebank.dev"), customer("taken@ebank.dev"), customer("new2@ebank.dev")));
+
+        assertEquals(List.of("new1@ebank.dev", "new2@ebank.dev"), result.getCreated().stream().map(CustomerDTO::getEmail).toList());
+        assertEquals(List.of("taken@ebank.dev"), result.getDuplicateEmails());
+        assertEquals(3, repository.count());
+        verify(emailFilter).added("new1@ebank.dev");
+        verify(emailFilter).added("new2@ebank.dev");
+        verify(emailFilter, never()).added("taken@ebank.dev");
+    }
+
+    @Test
+    void theUniqueConstraintAnswersConflictWhenTheFilterMisses() {
+        when(emailFilter.mightContain(anyString())).thenReturn(false);
+
+        assertThrows(EmailAlreadyExistException.class, () -> customerService.saveNewCustomer(customer("taken@ebank.dev")));
+        assertEquals(HttpStatus.CONFLICT, EmailAlreadyExistException.class.getAnnotation(ResponseStatus.class).value());
+        assertEquals(1, repository.count());
+    }
+
+    @Test
+    void anInvalidCustomerIsRefusedBeforeTheFilterAndTheTable() {
+        CustomerDTO noEmail = CustomerDTO.builder().firstName("first").lastName("last").build();
+
+        ConstraintViolationException failure = assertThrows(ConstraintViolationException.class, () -> customerService.saveNewCustomer(noEmail));
+
+        assertEquals("email", failure.getConstraintViolations().iterator().next().getPropertyPath().toString());
+        verify(emailFilter, never()).mightContain(any());
+        assertEquals(1, repository.count());
+    }
+
+    private static CustomerDTO customer(String email) {
+        return CustomerDTO.builder().firstName("first").lastName("last").email(email).build();
+    }
+}
@@ -0,0 +1,121 @@
+package kad.dev.customerservice.services;
+
+import kad.dev.customerservice.dtos.CustomerDTO;
+import kad.dev.customerservice.dtos.CustomerPageDTO;
+import kad.dev.customerservice.entities.Customer;
+import kad.dev.customerservice.mapper.CustomerMapper;
+import kad.dev.customerservice.repository.CustomerRepository;
+import kad.dev.customerservice.search.CustomerSearchIndex;
+import kad.dev.customerservice.search.EmailFilter;
+import kad.dev.outbox.OutboxWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({CustomerServiceCore.class, CustomerMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerPagingTests {
+
+    private static final int CUSTOMERS = 30;
+
+    @Autowired
+    private CustomerService customerService;
+    @Autowired
+    private CustomerRepository repository;
+    @MockBean
+    private OutboxWriter outbox;
+    @MockBean
+    private CustomerSearchIndex searchIndex;
+    @MockBean
+    private EmailFilter emailFilter;
+
+    private List<Long> ids;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAllInBatch();
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            // every third customer is a "Hamza"
+            String firstName = i % 3 == 0 ? "Hamza" + i : "Amal" + i;
+            customers.add(Customer.builder().firstName(firstName).lastName("last" + i).email("c" + i + "@ebank.dev").build());
+        }
+        ids = repository.saveAll(customers).stream().map(Customer::getId).sorted().toList();
+    }
+
+    @Test
+    void pagesFollowTheIdFromTheFirstPageToTheLast() {
+        List<Long> walked = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        Long after = null;
+        do {
+            CustomerPageDTO page = customerService.findCustomersPage(after, 7);
+            page.getContent().forEach(c -> walked.add(c.getId()));
+            sizes.add(page.getSize());
+            after = page.getNextAfter();
+        } while (after != null);
+
+        assertEquals(ids, walked);
+        assertEquals(List.of(7, 7, 7, 7, 2), sizes);
+    }
+
+    @Test
+    void aFullLastPageIsFollowedByAnEmptyOne() {
+        CustomerPageDTO first = customerService.findCustomersPage(null, 15);
+        CustomerPageDTO second = customerService.findCustomersPage(first.getNextAfter(), 15);
+        CustomerPageDTO third = customerService.findCustomersPage(second.getNextAfter(), 15);
+
+        assertEquals(ids.get(14), first.getNextAfter());
+        assertEquals(ids.get(29), second.getNextAfter());
+        assertEquals(0, third.getSize());
+        assertNull(third.getNextAfter());
+    }
+
+    @Test
+    void aPageStartsRightAfterTheGivenId() {
+        // an id that was deleted in between still works as a position
+        repository.deleteById(ids.get(10));
+
+        CustomerPageDTO page = customerService.findCustomersPage(ids.get(10), 3);
+
+        assertEquals(ids.subList(11, 14), page.getContent().stream().map(CustomerDTO::getId).toList());
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(1, customerService.findCustomersPage(null, 0).getSize());
+        assertEquals(CUSTOMERS, customerService.findCustomersPage(null, 100_000).getSize());
+    }
+
+    @Test
+    void searchPagesOnlyWalkMatchingCustomers() {
+        List<Long> walked = new ArrayList<>();
+        Long after = null;
+        do {
+            CustomerPageDTO page = customerService.searchCustomersPage("hamza", after, 4);
+            page.getContent().forEach(c -> {
+                assertTrue(c.getFirstName().startsWith("Hamza"));
+                walked.add(c.getId());
+            });
+            after = page.getNextAfter();
+        } while (after != null);
+
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < CUSTOMERS; i += 3) expected.add(ids.get(i));
+        assertEquals(expected, walked);
+    }
+}
@@ -0,0 +1,39 @@
+package kad.dev.gatewayservice.bff;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reached only through the {@code bff-dashboard} route, which forwards {@code GET /bff/dashboard} here so that the
+ * default filters (rate limit, response cache) and globalcors apply as on any other route. A request that did not
+ * come through the route gets 404. Partial dashboards are marked no-store so they are not cached.
+ */
+@RestController
+public class DashboardController {
+    static final String ROUTE_ID = "bff-dashboard";
+    static final String FORWARD_PATH = "/bff/internal/dashboard";
+
+    private final DashboardService service;
+
+    public DashboardController(DashboardService service) {
+        this.service = service;
+    }
+
+    @GetMapping(FORWARD_PATH)
+    public Mono<ResponseEntity<DashboardDTO>> dashboard(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int size,
+                                                        ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !ROUTE_ID.equals(route.getId())) return Mono.just(ResponseEntity.notFound().build());
+        return service.dashboard(cursor, size).map(dashboard -> dashboard.partial()
+                ? ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(dashboard)
+                : ResponseEntity.ok(dashboard));
+    }
+}
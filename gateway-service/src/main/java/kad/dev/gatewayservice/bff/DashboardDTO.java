@@ -0,0 +1,27 @@
+package kad.dev.gatewayservice.bff;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One screen's worth of data: a page of accounts joined with their customers, plus those customers themselves.
+ * {@code nextCursor} fetches the following page and is null on the last one. {@code partial} is set when a
+ * backend failed or timed out; {@code failures} says which one and whether it timed out.
+ */
+public record DashboardDTO(List<AccountView> accounts, List<CustomerView> customers, String nextCursor, boolean partial,
+                           List<SourceFailure> failures) {
+
+    public record AccountView(String accountId, BigDecimal balance, String currency, String type, Long customerId,
+                              LocalDate createdAt, CustomerView customer) {
+        AccountView withCustomer(CustomerView customer) {
+            return new AccountView(accountId, balance, currency, type, customerId, createdAt, customer);
+        }
+    }
+
+    public record CustomerView(Long id, String firstName, String lastName, String email) {
+    }
+
+    public record SourceFailure(String service, String message) {
+    }
+}
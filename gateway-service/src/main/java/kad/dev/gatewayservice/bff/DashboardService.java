@@ -0,0 +1,127 @@
+package kad.dev.gatewayservice.bff;
+
+import kad.dev.gatewayservice.bff.DashboardDTO.AccountView;
+import kad.dev.gatewayservice.bff.DashboardDTO.CustomerView;
+import kad.dev.gatewayservice.bff.DashboardDTO.SourceFailure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fetches one page of accounts (without account-service's own customer enrichment), then the customers of that
+ * page in one batch call, and joins them by customerId in the gateway. A backend that fails or exceeds the timeout
+ * contributes an empty list and a {@link SourceFailure} instead of failing the whole dashboard.
+ */
+@Service
+public class DashboardService {
+    static final String ACCOUNT_SERVICE = "ACCOUNT-SERVICE";
+    static final String CUSTOMER_SERVICE = "CUSTOMER-SERVICE";
+    static final String TIMED_OUT = "timed out";
+    static final String UNAVAILABLE = "unavailable";
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final int maxPageSize;
+
+    @Autowired
+    public DashboardService(WebClient.Builder builder, ReactorLoadBalancerExchangeFilterFunction loadBalancer,
+                            @Value("${gateway.bff.timeout:3s}") Duration timeout,
+                            @Value("${gateway.bff.max-page-size:200}") int maxPageSize) {
+        this(builder.filter(loadBalancer).build(), timeout, maxPageSize);
+    }
+
+    DashboardService(WebClient webClient, Duration timeout, int maxPageSize) {
+        this.webClient = webClient;
+        this.timeout = timeout;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public Mono<DashboardDTO> dashboard(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        return fetch(ACCOUNT_SERVICE, accounts(cursor, pageSize), AccountPage.EMPTY).flatMap(accounts -> {
+            List<Long> ids = accounts.value().content().stream()
+                    .map(AccountView::customerId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            Mono<Result<List<CustomerView>>> customers = ids.isEmpty()
+                    ? Mono.just(new Result<>(List.of(), null))
+                    : fetch(CUSTOMER_SERVICE, customers(ids), List.of());
+            return customers.map(result -> join(accounts, result));
+        });
+    }
+
+    private Mono<AccountPage> accounts(String cursor, int size) {
+        return webClient.get()
+                .uri(UriComponentsBuilder.fromUriString("http://ACCOUNT-SERVICE/accounts/page")
+                        .queryParam("size", size)
+                        .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                        .encode()
+                        .build()
+                        .toUri())
+                .retrieve()
+                .bodyToMono(AccountPage.class);
+    }
+
+    private Mono<List<CustomerView>> customers(List<Long> ids) {
+        return webClient.post().uri("http://CUSTOMER-SERVICE/customers/batch")
+                .bodyValue(ids)
+                .retrieve()
+                .bodyToFlux(CustomerView.class)
+                .collectList();
+    }
+
+    private static DashboardDTO join(Result<AccountPage> accounts, Result<List<CustomerView>> customers) {
+        Map<Long, CustomerView> byId = customers.value().stream()
+                .collect(Collectors.toMap(CustomerView::id, Function.identity(), (a, b) -> a));
+        List<AccountView> page = accounts.value().content();
+        List<AccountView> joined = new ArrayList<>(page.size());
+        page.forEach(a -> joined.add(a.withCustomer(a.customerId() == null ? null : byId.get(a.customerId()))));
+        List<SourceFailure> failures = new ArrayList<>(2);
+        if (accounts.failure() != null) failures.add(accounts.failure());
+        if (customers.failure() != null) failures.add(customers.failure());
+        return new DashboardDTO(joined, customers.value(), accounts.value().nextCursor(), !failures.isEmpty(), failures);
+    }
+
+    /**
+     * The backend's answer, or {@code fallback} with a fixed message; the cause is only logged.
+     */
+    private <T> Mono<Result<T>> fetch(String service, Mono<T> call, T fallback) {
+        return call.timeout(timeout)
+                .map(value -> new Result<>(value, null))
+                .onErrorResume(e -> {
+                    log.warn("Dashboard source {} failed: {}", service, e.toString());
+                    String message = e instanceof TimeoutException ? TIMED_OUT : UNAVAILABLE;
+                    return Mono.just(new Result<>(fallback, new SourceFailure(service, message)));
+                });
+    }
+
+    /* the part of account-service's AccountPageDTO the dashboard reads */
+    record AccountPage(List<AccountView> content, String nextCursor) {
+        static final AccountPage EMPTY = new AccountPage(List.of(), null);
+
+        AccountPage {
+            content = content == null ? List.of() : content;
+        }
+    }
+
+    private record Result<T>(T value, SourceFailure failure) {
+    }
+}
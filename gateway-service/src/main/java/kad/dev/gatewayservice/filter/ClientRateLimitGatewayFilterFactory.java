@@ -0,0 +1,94 @@
+package kad.dev.gatewayservice.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process per-client rate limiting, applied to every route through default-filters ({@code - ClientRateLimit}).
+ * Each (route, client) pair owns a {@link TokenBucket}; clients are identified by the API key header, or by
+ * their remote address. Responses carry RateLimit-Limit, RateLimit-Remaining and RateLimit-Reset (seconds until
+ * the bucket is full); rejected requests get 429 with Retry-After. Limits are per gateway instance.
+ */
+@Component
+public class ClientRateLimitGatewayFilterFactory extends AbstractGatewayFilterFactory<ClientRateLimitGatewayFilterFactory.Config> {
+    public static final String LIMIT = "RateLimit-Limit";
+    public static final String REMAINING = "RateLimit-Remaining";
+    public static final String RESET = "RateLimit-Reset";
+
+    private final RateLimitProperties properties;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Counter rejected;
+
+    public ClientRateLimitGatewayFilterFactory(RateLimitProperties properties, MeterRegistry registry) {
+        super(Config.class);
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        this.rejected = Counter.builder("gateway.rate.limit.rejected")
+                .description("Requests rejected with 429 by the per-client token bucket")
+                .register(registry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // ahead of every other route filter, so cached responses are admitted like any other request
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!properties.isEnabled()) return chain.filter(exchange);
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route == null ? "" : route.getId();
+            RateLimitProperties.Limit limit = properties.limitFor(routeId, route == null ? null : route.getUri().getHost());
+            long now = System.nanoTime();
+            TokenBucket bucket = buckets.get(new BucketKey(routeId, clientKey(exchange)),
+                    key -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+            long remaining = bucket.tryConsume(now);
+
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.set(LIMIT, Long.toString(bucket.capacity()));
+            headers.set(REMAINING, Long.toString(Math.max(0, remaining)));
+            headers.set(RESET, Long.toString(ceilSeconds(bucket.nanosUntilFull(now))));
+            if (remaining >= 0) return chain.filter(exchange);
+
+            rejected.increment();
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(ceilSeconds(-remaining - 1)));
+            exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            return exchange.getResponse().setComplete();
+        }, Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+
+    private String clientKey(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String apiKey = request.getHeaders().getFirst(properties.getApiKeyHeader());
+        if (apiKey != null && !apiKey.isBlank()) return "key:" + apiKey;
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) return "ip:unknown";
+        return "ip:" + (remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString());
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public static class Config {
+    }
+
+    private record BucketKey(String routeId, String client) {
+    }
+}
@@ -0,0 +1,103 @@
+package kad.dev.gatewayservice.filter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Limits for {@link ClientRateLimitGatewayFilterFactory}. Per-route entries are looked up by route id, then by
+ * the service id of an lb:// route (e.g. gateway.rate-limit.routes.ACCOUNT-SERVICE.capacity), then fall back
+ * to the default limit. They can be set from the config-service like any other gateway property.
+ */
+@Component
+@ConfigurationProperties("gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    /* request header identifying a client; the remote address is used when it is absent */
+    private String apiKeyHeader = "X-API-Key";
+    /* buckets idle for this long are dropped */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private long maximumClients = 100_000;
+    private Limit defaultLimit = new Limit();
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public Limit limitFor(String routeId, String serviceId) {
+        Limit limit = routes.get(routeId);
+        if (limit == null && serviceId != null) limit = routes.get(serviceId);
+        return limit == null ? defaultLimit : limit;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public long getMaximumClients() {
+        return maximumClients;
+    }
+
+    public void setMaximumClients(long maximumClients) {
+        this.maximumClients = maximumClients;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Map<String, Limit> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Limit> routes) {
+        this.routes = routes;
+    }
+
+    public static class Limit {
+        /* burst size */
+        private long capacity = 100;
+        /* sustained requests per second */
+        private double refillPerSecond = 50;
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package kad.dev.gatewayservice.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory cache for GET responses, applied to every route through default-filters ({@code - ResponseCache}).
+ * <ul>
+ *   <li>Entries are keyed per route by path, query, Accept and Accept-Encoding, bounded in total and per-body bytes.
+ *   A body without Content-Length is passed through as soon as it grows past the per-body limit.</li>
+ *   <li>Downstream {@code Cache-Control: no-store/no-cache/private} responses are never stored and {@code max-age}
+ *   shortens the configured TTL; a request {@code no-cache} revalidates, {@code no-store} bypasses the cache.</li>
+ *   <li>Every cached body gets a strong ETag; a matching {@code If-None-Match} is answered with 304 from memory.</li>
+ *   <li>POST, PUT, PATCH and DELETE on a route bump the route's generation, before and after the write. Keys carry
+ *   the generation, so older entries are no longer reachable and leave through expiry or eviction, and a GET that
+ *   started before the write does not store what it read.</li>
+ * </ul>
+ * Spring Cloud Gateway's LocalResponseCache covers storage and Cache-Control but neither ETags nor invalidation.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+    private static final List<MediaType> STREAMING = List.of(MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+    private static final List<String> STORED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CACHE_CONTROL, HttpHeaders.VARY);
+
+    private final ResponseCacheProperties properties;
+    private final Cache<CacheKey, CachedResponse> cache;
+    private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter notModified;
+    private final Counter misses;
+    private final Counter invalidations;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheProperties properties, MeterRegistry registry) {
+        super(Config.class);
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight().toBytes())
+                .weigher((CacheKey key, CachedResponse value) -> value.body().length)
+                .expireAfter(new Expiry<CacheKey, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(CacheKey key, CachedResponse value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(CacheKey key, CachedResponse value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(CacheKey key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway-responses");
+        this.hits = result(registry, "hit");
+        this.notModified = result(registry, "not_modified");
+        this.misses = result(registry, "miss");
+        this.invalidations = Counter.builder("gateway.response.cache.invalidations").register(registry);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // must run before NettyWriteResponseFilter so that it writes through the capturing decorator
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String routeId = routeId(exchange);
+            HttpMethod method = request.getMethod();
+            if (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH || method == HttpMethod.DELETE) {
+                invalidate(routeId);
+                return chain.filter(exchange).doFinally(signal -> invalidate(routeId));
+            }
+            if (method != HttpMethod.GET) return chain.filter(exchange);
+
+            String requestCacheControl = String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.CACHE_CONTROL)).toLowerCase();
+            if (requestCacheControl.contains("no-store")) return chain.filter(exchange);
+            CacheKey key = CacheKey.of(routeId, generation(routeId).get(), request);
+            boolean revalidate = requestCacheControl.contains("no-cache") || requestCacheControl.contains("max-age=0")
+                    || request.getHeaders().getOrEmpty(HttpHeaders.PRAGMA).contains("no-cache");
+            CachedResponse cached = revalidate ? null : cache.getIfPresent(key);
+            if (cached != null) return writeCached(exchange, cached);
+
+            misses.increment();
+            return chain.filter(exchange.mutate().response(new CapturingResponse(exchange, key)).build());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(cached.etag());
+        headers.set("X-Cache", "HIT");
+        headers.set(HttpHeaders.AGE, Long.toString(Duration.ofNanos(System.nanoTime() - cached.storedAtNanos()).toSeconds()));
+        if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            notModified.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        hits.increment();
+        response.setStatusCode(cached.status());
+        cached.headers().forEach(headers::put);
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void invalidate(String routeId) {
+        invalidations.increment();
+        generation(routeId).incrementAndGet();
+    }
+
+    private AtomicLong generation(String routeId) {
+        return generations.computeIfAbsent(routeId, id -> new AtomicLong());
+    }
+
+    /**
+     * Buffers a cacheable downstream body, stores it with its ETag and answers 304 when the client already has it.
+     * Once the buffered bytes pass the per-body limit, what was held is written out and the rest streams through.
+     */
+    private class CapturingResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final CacheKey key;
+
+        CapturingResponse(ServerWebExchange exchange, CacheKey key) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            long ttlNanos = ttlNanos(headers);
+            long limit = properties.getMaximumBodySize().toBytes();
+            if (getStatusCode() != HttpStatus.OK || ttlNanos <= 0 || isStreaming(headers.getContentType())
+                    || headers.getContentLength() > limit) {
+                return super.writeWith(body);
+            }
+            AtomicLong seen = new AtomicLong();
+            // one list holding the whole body, or the buffers up to the one that crossed the limit followed by one list per buffer
+            return Flux.from(body)
+                    .bufferUntil(buffer -> seen.addAndGet(buffer.readableByteCount()) > limit)
+                    .switchOnFirst((first, all) -> seen.get() > limit
+                            ? super.writeWith(all.concatMapIterable(buffers -> buffers))
+                            : all.singleOrEmpty().defaultIfEmpty(List.of()).flatMap(buffers -> store(drain(buffers), ttlNanos)))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then();
+        }
+
+        private Mono<Void> store(byte[] bytes, long ttlNanos) {
+            HttpHeaders headers = getHeaders();
+            String etag = etag(bytes);
+            headers.setETag(etag);
+            headers.set("X-Cache", "MISS");
+            // a write on the route since this request started makes what it read unfit to store
+            if (generation(key.routeId()).get() == key.generation()) {
+                HttpHeaders stored = new HttpHeaders();
+                STORED_HEADERS.forEach(name -> {
+                    List<String> values = headers.get(name);
+                    if (values != null) stored.put(name, List.copyOf(values));
+                });
+                cache.put(key, new CachedResponse(getStatusCode(), stored, bytes, etag, System.nanoTime(), ttlNanos));
+            }
+            if (matches(exchange.getRequest().getHeaders().getIfNoneMatch(), etag)) {
+                notModified.increment();
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+                return super.writeWith(Flux.empty());
+            }
+            headers.setContentLength(bytes.length);
+            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+        }
+
+        /**
+         * Lifetime allowed by the downstream Cache-Control, capped by the configured TTL; 0 when not storable.
+         */
+        private long ttlNanos(HttpHeaders headers) {
+            long ttl = properties.getTimeToLive().toNanos();
+            String cacheControl = headers.getCacheControl();
+            if (cacheControl == null) return ttl;
+            long maxAge = -1;
+            for (String directive : cacheControl.toLowerCase().split(",")) {
+                directive = directive.trim();
+                if (directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")) return 0;
+                if (directive.startsWith("s-maxage=")) maxAge = parseSeconds(directive.substring(9));
+                else if (directive.startsWith("max-age=") && maxAge < 0) maxAge = parseSeconds(directive.substring(8));
+            }
+            return maxAge < 0 ? ttl : Math.min(ttl, Duration.ofSeconds(maxAge).toNanos());
+        }
+    }
+
+    private static long parseSeconds(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static byte[] drain(List<DataBuffer> buffers) {
+        byte[] bytes = new byte[buffers.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+
+    private static boolean isStreaming(MediaType contentType) {
+        return contentType != null && STREAMING.stream().anyMatch(contentType::isCompatibleWith);
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || (tag.startsWith("W/") && tag.substring(2).equals(etag))) return true;
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route == null ? "" : route.getId();
+    }
+
+    private static Counter result(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.response.cache").tag("result", result).register(registry);
+    }
+
+    public static class Config {
+    }
+
+    private record CacheKey(String routeId, long generation, String path, String query, String accept, String acceptEncoding) {
+        static CacheKey of(String routeId, long generation, ServerHttpRequest request) {
+            HttpHeaders headers = request.getHeaders();
+            return new CacheKey(routeId, generation, request.getURI().getRawPath(), request.getURI().getRawQuery(),
+                    headers.getFirst(HttpHeaders.ACCEPT), headers.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        }
+    }
+
+    private record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String etag,
+                                  long storedAtNanos, long ttlNanos) {
+    }
+}
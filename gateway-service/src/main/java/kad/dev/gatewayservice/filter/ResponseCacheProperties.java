@@ -0,0 +1,42 @@
+package kad.dev.gatewayservice.filter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties("gateway.response-cache")
+public class ResponseCacheProperties {
+    /* total body bytes kept across all routes */
+    private DataSize maximumWeight = DataSize.ofMegabytes(64);
+    /* responses larger than this are passed through without being stored */
+    private DataSize maximumBodySize = DataSize.ofMegabytes(2);
+    /* upper bound for an entry's lifetime; a shorter downstream max-age wins */
+    private Duration timeToLive = Duration.ofSeconds(30);
+
+    public DataSize getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public void setMaximumWeight(DataSize maximumWeight) {
+        this.maximumWeight = maximumWeight;
+    }
+
+    public DataSize getMaximumBodySize() {
+        return maximumBodySize;
+    }
+
+    public void setMaximumBodySize(DataSize maximumBodySize) {
+        this.maximumBodySize = maximumBodySize;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+}
@@ -0,0 +1,48 @@
+package kad.dev.gatewayservice.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the only state is the theoretical arrival time (TAT) of the next
+ * request, kept in one AtomicLong and advanced with compare-and-set. A bucket of {@code capacity} tokens
+ * refilled at {@code refillPerSecond} admits a request while the TAT stays within capacity × interval of now.
+ */
+public final class TokenBucket {
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+        if (capacity <= 0 || refillPerSecond <= 0) throw new IllegalArgumentException("capacity and refill rate must be positive");
+        this.capacity = capacity;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = capacity * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available. Returns the tokens left (>= 0), or the negated nanoseconds until a token
+     * becomes available minus one (< 0) when the request must be rejected.
+     */
+    public long tryConsume(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) return -(ahead - burstNanos) - 1;
+            if (theoreticalArrival.compareAndSet(tat, next)) return (burstNanos - ahead) / intervalNanos;
+        }
+    }
+
+    /**
+     * Nanoseconds until the bucket is full again.
+     */
+    public long nanosUntilFull(long nowNanos) {
+        return Math.max(0, theoreticalArrival.get() - nowNanos);
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,120 @@
+package kad.dev.gatewayservice.bff;
+
+import kad.dev.gatewayservice.bff.DashboardDTO.AccountView;
+import kad.dev.gatewayservice.bff.DashboardDTO.SourceFailure;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DashboardServiceTests {
+    private static final String ACCOUNTS = """
+            {"content":[
+              {"accountId":"a1","balance":10,"currency":"MAD","type":"CURRENT_ACCOUNT","customerId":1,"createdAt":"2024-01-01"},
+              {"accountId":"a2","balance":20,"currency":"MAD","type":"SAVING_ACCOUNT","customerId":2,"createdAt":"2024-01-02"},
+              {"accountId":"a3","balance":30,"currency":"MAD","type":"CURRENT_ACCOUNT","customerId":null,"createdAt":"2024-01-03"},
+              {"accountId":"a4","balance":40,"currency":"MAD","type":"CURRENT_ACCOUNT","customerId":1,"createdAt":"2024-01-04"},
+              {"accountId":"a5","balance":50,"currency":"MAD","type":"CURRENT_ACCOUNT","customerId":9,"createdAt":"2024-01-05"}
+            ],"size":5,"nextCursor":"next-page"}""";
+    private static final String CUSTOMERS = """
+            [{"id":1,"firstName":"Amal","lastName":"Idrissi","email":"amal@ebank.dev"},
+             {"id":2,"firstName":"Omar","lastName":"Alami","email":"omar@ebank.dev"}]""";
+
+    private final List<URI> requests = new CopyOnWriteArrayList<>();
+
+    @Test
+    void aPageOfAccountsIsJoinedWithItsCustomers() {
+        DashboardDTO dashboard = service(request -> request.url().getPath().endsWith("/accounts/page") ? json(ACCOUNTS) : json(CUSTOMERS))
+                .dashboard("this-page", 5).block();
+
+        assertFalse(dashboard.partial());
+        assertTrue(dashboard.failures().isEmpty());
+        assertEquals("next-page", dashboard.nextCursor());
+        assertEquals(List.of("a1", "a2", "a3", "a4", "a5"), dashboard.accounts().stream().map(AccountView::accountId).toList());
+        assertEquals("Amal", dashboard.accounts().get(0).customer().firstName());
+        assertEquals("Omar", dashboard.accounts().get(1).customer().firstName());
+        assertNull(dashboard.accounts().get(2).customer());
+        assertEquals("Amal", dashboard.accounts().get(3).customer().firstName());
+        assertNull(dashboard.accounts().get(4).customer());
+        assertEquals(2, dashboard.customers().size());
+
+        assertEquals(2, requests.size());
+        assertEquals("size=5&cursor=this-page", requests.get(0).getQuery());
+        assertEquals("/customers/batch", requests.get(1).getPath());
+    }
+
+    @Test
+    void thePageSizeIsClamped() {
+        service(request -> json("{\"content\":[],\"size\":0,\"nextCursor\":null}")).dashboard(null, 10_000).block();
+
+        assertEquals("size=200", requests.get(0).getQuery());
+        // no customer ids on the page, so customer-service is not called
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void aFailingCustomerServiceLeavesAccountsWithoutCustomers() {
+        DashboardDTO dashboard = service(request -> request.url().getPath().endsWith("/accounts/page")
+                ? json(ACCOUNTS)
+                : Mono.error(new IllegalStateException("Connection refused: customer-service/10.0.3.7:8081")))
+                .dashboard(null, 5).block();
+
+        assertTrue(dashboard.partial());
+        assertEquals(List.of(new SourceFailure(DashboardService.CUSTOMER_SERVICE, DashboardService.UNAVAILABLE)), dashboard.failures());
+        assertEquals(5, dashboard.accounts().size());
+        assertTrue(dashboard.accounts().stream().allMatch(account -> account.customer() == null));
+        assertTrue(dashboard.customers().isEmpty());
+        assertEquals("next-page", dashboard.nextCursor());
+    }
+
+    @Test
+    void aTimedOutAccountServiceSkipsTheCustomerCall() {
+        DashboardDTO dashboard = service(request -> Mono.never()).dashboard(null, 5).block();
+
+        assertTrue(dashboard.partial());
+        assertEquals(List.of(new SourceFailure(DashboardService.ACCOUNT_SERVICE, DashboardService.TIMED_OUT)), dashboard.failures());
+        assertTrue(dashboard.accounts().isEmpty());
+        assertNull(dashboard.nextCursor());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void anErrorStatusIsReportedWithoutItsBody() {
+        DashboardDTO dashboard = service(request -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                .body("org.h2.jdbc.JdbcSQLSyntaxErrorException: Table BANK_ACCOUNT not found")
+                .build()))
+                .dashboard(null, 5).block();
+
+        assertEquals(List.of(new SourceFailure(DashboardService.ACCOUNT_SERVICE, DashboardService.UNAVAILABLE)), dashboard.failures());
+    }
+
+    private DashboardService service(Function<ClientRequest, Mono<ClientResponse>> backends) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request.url());
+                    return backends.apply(request);
+                })
+                .build();
+        return new DashboardService(webClient, Duration.ofMillis(200), 200);
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
@@ -0,0 +1,115 @@
+package kad.dev.gatewayservice.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheGatewayFilterFactoryTests {
+    private static final Route ROUTE = Route.async().id("accounts").uri("http://localhost:8082").predicate(e -> true).build();
+
+    private final AtomicInteger downstreamCalls = new AtomicInteger();
+    /* body chunks written by the next GETs, without Content-Length */
+    private List<String> chunks = List.of("[{\"accountId\":\"a1\"}]");
+    /* runs while the next GET is downstream, before it writes its body */
+    private Runnable duringNextGet = () -> {
+    };
+    private final GatewayFilterChain downstream = exchange -> {
+        downstreamCalls.incrementAndGet();
+        if (!"GET".equals(exchange.getRequest().getMethod().name())) return exchange.getResponse().setComplete();
+        Runnable during = duringNextGet;
+        duringNextGet = () -> {
+        };
+        during.run();
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return exchange.getResponse().writeWith(Flux.fromIterable(chunks)
+                .map(chunk -> exchange.getResponse().bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+    };
+    private final ResponseCacheProperties properties = new ResponseCacheProperties();
+    private final GatewayFilter filter = new ResponseCacheGatewayFilterFactory(properties, new SimpleMeterRegistry())
+            .apply(new ResponseCacheGatewayFilterFactory.Config());
+
+    @Test
+    void repeatedGetIsServedFromMemoryAndRevalidatedWithTheETag() {
+        MockServerWebExchange first = run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        String etag = first.getResponse().getHeaders().getETag();
+        assertNotNull(etag);
+        assertEquals("[{\"accountId\":\"a1\"}]", first.getResponse().getBodyAsString().block());
+
+        MockServerWebExchange second = run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("[{\"accountId\":\"a1\"}]", second.getResponse().getBodyAsString().block());
+
+        MockServerWebExchange conditional = run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts").ifNoneMatch(etag));
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals(1, downstreamCalls.get());
+    }
+
+    @Test
+    void writesInvalidateTheRouteAndNoStoreIsNeverCached() {
+        run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        run(MockServerHttpRequest.post("/ACCOUNT-SERVICE/save-account"));
+        run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        assertEquals(3, downstreamCalls.get());
+
+        run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts").header(HttpHeaders.CACHE_CONTROL, "no-store"));
+        assertEquals(4, downstreamCalls.get());
+    }
+
+    @Test
+    void aWriteWhileAGetIsDownstreamKeepsTheOldBodyOutOfTheCache() {
+        duringNextGet = () -> run(MockServerHttpRequest.post("/ACCOUNT-SERVICE/save-account"));
+        MockServerWebExchange raced = run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        assertEquals("[{\"accountId\":\"a1\"}]", raced.getResponse().getBodyAsString().block());
+
+        chunks = List.of("[{\"accountId\":\"a2\"}]");
+        MockServerWebExchange next = run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        assertEquals("MISS", next.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("[{\"accountId\":\"a2\"}]", next.getResponse().getBodyAsString().block());
+        assertEquals(3, downstreamCalls.get());
+    }
+
+    @Test
+    void aChunkedBodyPastTheLimitStreamsThroughUncached() {
+        properties.setMaximumBodySize(DataSize.ofBytes(16));
+        chunks = List.of("[{\"accountId\":", "\"a1\"},", "{\"accountId\":", "\"a2\"}]");
+
+        MockServerWebExchange first = run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        assertEquals(String.join("", chunks), first.getResponse().getBodyAsString().block());
+        assertNull(first.getResponse().getHeaders().getETag());
+
+        run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        assertEquals(2, downstreamCalls.get());
+
+        chunks = List.of("[]");
+        run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        MockServerWebExchange small = run(MockServerHttpRequest.get("/ACCOUNT-SERVICE/accounts"));
+        assertEquals("HIT", small.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals(3, downstreamCalls.get());
+    }
+
+    private MockServerWebExchange run(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, ROUTE);
+        filter.filter(exchange, downstream).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,44 @@
+package kad.dev.gatewayservice.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTests {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void admitsTheBurstThenRefillsAtTheConfiguredRate() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        for (int i = 9; i >= 0; i--) assertEquals(i, bucket.tryConsume(0));
+
+        long rejected = bucket.tryConsume(0);
+        assertTrue(rejected < 0);
+        assertEquals(SECOND / 5, -rejected - 1);
+
+        assertEquals(0, bucket.tryConsume(SECOND / 5));
+        assertTrue(bucket.tryConsume(SECOND / 5) < 0);
+        assertEquals(4, bucket.tryConsume(SECOND + SECOND / 5));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheCapacity() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1_000, 0.001, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) if (bucket.tryConsume(1) >= 0) admitted.incrementAndGet();
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(1_000, admitted.get());
+    }
+}
@@ -0,0 +1,28 @@
+package kad.dev.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.*;
+
+import java.time.Instant;
+
+@Builder @Getter @Setter @AllArgsConstructor @NoArgsConstructor
+public class ChangeEventDTO {
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    private ChangeType type;
+    private Instant occurredAt;
+    @JsonRawValue
+    private String payload;
+
+    public static ChangeEventDTO from(OutboxEvent event) {
+        return ChangeEventDTO.builder()
+                .id(event.getId())
+                .aggregateType(event.getAggregateType())
+                .aggregateId(event.getAggregateId())
+                .type(event.getType())
+                .occurredAt(event.getCreatedAt())
+                .payload(event.getPayload())
+                .build();
+    }
+}
@@ -0,0 +1,5 @@
+package kad.dev.outbox;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
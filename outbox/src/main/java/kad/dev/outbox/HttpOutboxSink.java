@@ -0,0 +1,96 @@
+package kad.dev.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Posts each batch to every registered instance of the consuming service, since each of them keeps caches
+ * of its own, with the shared secret in {@link #TOKEN_HEADER}. Instances are tracked separately: one that fails
+ * is skipped, backing off up to {@link #MAX_BACKOFF}, while the others keep receiving batches, and it catches up
+ * on what it missed from the change feed it polls. A batch fails only when no instance accepted it.
+ */
+@Slf4j
+public class HttpOutboxSink implements OutboxSink {
+    public static final String TOKEN_HEADER = "X-Outbox-Token";
+    private static final Duration MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final DiscoveryClient discoveryClient;
+    private final RestClient restClient;
+    private final String serviceId;
+    private final String path;
+    private final String token;
+    /* by instance uri; only touched by the relay thread */
+    private final Map<String, Target> targets = new HashMap<>();
+
+    public HttpOutboxSink(DiscoveryClient discoveryClient, RestClient restClient, String serviceId, String path, String token) {
+        this.discoveryClient = discoveryClient;
+        this.restClient = restClient;
+        this.serviceId = serviceId;
+        this.path = path;
+        this.token = token;
+    }
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(serviceId);
+        if (instances.isEmpty()) throw new IllegalStateException("No " + serviceId + " instance to deliver events to");
+        // forget instances that left the registry
+        targets.keySet().retainAll(instances.stream().map(instance -> instance.getUri().toString()).toList());
+        long now = System.nanoTime();
+        int accepted = 0;
+        RuntimeException lastFailure = null;
+        for (ServiceInstance instance : instances) {
+            String uri = instance.getUri().toString();
+            Target target = targets.computeIfAbsent(uri, k -> new Target());
+            if (target.backingOff(now)) continue;
+            try {
+                restClient.post()
+                        .uri(uri + path)
+                        .header(TOKEN_HEADER, token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(events)
+                        .retrieve()
+                        .toBodilessEntity();
+                target.succeeded();
+                accepted++;
+            } catch (RuntimeException e) {
+                target.failed(now);
+                lastFailure = e;
+                log.warn("{} at {} rejected {} events, skipping it for {} ms: {}", serviceId, uri, events.size(),
+                        target.backoff.toMillis(), e.getMessage());
+            }
+        }
+        if (accepted == 0) throw new IllegalStateException("No " + serviceId + " instance accepted the events", lastFailure);
+    }
+
+    private static final class Target {
+        private Duration backoff = Duration.ZERO;
+        private long retryAt;
+
+        boolean backingOff(long now) {
+            return !backoff.isZero() && now - retryAt < 0;
+        }
+
+        void succeeded() {
+            backoff = Duration.ZERO;
+        }
+
+        void failed(long now) {
+            backoff = backoff.isZero() ? MIN_BACKOFF : min(backoff.multipliedBy(2), MAX_BACKOFF);
+            retryAt = now + backoff.toNanos();
+        }
+
+        private static Duration min(Duration a, Duration b) {
+            return a.compareTo(b) <= 0 ? a : b;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package kad.dev.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * In-process sink for running without consumers: events are only logged.
+ */
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) {
+        events.forEach(event -> log.info("{} {} {} #{}", event.getAggregateType(), event.getAggregateId(), event.getType(), event.getId()));
+    }
+}
@@ -0,0 +1,45 @@
+package kad.dev.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+/**
+ * Registers the outbox entity and repository next to the application's own, plus {@link OutboxWriter} and
+ * {@link OutboxRelay}. outbox.sink.type=http delivers events to every instance of outbox.sink.service-id,
+ * log (default) only logs them.
+ */
+@AutoConfiguration(before = {HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class})
+@AutoConfigurationPackage(basePackageClasses = OutboxEvent.class)
+@Import({OutboxWriter.class, OutboxRelay.class})
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sink.type", havingValue = "http")
+    OutboxSink httpOutboxSink(DiscoveryClient discoveryClient,
+                              @Value("${outbox.sink.service-id}") String serviceId,
+                              @Value("${outbox.sink.path}") String path,
+                              @Value("${outbox.sink.token:}") String token,
+                              @Value("${outbox.sink.timeout:5s}") Duration timeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        return new HttpOutboxSink(discoveryClient, RestClient.builder().requestFactory(requestFactory).build(), serviceId, path, token);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.sink.type", havingValue = "log", matchIfMissing = true)
+    OutboxSink loggingOutboxSink() {
+        return new LoggingOutboxSink();
+    }
+}
@@ -0,0 +1,31 @@
+package kad.dev.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A change to an aggregate, written in the transaction that made it and published later by {@link OutboxRelay}.
+ * Ids come from a non-pooled sequence drawn after the change is flushed, so for any one aggregate they follow
+ * commit order and consumers can drop events older than the last one they applied.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_event_unpublished", columnList = "publishedAt, id"))
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor @Builder
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", allocationSize = 1)
+    private Long id;
+    private String aggregateType;
+    private String aggregateId;
+    @Enumerated(EnumType.STRING)
+    private ChangeType type;
+    @Column(length = 4000)
+    private String payload;
+    private Instant createdAt;
+    private Instant publishedAt;
+    /* set while a relay is publishing the event; another relay may pick it up once this has passed */
+    private Instant claimedUntil;
+}
@@ -0,0 +1,66 @@
+package kad.dev.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /*
+     * Locks the oldest unpublished events that no relay has claimed, skipping rows another relay instance
+     * holds (lock timeout -2)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.publishedAt is null and (e.claimedUntil is null or e.claimedUntil < :now) order by e.id")
+    List<OutboxEvent> lockUnpublished(@Param("now") Instant now, Pageable page);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = :claimedUntil where e.id in :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimedUntil") Instant claimedUntil);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = null where e.id in :ids")
+    int releaseClaims(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") Instant before);
+
+    /*
+     * Keeps the newest event, so a change feed can tell how far back the outbox reaches even after a quiet week
+     */
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :before and e.id < :newestId")
+    int deletePublishedBefore(@Param("before") Instant before, @Param("newestId") Long newestId);
+
+    @Query("select max(e.id) from OutboxEvent e")
+    Long findNewestId();
+
+    long countByPublishedAtIsNull();
+
+    /*
+     * Only events older than :settledBefore, so a reader moving past an id cannot skip a lower one still being committed
+     */
+    @Query("select e from OutboxEvent e where e.aggregateType = :aggregateType and e.id > :since and e.createdAt < :settledBefore order by e.id")
+    List<OutboxEvent> findChangesSince(@Param("aggregateType") String aggregateType, @Param("since") long since,
+                                       @Param("settledBefore") Instant settledBefore, Pageable page);
+
+    @Query("select min(e.id) from OutboxEvent e")
+    Long findOldestId();
+
+    @Query("select max(e.id) from OutboxEvent e where e.createdAt < :settledBefore")
+    Long findNewestIdBefore(@Param("settledBefore") Instant settledBefore);
+}
@@ -0,0 +1,177 @@
+package kad.dev.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes outbox events to the {@link OutboxSink} in id order, one batch at a time. The batch is locked (skipping
+ * rows locked by another instance's relay) and claimed for outbox.relay.claim-timeout in a short transaction, then
+ * published with no transaction or row lock held, then marked published. A slow sink therefore holds no database
+ * resources, and a batch whose relay died mid-publish is picked up again once its claim expires. Full batches are
+ * followed by the next one right away; otherwise the relay polls every outbox.relay.interval, backing off up to
+ * {@link #MAX_BACKOFF} while the sink keeps failing. Published events are kept
+ * for outbox.retention so consumers can catch up from them; with outbox.purge.keep-newest the newest event
+ * outlives its retention too, for services that serve a change feed from the outbox.
+ */
+@Slf4j
+public class OutboxRelay {
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final OutboxEventRepository repository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration interval;
+    private final Duration claimTimeout;
+    private final Duration retention;
+    private final boolean keepNewest;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong pending = new AtomicLong();
+    /* only touched by the scheduler thread */
+    private Duration backoff = Duration.ZERO;
+    private long retryAt = System.nanoTime();
+    private final Counter published;
+    private final Counter failures;
+    private final DistributionSummary batchSizes;
+    private final Timer lag;
+
+    public OutboxRelay(OutboxEventRepository repository, OutboxSink sink, PlatformTransactionManager transactionManager,
+                       MeterRegistry registry,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.interval:200ms}") Duration interval,
+                       @Value("${outbox.relay.claim-timeout:1m}") Duration claimTimeout,
+                       @Value("${outbox.retention:7d}") Duration retention,
+                       @Value("${outbox.purge.keep-newest:false}") boolean keepNewest) {
+        this.repository = repository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.claimTimeout = claimTimeout;
+        this.retention = retention;
+        this.keepNewest = keepNewest;
+        this.published = Counter.builder("outbox.relay.events")
+                .description("Outbox events published")
+                .register(registry);
+        this.failures = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches that could not be published and will be retried")
+                .register(registry);
+        this.batchSizes = DistributionSummary.builder("outbox.relay.batch.size")
+                .description("Events per published batch")
+                .register(registry);
+        this.lag = Timer.builder("outbox.relay.lag")
+                .description("Time from an event being committed to it being published")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("outbox.relay.pending", pending, AtomicLong::get)
+                .description("Unpublished outbox events at the last poll")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::drain, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purge, 1, 1, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Publishes until the outbox holds less than a batch.
+     */
+    public void drain() {
+        if (System.nanoTime() - retryAt < 0) return;
+        try {
+            while (relayBatch() == batchSize) {
+                // a full batch: there may be more right behind it
+            }
+            pending.set(repository.countByPublishedAtIsNull());
+            backoff = Duration.ZERO;
+        } catch (RuntimeException e) {
+            failures.increment();
+            backoff = backoff.isZero() ? interval : min(backoff.multipliedBy(2), MAX_BACKOFF);
+            retryAt = System.nanoTime() + backoff.toNanos();
+            log.warn("Could not publish outbox events, retrying in {} ms: {}", backoff.toMillis(), e.getMessage());
+        }
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    private int relayBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> events = transactionTemplate.execute(status -> {
+            List<OutboxEvent> locked = repository.lockUnpublished(now, PageRequest.ofSize(batchSize));
+            if (!locked.isEmpty()) repository.claim(ids(locked), now.plus(claimTimeout));
+            return locked;
+        });
+        if (events == null || events.isEmpty()) return 0;
+        List<Long> ids = ids(events);
+        try {
+            sink.publish(events.stream().map(ChangeEventDTO::from).toList());
+        } catch (RuntimeException e) {
+            release(ids);
+            throw e;
+        }
+        Instant publishedAt = Instant.now();
+        transactionTemplate.executeWithoutResult(status -> repository.markPublished(ids, publishedAt));
+        published.increment(events.size());
+        batchSizes.record(events.size());
+        events.forEach(event -> lag.record(Duration.between(event.getCreatedAt(), publishedAt)));
+        return events.size();
+    }
+
+    /* lets the next attempt retry the batch at once; if this fails too, the claim simply expires */
+    private void release(List<Long> ids) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.releaseClaims(ids));
+        } catch (RuntimeException e) {
+            log.warn("Could not release claimed outbox events, retrying them after the claim expires: {}", e.getMessage());
+        }
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+
+    void purge() {
+        try {
+            Integer purged = transactionTemplate.execute(status -> {
+                Instant before = Instant.now().minus(retention);
+                if (!keepNewest) return repository.deletePublishedBefore(before);
+                Long newestId = repository.findNewestId();
+                return newestId == null ? 0 : repository.deletePublishedBefore(before, newestId);
+            });
+            if (purged != null && purged > 0) log.info("Purged {} published outbox events", purged);
+        } catch (RuntimeException e) {
+            log.warn("Could not purge the outbox: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package kad.dev.outbox;
+
+
+import java.util.List;
+
+/**
+ * Where {@link OutboxRelay} delivers events. A batch counts as delivered when publish returns; any exception
+ * leaves it in the outbox to be delivered again, so consumers must tolerate duplicates.
+ */
+public interface OutboxSink {
+    void publish(List<ChangeEventDTO> events);
+}
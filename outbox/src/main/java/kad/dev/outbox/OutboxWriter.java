@@ -0,0 +1,66 @@
+package kad.dev.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Appends change events to the outbox, inside the caller's transaction.
+ */
+public class OutboxWriter {
+    private final OutboxEventRepository repository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(OutboxEventRepository repository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Flushes the pending change first, so its row lock is held before the event id is drawn.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String aggregateType, Object aggregateId, ChangeType type, Object payload) {
+        entityManager.flush();
+        repository.save(event(aggregateType, aggregateId, type, payload, Instant.now()));
+    }
+
+    /**
+     * One event per aggregate, with a single flush, so the events of a batch insert are written as one JDBC batch.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void appendAll(String aggregateType, ChangeType type, Collection<T> aggregates,
+                              Function<T, Object> aggregateId, Function<T, Object> payload) {
+        entityManager.flush();
+        Instant now = Instant.now();
+        repository.saveAll(aggregates.stream()
+                .map(aggregate -> event(aggregateType, aggregateId.apply(aggregate), type, payload.apply(aggregate), now))
+                .toList());
+    }
+
+    private OutboxEvent event(String aggregateType, Object aggregateId, ChangeType type, Object payload, Instant now) {
+        return OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(String.valueOf(aggregateId))
+                .type(type)
+                .payload(json(payload))
+                .createdAt(now)
+                .build();
+    }
+
+    private String json(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package kad.dev.outbox;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HttpOutboxSinkTests {
+    private static final String SERVICE_ID = "ACCOUNT-SERVICE";
+    private static final String TOKEN = "s3cret";
+
+    private final DiscoveryClient discoveryClient = mock(DiscoveryClient.class);
+    private final List<Target> targets = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        targets.forEach(target -> target.server.stop(0));
+    }
+
+    @Test
+    void everyInstanceReceivesTheBatchWithTheToken() throws IOException {
+        Target first = target(204);
+        Target second = target(204);
+
+        sink().publish(List.of(event(42)));
+
+        for (Target target : List.of(first, second)) {
+            assertEquals(1, target.requests.size());
+            assertEquals(TOKEN, target.tokens.get(0));
+            assertTrue(target.requests.get(0).contains("\"id\":42"), target.requests.get(0));
+        }
+    }
+
+    @Test
+    void aFailingInstanceIsSkippedWhileTheOthersKeepReceivingBatches() throws IOException {
+        Target down = target(503);
+        Target up = target(204);
+        HttpOutboxSink sink = sink();
+
+        sink.publish(List.of(event(1)));
+        sink.publish(List.of(event(2)));
+
+        // the second batch came within the failed instance's backoff
+        assertEquals(1, down.requests.size());
+        assertEquals(2, up.requests.size());
+    }
+
+    @Test
+    void aBatchNoInstanceAcceptedFails() throws IOException {
+        Target down = target(503);
+        HttpOutboxSink sink = sink();
+
+        assertThrows(IllegalStateException.class, () -> sink.publish(List.of(event(1))));
+        assertThrows(IllegalStateException.class, () -> sink.publish(List.of(event(1))));
+        assertEquals(1, down.requests.size());
+    }
+
+    @Test
+    void aBatchFailsWithoutInstances() {
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> sink().publish(List.of(event(1))));
+    }
+
+    private HttpOutboxSink sink() {
+        List<ServiceInstance> instances = targets.stream()
+                .map(target -> (ServiceInstance) new DefaultServiceInstance(null, SERVICE_ID, "localhost",
+                        target.server.getAddress().getPort(), false))
+                .toList();
+        when(discoveryClient.getInstances(SERVICE_ID)).thenReturn(instances);
+        return new HttpOutboxSink(discoveryClient, RestClient.create(), SERVICE_ID, "/events/customers", TOKEN);
+    }
+
+    private Target target(int status) throws IOException {
+        Target target = new Target(HttpServer.create(new InetSocketAddress("localhost", 0), 0), new CopyOnWriteArrayList<>(),
+                new CopyOnWriteArrayList<>());
+        target.server.createContext("/events/customers", exchange -> {
+            try (InputStream body = exchange.getRequestBody()) {
+                target.requests.add(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            target.tokens.add(exchange.getRequestHeaders().getFirst(HttpOutboxSink.TOKEN_HEADER));
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        target.server.start();
+        targets.add(target);
+        return target;
+    }
+
+    private static ChangeEventDTO event(long id) {
+        return ChangeEventDTO.builder()
+                .id(id)
+                .aggregateType("customer")
+                .aggregateId(String.valueOf(id))
+                .type(ChangeType.UPDATED)
+                .payload("{\"id\":" + id + "}")
+                .build();
+    }
+
+    private record Target(HttpServer server, List<String> requests, List<String> tokens) {
+    }
+}
@@ -0,0 +1,138 @@
+package kad.dev.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTests {
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(1);
+
+    private OutboxEventRepository repository;
+    private OutboxSink sink;
+    private PlatformTransactionManager transactionManager;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        sink = mock(OutboxSink.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(call -> new SimpleTransactionStatus());
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void aBatchIsClaimedAndCommittedBeforeItIsPublished() {
+        when(repository.lockUnpublished(any(Instant.class), any(Pageable.class))).thenReturn(events(1, 2));
+        Instant before = Instant.now();
+
+        relay(10).drain();
+
+        InOrder order = inOrder(transactionManager, repository, sink);
+        order.verify(repository).lockUnpublished(any(Instant.class), any(Pageable.class));
+        ArgumentCaptor<Instant> claimedUntil = ArgumentCaptor.forClass(Instant.class);
+        order.verify(repository).claim(eq(List.of(1L, 2L)), claimedUntil.capture());
+        order.verify(transactionManager).commit(any());
+        order.verify(sink).publish(anyList());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(repository).markPublished(eq(List.of(1L, 2L)), any(Instant.class));
+        order.verify(transactionManager).commit(any());
+        assertFalse(claimedUntil.getValue().isBefore(before.plus(CLAIM_TIMEOUT)));
+        verify(repository, never()).releaseClaims(anyList());
+        assertEquals(2, registry.get("outbox.relay.events").counter().count());
+    }
+
+    @Test
+    void aFailedPublishReleasesTheClaimAndBacksOff() {
+        when(repository.lockUnpublished(any(Instant.class), any(Pageable.class))).thenReturn(events(1, 2));
+        doThrow(new IllegalStateException("sink down")).when(sink).publish(anyList());
+        OutboxRelay relay = relay(10);
+
+        relay.drain();
+        relay.drain();
+
+        verify(repository).releaseClaims(List.of(1L, 2L));
+        verify(repository, never()).markPublished(anyList(), any(Instant.class));
+        // the second drain came within the backoff and did not poll
+        verify(repository, times(1)).lockUnpublished(any(Instant.class), any(Pageable.class));
+        assertEquals(1, registry.get("outbox.relay.failures").counter().count());
+    }
+
+    @Test
+    void fullBatchesAreFollowedByTheNextOneRightAway() {
+        when(repository.lockUnpublished(any(Instant.class), any(Pageable.class)))
+                .thenReturn(events(1, 2), events(3, 4), events(5, 5));
+
+        relay(2).drain();
+
+        verify(sink, times(3)).publish(anyList());
+        verify(repository).markPublished(eq(List.of(5L)), any(Instant.class));
+        assertEquals(5, registry.get("outbox.relay.events").counter().count());
+    }
+
+    @Test
+    void publishedEventsCarryTheirPayloadAndCommitTime() {
+        OutboxEvent event = events(7, 7).get(0);
+        when(repository.lockUnpublished(any(Instant.class), any(Pageable.class))).thenReturn(List.of(event));
+
+        relay(10).drain();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ChangeEventDTO>> published = ArgumentCaptor.forClass(List.class);
+        verify(sink).publish(published.capture());
+        ChangeEventDTO dto = published.getValue().get(0);
+        assertEquals(7L, dto.getId());
+        assertEquals("customer", dto.getAggregateType());
+        assertEquals("7", dto.getAggregateId());
+        assertEquals(ChangeType.UPDATED, dto.getType());
+        assertEquals(event.getCreatedAt(), dto.getOccurredAt());
+        assertEquals("{\"id\":7}", dto.getPayload());
+    }
+
+    @Test
+    void purgeDeletesEverythingPastRetentionUnlessTheNewestIsKept() {
+        when(repository.findNewestId()).thenReturn(99L);
+
+        relay(10, false).purge();
+        verify(repository).deletePublishedBefore(any(Instant.class));
+        verify(repository, never()).findNewestId();
+
+        relay(10, true).purge();
+        verify(repository).deletePublishedBefore(any(Instant.class), eq(99L));
+    }
+
+    private OutboxRelay relay(int batchSize) {
+        return relay(batchSize, false);
+    }
+
+    private OutboxRelay relay(int batchSize, boolean keepNewest) {
+        return new OutboxRelay(repository, sink, transactionManager, registry, batchSize, Duration.ofSeconds(10),
+                CLAIM_TIMEOUT, Duration.ofDays(7), keepNewest);
+    }
+
+    private static List<OutboxEvent> events(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> OutboxEvent.builder()
+                        .id(id)
+                        .aggregateType("customer")
+                        .aggregateId(String.valueOf(id))
+                        .type(ChangeType.UPDATED)
+                        .payload("{\"id\":" + id + "}")
+                        .createdAt(Instant.now().minusMillis(50))
+                        .build())
+                .toList();
+    }
+}